@@ -0,0 +1,48 @@
+package com.squadsync.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratio per second-level cache region and for the query cache. The raw
+ * hit and miss counters are published by Hibernate's own metrics; these
+ * gauges save every dashboard from deriving the ratio.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheHitRatioMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Gauge.builder("hibernate.cache.hit.ratio", regionStatistics,
+                    s -> ratio(s.getHitCount(), s.getMissCount()))
+                    .description("Second-level cache hits over lookups since startup")
+                    .tag("region", region)
+                    .register(registry);
+        }
+        Gauge.builder("hibernate.cache.query.hit.ratio", statistics,
+                s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()))
+                .description("Query cache hits over lookups since startup")
+                .register(registry);
+    }
+
+    private static double ratio(long hits, long misses) {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
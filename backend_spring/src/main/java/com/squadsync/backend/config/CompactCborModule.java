@@ -0,0 +1,95 @@
+package com.squadsync.backend.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.squadsync.backend.util.DateUtils;
+import com.squadsync.backend.util.UuidV7;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact encoding for the CBOR representation only: date-times as epoch
+ * milliseconds (the wall clock is Europe/Madrid, as in {@link DateUtils}) and
+ * ids as their 16 raw UUID bytes instead of 36 characters. Ids are recognized
+ * by property name: {@code id}, {@code *Id} and {@code *Ids}. A value that is
+ * not a UUID is written as text.
+ */
+public class CompactCborModule extends SimpleModule {
+
+    public CompactCborModule() {
+        super("CompactCborModule");
+        addSerializer(LocalDateTime.class, new EpochMillisSerializer());
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                    List<BeanPropertyWriter> properties) {
+                for (BeanPropertyWriter property : properties) {
+                    String name = property.getName();
+                    if (property.getType().hasRawClass(String.class) && (name.equals("id") || name.endsWith("Id"))) {
+                        property.assignSerializer(new UuidBytesSerializer());
+                    } else if (property.getType().isCollectionLikeType()
+                            && property.getType().getContentType().hasRawClass(String.class)
+                            && name.endsWith("Ids")) {
+                        property.assignSerializer(new UuidBytesCollectionSerializer());
+                    }
+                }
+                return properties;
+            }
+        });
+    }
+
+    private static class EpochMillisSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider serializers)
+                throws IOException {
+            gen.writeNumber(value.atZone(DateUtils.MADRID_ZONE).toInstant().toEpochMilli());
+        }
+    }
+
+    // Property serializers are untyped; the modifier only assigns these to String and Collection<String>
+    private static class UuidBytesSerializer extends JsonSerializer<Object> {
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeId((String) value, gen);
+        }
+    }
+
+    private static class UuidBytesCollectionSerializer extends JsonSerializer<Object> {
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            Collection<?> values = (Collection<?>) value;
+            gen.writeStartArray(values, values.size());
+            for (Object id : values) {
+                if (id == null) {
+                    gen.writeNull();
+                } else {
+                    writeId((String) id, gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static void writeId(String value, JsonGenerator gen) throws IOException {
+        // Only the canonical form, so the bytes always decode back to the same string
+        if (value.length() == 36) {
+            try {
+                gen.writeBinary(UuidV7.toBytes(UUID.fromString(value)));
+                return;
+            } catch (IllegalArgumentException e) {
+                // Not a UUID after all
+            }
+        }
+        gen.writeString(value);
+    }
+}
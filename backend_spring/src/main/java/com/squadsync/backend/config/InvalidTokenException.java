@@ -0,0 +1,12 @@
+package com.squadsync.backend.config;
+
+/**
+ * A refresh token that is unknown, expired, revoked or replayed. Mapped to 401
+ * so the client drops its credentials and logs in again.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
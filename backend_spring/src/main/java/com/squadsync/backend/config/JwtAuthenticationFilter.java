@@ -1,6 +1,11 @@
 package com.squadsync.backend.config;
 
+import com.squadsync.backend.controller.MatchmakingController;
+import com.squadsync.backend.repository.UserRepository;
 import com.squadsync.backend.service.JwtService;
+import com.squadsync.backend.service.TokenRevocationService;
+import com.squadsync.backend.stream.StreamTicketService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,8 +14,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,39 +25,51 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    static final String SESSION_STREAM_URI = "/api/matchmaking" + MatchmakingController.STREAM_PATH;
+
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserRepository userRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final StreamTicketService streamTicketService;
 
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
+        // EventSource cannot send headers, so the session stream takes a single-use ticket instead of the token
+        if (SESSION_STREAM_URI.equals(request.getRequestURI())
+                && request.getParameter(MatchmakingController.STREAM_TICKET_PARAMETER) != null) {
+            AuthenticatedUser principal = streamTicketService
+                    .redeem(request.getParameter(MatchmakingController.STREAM_TICKET_PARAMETER)).orElse(null);
+            if (principal == null) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Invalid or expired stream ticket");
+                return;
+            }
+            authenticate(request, principal);
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final String jwt = resolveToken(request);
         final String userEmail;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (jwt == null) {
             filterChain.doFilter(request, response);
             return;
         }
 
         try {
-            jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
+            // Single parse: signature and expiry are checked here (or served from cache)
+            Claims claims = jwtService.verify(jwt);
+            userEmail = claims.getSubject();
+            // In-memory filter; only a hit is confirmed against the database
+            if (tokenRevocationService.isRevoked(claims.get(JwtService.CLAIM_FAMILY, String.class))) {
+                throw new InvalidTokenException("Token has been revoked");
+            }
 
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities());
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                authenticate(request, toPrincipal(claims, userEmail));
             }
         } catch (Exception e) {
             // If token is invalid (expired, signature mismatch, etc.), we return 401
@@ -65,4 +81,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
+
+    private String resolveToken(HttpServletRequest request) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            return authHeader.substring(7);
+        }
+        return null;
+    }
+
+    private static void authenticate(HttpServletRequest request, AuthenticatedUser principal) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities());
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private AuthenticatedUser toPrincipal(Claims claims, String userEmail) {
+        String userId = claims.get(JwtService.CLAIM_USER_ID, String.class);
+        if (userId != null) {
+            return new AuthenticatedUser(userId, userEmail, claims.get(JwtService.CLAIM_ROLE, String.class));
+        }
+        // Tokens issued before the id/role claims existed: resolve the user once more
+        // until they expire
+        return userRepository.findByEmail(userEmail)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole()))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    }
 }
@@ -0,0 +1,16 @@
+package com.squadsync.backend.config;
+
+/**
+ * Thrown when the password hashing pool is saturated. Mapped to 503 so
+ * clients back off instead of piling more work onto the server.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
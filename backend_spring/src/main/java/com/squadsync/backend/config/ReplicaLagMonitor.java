@@ -0,0 +1,85 @@
+package com.squadsync.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Polls the replica's replication status. Reads fall back to the primary while
+ * the replica is unreachable, not replicating, or further behind than
+ * {@code maxLagSeconds}. A negative limit disables the check, which is how a
+ * plain second database without replication can be used locally.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final long maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile long lagSeconds = -1;
+    // Epoch millis up to which the replica had applied the primary's writes at the last check
+    private volatile long appliedUntil = Long.MIN_VALUE;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLagSeconds;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagSeconds)
+                .description("Seconds the read replica is behind the primary, -1 when unknown")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, m -> m.usable ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Whether the replica is usable and has applied what the primary committed
+     * at {@code changedAt} (epoch millis).
+     */
+    public boolean hasApplied(long changedAt) {
+        return usable && changedAt < appliedUntil;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        long checkedAt = System.currentTimeMillis();
+        try {
+            if (maxLagSeconds < 0) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                lagSeconds = 0;
+            } else {
+                // Seconds_Behind_Source is NULL while replication is stopped
+                List<Long> lags = replica.query("SHOW REPLICA STATUS", (rs, i) -> {
+                    long lag = rs.getLong("Seconds_Behind_Source");
+                    return rs.wasNull() ? null : lag;
+                });
+                lagSeconds = lags.isEmpty() || lags.get(0) == null ? -1 : lags.get(0);
+            }
+            // The lag is reported in whole seconds, rounded down
+            appliedUntil = lagSeconds < 0 ? Long.MIN_VALUE : checkedAt - (lagSeconds + 1) * 1000;
+            usable = lagSeconds >= 0 && (maxLagSeconds < 0 || lagSeconds <= maxLagSeconds);
+        } catch (DataAccessException e) {
+            lagSeconds = -1;
+            usable = false;
+        }
+        if (wasUsable != usable) {
+            if (usable) {
+                log.info("Read replica is {}s behind, routing read-only transactions to it", lagSeconds);
+            } else {
+                log.warn("Read replica unavailable or lagging (lag={}s, max={}s), reading from the primary",
+                        lagSeconds, maxLagSeconds);
+            }
+        }
+    }
+}
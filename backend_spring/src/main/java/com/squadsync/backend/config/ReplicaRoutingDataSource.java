@@ -0,0 +1,79 @@
+package com.squadsync.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * Sends connections opened inside a {@code @Transactional(readOnly = true)}
+ * transaction to the replica while it is within the configured lag, and
+ * everything else to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction manager asks for a connection before the read-only flag is
+ * bound to the thread, so the target has to be chosen on first use.
+ * <p>
+ * Reads that must reflect a known write run inside {@link #freshAsOf}: they
+ * stay on the primary only until the replica has applied that write, so a
+ * lagging replica's rows are never sent under an ETag bumped for it or
+ * query-cached as current. {@link #onPrimary} keeps reads on the primary
+ * unconditionally.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    // Epoch millis of the newest write the current reads must see
+    private static final ThreadLocal<Long> FRESH_AS_OF = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    /**
+     * Runs {@code work} with read-only transactions opened in it kept on the
+     * primary. Without a replica this simply runs it.
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        return freshAsOf(Long.MAX_VALUE, work);
+    }
+
+    /**
+     * Runs {@code work} with read-only transactions opened in it sent to the
+     * replica only once it has applied what the primary committed at
+     * {@code changedAt} (epoch millis). Without a replica this simply runs it.
+     */
+    public static <T> T freshAsOf(long changedAt, Supplier<T> work) {
+        Long outer = FRESH_AS_OF.get();
+        FRESH_AS_OF.set(outer == null ? changedAt : Math.max(outer, changedAt));
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                FRESH_AS_OF.remove();
+            } else {
+                FRESH_AS_OF.set(outer);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsable()) {
+            Long changedAt = FRESH_AS_OF.get();
+            if (changedAt == null || lagMonitor.hasApplied(changedAt)) {
+                return Target.REPLICA;
+            }
+        }
+        return Target.PRIMARY;
+    }
+}
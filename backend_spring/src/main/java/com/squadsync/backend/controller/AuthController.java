@@ -1,12 +1,11 @@
 package com.squadsync.backend.controller;
 
+import com.squadsync.backend.config.CurrentUserId;
 import com.squadsync.backend.dto.AuthDto;
 import com.squadsync.backend.dto.UserDto;
 import com.squadsync.backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -31,14 +30,25 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthDto.AuthResponse> refresh(@RequestBody AuthDto.RefreshRequest request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody AuthDto.RefreshRequest request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/me")
-    public ResponseEntity<UserDto> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(authService.getCurrentUser(userDetails.getUsername()));
+    public ResponseEntity<UserDto> getCurrentUser(@CurrentUserId String userId) {
+        return ResponseEntity.ok(authService.getCurrentUser(userId));
     }
 
     @PutMapping("/me")
-    public ResponseEntity<UserDto> updateProfile(@AuthenticationPrincipal UserDetails userDetails,
+    public ResponseEntity<UserDto> updateProfile(@CurrentUserId String userId,
             @RequestBody UserDto userDto) {
-        return ResponseEntity.ok(authService.updateProfile(userDetails.getUsername(), userDto));
+        return ResponseEntity.ok(authService.updateProfile(userId, userDto));
     }
 }
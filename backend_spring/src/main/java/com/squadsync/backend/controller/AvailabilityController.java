@@ -1,19 +1,23 @@
 package com.squadsync.backend.controller;
 
+import com.squadsync.backend.config.CurrentUserId;
+import com.squadsync.backend.dto.AvailabilityBatchDto;
+import com.squadsync.backend.dto.AvailabilityRuleDto;
 import com.squadsync.backend.dto.AvailabilitySlotDto;
-import com.squadsync.backend.repository.UserRepository;
+import com.squadsync.backend.service.AvailabilityRuleService;
 import com.squadsync.backend.service.AvailabilityService;
+import com.squadsync.backend.service.ResourceVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -23,28 +27,63 @@ import java.util.List;
 public class AvailabilityController {
 
     private final AvailabilityService availabilityService;
-    private final UserRepository userRepository;
+    private final AvailabilityRuleService availabilityRuleService;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
-    public ResponseEntity<List<AvailabilitySlotDto>> getMySlots(@AuthenticationPrincipal UserDetails userDetails) {
-        String userId = userRepository.findByEmail(userDetails.getUsername()).orElseThrow().getId();
-        return ResponseEntity.ok(availabilityService.getUserSlots(userId));
+    public ResponseEntity<List<AvailabilitySlotDto>> getMySlots(@CurrentUserId String userId, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, resourceVersionService.availabilityETag(userId),
+                resourceVersionService.availabilityChangedAt(userId), () -> availabilityService.getUserSlots(userId));
     }
 
     @PostMapping
     public ResponseEntity<AvailabilitySlotDto> createSlot(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId String userId,
             @RequestBody AvailabilitySlotDto slotDto) {
-        String userId = userRepository.findByEmail(userDetails.getUsername()).orElseThrow().getId();
         return ResponseEntity.ok(availabilityService.createSlot(userId, slotDto));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<AvailabilitySlotDto>> applyBatch(
+            @CurrentUserId String userId,
+            @RequestBody AvailabilityBatchDto batch) {
+        return ResponseEntity.ok(availabilityService.applyBatch(userId, batch));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSlot(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId String userId,
             @PathVariable String id) {
-        String userId = userRepository.findByEmail(userDetails.getUsername()).orElseThrow().getId();
         availabilityService.deleteSlot(id, userId);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<AvailabilityRuleDto>> getMyRules(@CurrentUserId String userId, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, resourceVersionService.availabilityETag(userId),
+                resourceVersionService.availabilityChangedAt(userId), () -> availabilityRuleService.getUserRules(userId));
+    }
+
+    @PostMapping("/rules")
+    public ResponseEntity<AvailabilityRuleDto> createRule(
+            @CurrentUserId String userId,
+            @RequestBody AvailabilityRuleDto ruleDto) {
+        return ResponseEntity.ok(availabilityRuleService.createRule(userId, ruleDto));
+    }
+
+    @PutMapping("/rules/{id}")
+    public ResponseEntity<AvailabilityRuleDto> updateRule(
+            @CurrentUserId String userId,
+            @PathVariable String id,
+            @RequestBody AvailabilityRuleDto ruleDto) {
+        return ResponseEntity.ok(availabilityRuleService.updateRule(id, userId, ruleDto));
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(
+            @CurrentUserId String userId,
+            @PathVariable String id) {
+        availabilityRuleService.deleteRule(id, userId);
+        return ResponseEntity.ok().build();
+    }
 }
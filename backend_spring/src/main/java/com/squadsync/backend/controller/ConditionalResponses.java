@@ -0,0 +1,37 @@
+package com.squadsync.backend.controller;
+
+import com.squadsync.backend.config.ReplicaRoutingDataSource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET against a version ETag. A matching If-None-Match is answered
+ * with 304 before the body supplier runs, so no query or mapping happens.
+ * <p>
+ * Versions are bumped when the primary commits, so until the replica has
+ * applied the tag's latest change the body is read on the primary: from the
+ * replica a client could get the new tag with the old body and then be told
+ * 304 for it until the next write. Otherwise the replica serves it as usual.
+ */
+final class ConditionalResponses {
+
+    // Browsers may keep the body but must revalidate it; the lists are per user
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, long changedAt, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            // Status and ETag are already set on the response
+            return null;
+        }
+        // JSON and CBOR share the tag, so caches must key on Accept as well
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).varyBy(HttpHeaders.ACCEPT)
+                .body(ReplicaRoutingDataSource.freshAsOf(changedAt, body));
+    }
+}
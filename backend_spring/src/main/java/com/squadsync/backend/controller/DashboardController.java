@@ -0,0 +1,23 @@
+package com.squadsync.backend.controller;
+
+import com.squadsync.backend.config.CurrentUserId;
+import com.squadsync.backend.dto.DashboardDto;
+import com.squadsync.backend.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping
+    public ResponseEntity<DashboardDto> getDashboard(@CurrentUserId String userId) {
+        return ResponseEntity.ok(dashboardService.getDashboard(userId));
+    }
+}
@@ -1,7 +1,9 @@
 package com.squadsync.backend.controller;
 
+import com.squadsync.backend.dto.GameDeletionDto;
 import com.squadsync.backend.dto.GameDto;
 import com.squadsync.backend.service.GameService;
+import com.squadsync.backend.service.ResourceVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,7 +15,9 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -22,10 +26,12 @@ import java.util.List;
 public class GameController {
 
     private final GameService gameService;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
-    public ResponseEntity<List<GameDto>> getAllGames() {
-        return ResponseEntity.ok(gameService.getAllGames());
+    public ResponseEntity<List<GameDto>> getAllGames(WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, resourceVersionService.gamesETag(),
+                resourceVersionService.gamesChangedAt(), gameService::getAllGames);
     }
 
     @GetMapping("/{id}")
@@ -41,9 +47,17 @@ public class GameController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deleteGame(@PathVariable String id) {
-        gameService.deleteGame(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<GameDeletionDto> deleteGame(@PathVariable String id) {
+        // Dependents are purged in the background; progress is polled at the Location
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/games/" + id + "/deletion"))
+                .body(gameService.deleteGame(id));
+    }
+
+    @GetMapping("/{id}/deletion")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<GameDeletionDto> getDeletionProgress(@PathVariable String id) {
+        return ResponseEntity.ok(gameService.getDeletionProgress(id));
     }
 
     @PutMapping("/{id}")
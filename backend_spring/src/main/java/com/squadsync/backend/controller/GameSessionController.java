@@ -1,14 +1,18 @@
 package com.squadsync.backend.controller;
 
+import com.squadsync.backend.config.CurrentUserId;
+import com.squadsync.backend.dto.SessionFields;
+import com.squadsync.backend.model.GameSession;
 import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.service.MatchmakingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.Map;
-import com.squadsync.backend.repository.UserRepository;
 
 @RestController
 @RequestMapping("/api/sessions")
@@ -16,18 +20,32 @@ import com.squadsync.backend.repository.UserRepository;
 public class GameSessionController {
 
     private final GameSessionService gameSessionService;
-    private final UserRepository userRepository;
-    private final com.squadsync.backend.service.MatchmakingService matchmakingService;
+    private final MatchmakingService matchmakingService;
+
+    // Keyset-paginated search; every filter is optional and from defaults to now. fields= as on
+    // /api/matchmaking/sessions
+    @GetMapping
+    public ResponseEntity<MappingJacksonValue> searchSessions(
+            @RequestParam(required = false) String gameId,
+            @RequestParam(required = false) String playerId,
+            @RequestParam(required = false) GameSession.SessionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + MatchmakingService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields) {
+        SessionFields selected = SessionFields.parse(fields);
+        return ResponseEntity.ok(SparseFieldsets.select(
+                matchmakingService.searchSessions(gameId, playerId, status, from, to, cursor, limit, selected),
+                selected));
+    }
 
     @PostMapping("/{sessionId}/accept")
     public ResponseEntity<Void> acceptSession(
             @PathVariable String sessionId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @CurrentUserId String userId) {
 
-        var user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        gameSessionService.acceptSession(sessionId, user.getId());
+        gameSessionService.acceptSession(sessionId, userId);
         return ResponseEntity.ok().build();
     }
 
@@ -35,13 +53,10 @@ public class GameSessionController {
     public ResponseEntity<Void> rejectSession(
             @PathVariable String sessionId,
             @RequestBody Map<String, String> body,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        var user = userRepository.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            @CurrentUserId String userId) {
 
         String reason = body.getOrDefault("reason", "NOT_AVAILABLE");
-        gameSessionService.rejectSession(sessionId, user.getId(), reason);
+        gameSessionService.rejectSession(sessionId, userId, reason);
 
         // Trigger matchmaking to recalculate sessions
         matchmakingService.runMatchmaking();
@@ -1,30 +1,75 @@
 package com.squadsync.backend.controller;
 
+import com.squadsync.backend.config.AuthenticatedUser;
+import com.squadsync.backend.config.CurrentUserId;
 import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionFields;
 import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.stream.SessionStreamBroadcaster;
+import com.squadsync.backend.stream.StreamTicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/matchmaking")
 @RequiredArgsConstructor
 public class MatchmakingController {
 
+    public static final String STREAM_PATH = "/sessions/stream";
+    public static final String STREAM_TICKET_PARAMETER = "ticket";
+
     private final MatchmakingService matchmakingService;
+    private final SessionStreamBroadcaster sessionStreamBroadcaster;
+    private final StreamTicketService streamTicketService;
+    private final ResourceVersionService resourceVersionService;
 
     @PostMapping("/run")
     public ResponseEntity<List<GameSessionDto>> runMatchmaking() {
         return ResponseEntity.ok(matchmakingService.runMatchmaking());
     }
 
+    // fields= limits each session to the listed properties, e.g. fields=startTime,endTime,playerCount
     @GetMapping("/sessions")
-    public ResponseEntity<List<GameSessionDto>> getSessions() {
-        return ResponseEntity.ok(matchmakingService.getUpcomingSessions());
+    public ResponseEntity<MappingJacksonValue> getSessions(WebRequest request,
+            @RequestParam(required = false) String fields) {
+        SessionFields selected = SessionFields.parse(fields);
+        return ConditionalResponses.ifNoneMatch(request, resourceVersionService.sessionsETag(),
+                resourceVersionService.sessionsChangedAt(), () -> SparseFieldsets.select(matchmakingService.getUpcomingSessions(selected), selected));
+    }
+
+    // Delta sync: pass the version of the previous response
+    @GetMapping(path = "/sessions", params = "since")
+    public ResponseEntity<MappingJacksonValue> getSessionsSince(@RequestParam long since,
+            @RequestParam(required = false) String fields) {
+        SessionFields selected = SessionFields.parse(fields);
+        return ResponseEntity.ok(
+                SparseFieldsets.select(matchmakingService.getSessionsSince(since, selected), selected));
+    }
+
+    // A single-use ticket for opening the stream, which EventSource cannot send the Authorization header to
+    @PostMapping(STREAM_PATH + "/ticket")
+    public Map<String, String> createStreamTicket(@AuthenticationPrincipal AuthenticatedUser user) {
+        return Map.of(STREAM_TICKET_PARAMETER, streamTicketService.issue(user));
+    }
+
+    // Session deltas as server-sent events; clients load /sessions once per (re)connect and then apply them.
+    // Authenticated by ?ticket= from /sessions/stream/ticket
+    @GetMapping(path = STREAM_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSessions(@CurrentUserId String userId) {
+        return sessionStreamBroadcaster.connect(userId);
     }
 }
@@ -1,17 +1,17 @@
 package com.squadsync.backend.controller;
 
+import com.squadsync.backend.config.CurrentUserId;
 import com.squadsync.backend.dto.PreferenceDto;
-import com.squadsync.backend.repository.UserRepository;
 import com.squadsync.backend.service.PreferenceService;
+import com.squadsync.backend.service.ResourceVersionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,19 +21,18 @@ import java.util.List;
 public class PreferenceController {
 
     private final PreferenceService preferenceService;
-    private final UserRepository userRepository;
+    private final ResourceVersionService resourceVersionService;
 
     @GetMapping
-    public ResponseEntity<List<PreferenceDto>> getMyPreferences(@AuthenticationPrincipal UserDetails userDetails) {
-        String userId = userRepository.findByEmail(userDetails.getUsername()).orElseThrow().getId();
-        return ResponseEntity.ok(preferenceService.getUserPreferences(userId));
+    public ResponseEntity<List<PreferenceDto>> getMyPreferences(@CurrentUserId String userId, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, resourceVersionService.preferencesETag(userId),
+                resourceVersionService.preferencesChangedAt(userId), () -> preferenceService.getUserPreferences(userId));
     }
 
     @PostMapping
     public ResponseEntity<PreferenceDto> updatePreference(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @CurrentUserId String userId,
             @RequestBody PreferenceDto preferenceDto) {
-        String userId = userRepository.findByEmail(userDetails.getUsername()).orElseThrow().getId();
         return ResponseEntity.ok(preferenceService.updatePreference(userId, preferenceDto));
     }
 }
@@ -0,0 +1,20 @@
+package com.squadsync.backend.controller;
+
+import com.squadsync.backend.dto.SessionFields;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+/**
+ * Wraps a response body so only the requested session properties are
+ * written. Bodies without sessions serialize as usual.
+ */
+final class SparseFieldsets {
+
+    private SparseFieldsets() {
+    }
+
+    static MappingJacksonValue select(Object body, SessionFields fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(fields.filterProvider());
+        return value;
+    }
+}
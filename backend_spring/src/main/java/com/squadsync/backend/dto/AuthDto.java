@@ -18,13 +18,20 @@ public class AuthDto {
         private String avatarColor;
     }
 
+    @Data
+    public static class RefreshRequest {
+        private String refreshToken;
+    }
+
     @Data
     public static class AuthResponse {
         private String token;
+        private String refreshToken;
         private UserDto user;
 
-        public AuthResponse(String token, UserDto user) {
+        public AuthResponse(String token, String refreshToken, UserDto user) {
             this.token = token;
+            this.refreshToken = refreshToken;
             this.user = user;
         }
     }
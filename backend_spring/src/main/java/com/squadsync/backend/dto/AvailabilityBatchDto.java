@@ -0,0 +1,18 @@
+package com.squadsync.backend.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Availability changes applied together: slots to create, slots to update
+ * (matched by id, replacing times, game and preferences) and ids of slots to
+ * delete.
+ */
+@Data
+public class AvailabilityBatchDto {
+    private List<AvailabilitySlotDto> create = new ArrayList<>();
+    private List<AvailabilitySlotDto> update = new ArrayList<>();
+    private List<String> delete = new ArrayList<>();
+}
@@ -0,0 +1,22 @@
+package com.squadsync.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class AvailabilityRuleDto {
+    private String id;
+    private String userId;
+    private DayOfWeek dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private LocalDate validFrom; // Defaults to today
+    private LocalDate validUntil;
+    private List<LocalDate> exceptions;
+}
@@ -1,10 +1,12 @@
 package com.squadsync.backend.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class AvailabilitySlotDto {
     private String id;
     private String userId;
@@ -12,4 +14,14 @@ public class AvailabilitySlotDto {
     private LocalDateTime endTime;
     private String gameId;
     private List<PreferenceDto> preferences;
+
+    // Projection constructor for read queries, which never load the preferences
+    public AvailabilitySlotDto(String id, String userId, LocalDateTime startTime, LocalDateTime endTime,
+            String gameId) {
+        this.id = id;
+        this.userId = userId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.gameId = gameId;
+    }
 }
@@ -0,0 +1,23 @@
+package com.squadsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the dashboard shows on load, in one response: the same payloads
+ * as /api/auth/me, /api/games, /api/matchmaking/sessions, /api/availability
+ * and /api/preferences.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDto {
+    private UserDto user;
+    private List<GameDto> games;
+    private List<GameSessionDto> sessions;
+    private List<AvailabilitySlotDto> availability;
+    private List<PreferenceDto> preferences;
+}
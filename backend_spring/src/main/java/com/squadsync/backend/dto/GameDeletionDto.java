@@ -0,0 +1,20 @@
+package com.squadsync.backend.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class GameDeletionDto {
+    private String gameId;
+    // PENDING, RUNNING, COMPLETED or FAILED
+    private String status;
+    // Table currently being purged
+    private String phase;
+    // Rows removed so far, per table
+    private Map<String, Long> deletedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -1,10 +1,13 @@
 package com.squadsync.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+// Serializes every property unless a request selects some with fields= (see SessionFields)
+@JsonFilter(SessionFields.FILTER_ID)
 @Data
 public class GameSessionDto {
     private String id;
@@ -14,6 +17,7 @@ public class GameSessionDto {
     private LocalDateTime endTime;
     private List<String> playerIds;
     private List<GameSessionPlayerDto> players; // Expanded player details with status
+    private int playerCount;
     private double sessionScore;
     private LocalDateTime createdAt;
     private String status;
@@ -1,8 +1,12 @@
 package com.squadsync.backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PreferenceDto {
     private String id;
     private String userId;
@@ -0,0 +1,23 @@
+package com.squadsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Sessions created or changed, and ids of sessions that were removed, since
+ * the previous delta. With {@code reset} set, {@code sessions} is the full
+ * list and replaces whatever the client holds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionDeltaDto {
+    private List<GameSessionDto> sessions;
+    private List<String> removedSessionIds;
+    // Pass as ?since= to get the changes after this delta
+    private long version;
+    private boolean reset;
+}
@@ -0,0 +1,68 @@
+package com.squadsync.backend.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@link GameSessionDto} properties a client asked for with
+ * {@code fields=}. Decides both which player data is queried and which
+ * properties are serialized. {@code id} is always included so clients can
+ * still merge deltas.
+ */
+public final class SessionFields {
+
+    public static final String FILTER_ID = "sessionFields";
+
+    private static final List<String> NAMES = List.of("id", "gameId", "game", "startTime", "endTime", "playerIds",
+            "players", "playerCount", "sessionScore", "createdAt", "status");
+
+    public static final SessionFields ALL = new SessionFields(Set.copyOf(NAMES));
+
+    private final Set<String> names;
+
+    private SessionFields(Set<String> names) {
+        this.names = names;
+    }
+
+    /**
+     * Comma separated property names; null or blank selects all of them.
+     */
+    public static SessionFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String name : Arrays.stream(fields.split(",")).map(String::trim).toList()) {
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown session field: " + name);
+            }
+            names.add(name);
+        }
+        return new SessionFields(Set.copyOf(names));
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    // Rows per player (ids, names, statuses)
+    public boolean needsPlayers() {
+        return includes("players") || includes("playerIds");
+    }
+
+    // Only how many players there are and how many accepted
+    public boolean needsPlayerCounts() {
+        return includes("playerCount") || includes("status");
+    }
+
+    public FilterProvider filterProvider() {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+}
@@ -0,0 +1,19 @@
+package com.squadsync.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a session search. {@code nextCursor} is null on the last page;
+ * otherwise pass it back as {@code cursor} to get the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionPageDto {
+    private List<GameSessionDto> sessions;
+    private String nextCursor;
+}
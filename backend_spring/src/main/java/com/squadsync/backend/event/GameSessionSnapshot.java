@@ -0,0 +1,60 @@
+package com.squadsync.backend.event;
+
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.GameSessionPlayer;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of a {@link GameSession} taken inside the transaction that
+ * changed it. Listeners work on this copy instead of the managed entity, so
+ * they never trigger lazy loading or keep the persistence context open.
+ */
+@Value
+public class GameSessionSnapshot {
+    String id;
+    long version;
+    String gameId;
+    String gameTitle;
+    int minPlayers;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    GameSession.NotificationStatus notificationStatus;
+    List<PlayerSnapshot> players;
+
+    @Value
+    public static class PlayerSnapshot {
+        String userId;
+        String discordId;
+        GameSessionPlayer.SessionPlayerStatus status;
+    }
+
+    public static GameSessionSnapshot of(GameSession session) {
+        List<PlayerSnapshot> players = session.getPlayers().stream()
+                .map(p -> new PlayerSnapshot(
+                        p.getUser() != null ? p.getUser().getId() : null,
+                        p.getUser() != null ? p.getUser().getDiscordId() : null,
+                        p.getStatus()))
+                .collect(Collectors.toUnmodifiableList());
+
+        return new GameSessionSnapshot(
+                session.getId(),
+                session.getVersion(),
+                session.getGame().getId(),
+                session.getGame().getTitle(),
+                session.getGame().getMinPlayers(),
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getNotificationStatus(),
+                players);
+    }
+
+    public long getAcceptedPlayers() {
+        return players.stream()
+                .filter(p -> p.getStatus() == GameSessionPlayer.SessionPlayerStatus.ACCEPTED)
+                .count();
+    }
+}
@@ -0,0 +1,49 @@
+package com.squadsync.backend.event;
+
+import com.squadsync.backend.model.GameSession;
+import org.springframework.context.ApplicationEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published once per matchmaking run or request with every session it touched,
+ * so listeners can handle a whole batch in a single pass.
+ */
+public class GameSessionsChangedEvent extends ApplicationEvent {
+    private final List<GameSessionSnapshot> sessions;
+    private final List<String> removedSessionIds;
+    private final LocalDateTime timestamp;
+
+    public GameSessionsChangedEvent(Object source, List<GameSessionSnapshot> sessions,
+            List<String> removedSessionIds) {
+        super(source);
+        this.sessions = List.copyOf(sessions);
+        this.removedSessionIds = List.copyOf(removedSessionIds);
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public static GameSessionsChangedEvent of(Object source, Collection<GameSession> sessions,
+            List<String> removedSessionIds) {
+        return new GameSessionsChangedEvent(source,
+                sessions.stream().map(GameSessionSnapshot::of).toList(),
+                removedSessionIds);
+    }
+
+    public List<GameSessionSnapshot> getSessions() {
+        return sessions;
+    }
+
+    public List<String> getRemovedSessionIds() {
+        return removedSessionIds;
+    }
+
+    public boolean isEmpty() {
+        return sessions.isEmpty() && removedSessionIds.isEmpty();
+    }
+
+    public LocalDateTime getEventDateTime() {
+        return timestamp;
+    }
+}
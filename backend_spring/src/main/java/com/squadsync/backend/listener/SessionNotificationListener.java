@@ -0,0 +1,100 @@
+package com.squadsync.backend.listener;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.notification.DeliveryCallback;
+import com.squadsync.backend.notification.NotificationDispatcher;
+import com.squadsync.backend.notification.PreliminaryDigestAggregator;
+import com.squadsync.backend.notification.SessionNotification;
+import com.squadsync.backend.service.GameSessionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SessionNotificationListener {
+
+    private final NotificationDispatcher notificationDispatcher;
+    private final PreliminaryDigestAggregator digestAggregator;
+    private final GameSessionService gameSessionService;
+
+    // Notifications queued but not yet settled, as sessionId:status, so a later run does not queue them again
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Runs after the publishing transaction commits, on the async executor, so
+    // notification delivery never holds the matchmaking transaction open
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handleGameSessionsChanged(GameSessionsChangedEvent event) {
+        log.info("Handling GameSessionsChangedEvent: {} sessions, {} removed", event.getSessions().size(),
+                event.getRemovedSessionIds().size());
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime twoHoursLater = now.plusHours(2);
+
+        List<GameSessionSnapshot> confirmed = new ArrayList<>();
+        List<GameSessionSnapshot> preliminary = new ArrayList<>();
+
+        for (GameSessionSnapshot session : event.getSessions()) {
+            GameSession.SessionStatus status = gameSessionService.getSessionStatus(session);
+
+            if (status == GameSession.SessionStatus.CONFIRMED) {
+                if (session.getNotificationStatus() != GameSession.NotificationStatus.CONFIRMED_SENT) {
+                    confirmed.add(session);
+                }
+            } else if (status == GameSession.SessionStatus.PRELIMINARY) {
+                if (session.getNotificationStatus() == GameSession.NotificationStatus.NONE &&
+                        session.getStartTime().isBefore(twoHoursLater) &&
+                        session.getEndTime().isAfter(now)) {
+                    preliminary.add(session);
+                }
+            }
+        }
+
+        confirmed.forEach(session -> dispatch(SessionNotification.Type.CONFIRMED, session,
+                GameSession.NotificationStatus.CONFIRMED_SENT));
+        if (digestAggregator.isEnabled()) {
+            // Folded into per-user digests, marked as notified once their digest is delivered
+            digestAggregator.add(preliminary);
+        } else {
+            preliminary.forEach(session -> dispatch(SessionNotification.Type.PRELIMINARY, session,
+                    GameSession.NotificationStatus.PRELIMINARY_SENT));
+        }
+    }
+
+    // One notification per session: a retry then resends only the message that failed, and the
+    // session is marked as notified once a channel has actually delivered it
+    private void dispatch(SessionNotification.Type type, GameSessionSnapshot session,
+            GameSession.NotificationStatus sent) {
+        String key = session.getId() + ":" + sent;
+        if (!inFlight.add(key)) {
+            return;
+        }
+        notificationDispatcher.dispatch(SessionNotification.of(type, List.of(session)), new DeliveryCallback() {
+            @Override
+            public void delivered() {
+                try {
+                    gameSessionService.updateNotificationStatus(session.getId(), sent);
+                } finally {
+                    inFlight.remove(key);
+                }
+            }
+
+            @Override
+            public void failed() {
+                inFlight.remove(key);
+            }
+        });
+    }
+}
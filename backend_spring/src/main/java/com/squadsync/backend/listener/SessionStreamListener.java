@@ -0,0 +1,62 @@
+package com.squadsync.backend.listener;
+
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionDeltaDto;
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.stream.SessionStreamBroadcaster;
+import com.squadsync.backend.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes committed session changes to open streams. Matchmaking re-publishes
+ * every active session on each run, so sessions are compared with what was
+ * last pushed and only those that actually changed go out.
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionStreamListener {
+
+    public static final String EVENT_NAME = "sessions";
+
+    private final SessionStreamBroadcaster broadcaster;
+    private final MatchmakingService matchmakingService;
+    private final SessionChangeLog sessionChangeLog;
+
+    private final Map<String, GameSessionDto> lastSent = new ConcurrentHashMap<>();
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void handleGameSessionsChanged(GameSessionsChangedEvent event) {
+        if (!broadcaster.hasClients()) {
+            // Clients load the full list when they connect, so there is nothing to compare against
+            lastSent.clear();
+            return;
+        }
+
+        LocalDateTime now = DateUtils.now();
+        lastSent.values().removeIf(session -> session.getEndTime().isBefore(now));
+
+        long version = sessionChangeLog.getVersion();
+        List<String> ids = event.getSessions().stream().map(GameSessionSnapshot::getId).toList();
+        List<GameSessionDto> changed = matchmakingService.getSessions(ids).stream()
+                .filter(session -> !session.equals(lastSent.put(session.getId(), session)))
+                .toList();
+        List<String> removed = event.getRemovedSessionIds();
+        removed.forEach(lastSent::remove);
+
+        if (!changed.isEmpty() || !removed.isEmpty()) {
+            broadcaster.broadcast(EVENT_NAME, new SessionDeltaDto(changed, removed, version, false));
+        }
+    }
+}
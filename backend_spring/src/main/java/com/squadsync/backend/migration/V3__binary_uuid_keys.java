@@ -0,0 +1,312 @@
+package com.squadsync.backend.migration;
+
+import com.squadsync.backend.util.UuidV7;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves every entity key and foreign key from VARCHAR(255) UUID strings to
+ * BINARY(16). Each table is renamed aside, recreated with binary columns and
+ * copied over in batches (converting the existing ids byte for byte, so rows
+ * keep their identity), then the old table is dropped and the constraints and
+ * indexes from V1/V2 are recreated.
+ *
+ * Written in Java rather than SQL because foreign key names on databases that
+ * were created by ddl-auto=update are generated and have to be discovered.
+ *
+ * MySQL commits every DDL statement on its own, so a failure part way leaves
+ * some tables converted. Every step therefore works out from the schema what
+ * is left to do: a table whose id is already binary is skipped, a table with
+ * an {@code __old} copy is rebuilt from that copy, and constraints and indexes
+ * that already exist are not created again. To recover, fix the cause, run
+ * {@code flyway repair} to clear the failed entry and migrate again. Never drop
+ * an {@code __old} table by hand while its replacement is not fully copied.
+ */
+public class V3__binary_uuid_keys extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Parents before children, so foreign keys can be recreated in order
+    private static final Map<String, String> TABLES = new LinkedHashMap<>();
+
+    // Copied by name, so columns added or reordered by ddl-auto=update are neither required nor misplaced.
+    // Columns missing from an older table are left to their defaults
+    private static final Map<String, List<String>> COLUMNS = Map.of(
+            "users", List.of("id", "username", "email", "discord_id", "password_hash", "avatar_color", "role",
+                    "created_at"),
+            "games", List.of("id", "title", "min_players", "max_players", "genre", "cover_image_url", "created_at"),
+            "availability_slots", List.of("id", "user_id", "game_id", "start_time", "end_time", "created_at"),
+            "availability_game_preferences", List.of("id", "availability_slot_id", "game_id", "weight"),
+            "game_sessions", List.of("id", "game_id", "start_time", "end_time", "session_score",
+                    "notification_status", "created_at", "version"),
+            "game_session_players", List.of("id", "session_id", "user_id", "status", "rejection_reason"),
+            "user_game_preferences", List.of("id", "user_id", "game_id", "weight"),
+            "refresh_tokens", List.of("id", "token_hash", "family_id", "user_id", "expires_at", "used_at",
+                    "created_at"));
+
+    static {
+        TABLES.put("users", """
+                id            BINARY(16)   NOT NULL,
+                username      VARCHAR(255) NOT NULL,
+                email         VARCHAR(255) NOT NULL,
+                discord_id    VARCHAR(255),
+                password_hash VARCHAR(255) NOT NULL,
+                avatar_color  VARCHAR(255),
+                role          VARCHAR(255),
+                created_at    DATETIME(6),
+                PRIMARY KEY (id)""");
+        TABLES.put("games", """
+                id              BINARY(16)   NOT NULL,
+                title           VARCHAR(255) NOT NULL,
+                min_players     INTEGER      NOT NULL,
+                max_players     INTEGER      NOT NULL,
+                genre           VARCHAR(255),
+                cover_image_url VARCHAR(255),
+                created_at      DATETIME(6),
+                PRIMARY KEY (id)""");
+        TABLES.put("availability_slots", """
+                id         BINARY(16)  NOT NULL,
+                user_id    BINARY(16)  NOT NULL,
+                game_id    BINARY(16),
+                start_time DATETIME(6) NOT NULL,
+                end_time   DATETIME(6) NOT NULL,
+                created_at DATETIME(6),
+                PRIMARY KEY (id)""");
+        TABLES.put("availability_game_preferences", """
+                id                   BINARY(16) NOT NULL,
+                availability_slot_id BINARY(16) NOT NULL,
+                game_id              BINARY(16) NOT NULL,
+                weight               INTEGER    NOT NULL,
+                PRIMARY KEY (id)""");
+        TABLES.put("game_sessions", """
+                id                  BINARY(16)  NOT NULL,
+                game_id             BINARY(16)  NOT NULL,
+                start_time          DATETIME(6) NOT NULL,
+                end_time            DATETIME(6) NOT NULL,
+                session_score       FLOAT(53)   NOT NULL,
+                notification_status ENUM ('NONE','PRELIMINARY_SENT','CONFIRMED_SENT') NOT NULL,
+                created_at          DATETIME(6),
+                version             BIGINT      NOT NULL DEFAULT 0,
+                PRIMARY KEY (id)""");
+        TABLES.put("game_session_players", """
+                id               BINARY(16) NOT NULL,
+                session_id       BINARY(16) NOT NULL,
+                user_id          BINARY(16) NOT NULL,
+                status           ENUM ('PENDING','ACCEPTED','REJECTED'),
+                rejection_reason VARCHAR(255),
+                PRIMARY KEY (id)""");
+        TABLES.put("user_game_preferences", """
+                id      BINARY(16) NOT NULL,
+                user_id BINARY(16) NOT NULL,
+                game_id BINARY(16) NOT NULL,
+                weight  INTEGER    NOT NULL,
+                PRIMARY KEY (id)""");
+        TABLES.put("refresh_tokens", """
+                id         BINARY(16)   NOT NULL,
+                token_hash VARCHAR(64)  NOT NULL,
+                family_id  VARCHAR(255) NOT NULL,
+                user_id    BINARY(16)   NOT NULL,
+                expires_at DATETIME(6)  NOT NULL,
+                used_at    DATETIME(6),
+                created_at DATETIME(6),
+                PRIMARY KEY (id)""");
+    }
+
+    private static final Set<String> UUID_COLUMNS = Set.of(
+            "id", "user_id", "game_id", "availability_slot_id", "session_id");
+
+    private static final List<String> CONSTRAINTS = List.of(
+            "ALTER TABLE users ADD CONSTRAINT uk_users_email UNIQUE (email)",
+            "ALTER TABLE users ADD CONSTRAINT uk_users_username UNIQUE (username)",
+            "ALTER TABLE user_game_preferences ADD CONSTRAINT uk_user_game_preferences_user_game UNIQUE (user_id, game_id)",
+            "ALTER TABLE refresh_tokens ADD CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash)",
+            "ALTER TABLE availability_slots ADD CONSTRAINT fk_availability_slots_user FOREIGN KEY (user_id) REFERENCES users (id)",
+            "ALTER TABLE availability_slots ADD CONSTRAINT fk_availability_slots_game FOREIGN KEY (game_id) REFERENCES games (id)",
+            "ALTER TABLE availability_game_preferences ADD CONSTRAINT fk_availability_game_preferences_slot FOREIGN KEY (availability_slot_id) REFERENCES availability_slots (id)",
+            "ALTER TABLE availability_game_preferences ADD CONSTRAINT fk_availability_game_preferences_game FOREIGN KEY (game_id) REFERENCES games (id)",
+            "ALTER TABLE game_sessions ADD CONSTRAINT fk_game_sessions_game FOREIGN KEY (game_id) REFERENCES games (id)",
+            "ALTER TABLE game_session_players ADD CONSTRAINT fk_game_session_players_session FOREIGN KEY (session_id) REFERENCES game_sessions (id)",
+            "ALTER TABLE game_session_players ADD CONSTRAINT fk_game_session_players_user FOREIGN KEY (user_id) REFERENCES users (id)",
+            "ALTER TABLE user_game_preferences ADD CONSTRAINT fk_user_game_preferences_user FOREIGN KEY (user_id) REFERENCES users (id)",
+            "ALTER TABLE user_game_preferences ADD CONSTRAINT fk_user_game_preferences_game FOREIGN KEY (game_id) REFERENCES games (id)",
+            "ALTER TABLE refresh_tokens ADD CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)",
+            // Same indexes as V2
+            "CREATE INDEX idx_availability_slots_end_start ON availability_slots (end_time, start_time)",
+            "CREATE INDEX idx_availability_slots_user_start_end ON availability_slots (user_id, start_time, end_time)",
+            "CREATE INDEX idx_game_sessions_end_start ON game_sessions (end_time, start_time)",
+            "CREATE INDEX idx_game_sessions_game_created ON game_sessions (game_id, created_at)",
+            "CREATE INDEX idx_game_session_players_session_user_status ON game_session_players (session_id, user_id, status)",
+            "CREATE INDEX idx_game_session_players_user_session ON game_session_players (user_id, session_id)",
+            "CREATE INDEX idx_user_game_preferences_user_game_weight ON user_game_preferences (user_id, game_id, weight)",
+            "CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id)",
+            "CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at)");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+
+        try (Statement statement = connection.createStatement()) {
+            dropForeignKeys(connection, statement, mysql);
+
+            for (Map.Entry<String, String> table : TABLES.entrySet()) {
+                String name = table.getKey();
+                String old = name + "__old";
+                if (tableExists(connection, old)) {
+                    // An earlier attempt failed after the rename: the copy is the source of truth
+                    if (tableExists(connection, name)) {
+                        statement.execute("DROP TABLE " + name);
+                    }
+                } else if (hasBinaryId(connection, name)) {
+                    continue;
+                } else {
+                    statement.execute("ALTER TABLE " + name + " RENAME TO " + old);
+                }
+                statement.execute("CREATE TABLE " + name + " (" + table.getValue() + ") ENGINE = InnoDB");
+                List<String> columns = new ArrayList<>(COLUMNS.get(name));
+                columns.retainAll(columnsOf(connection, old));
+                copyRows(connection, old, name, columns);
+                statement.execute("DROP TABLE " + old);
+            }
+
+            Set<String> existing = existingConstraintsAndIndexes(connection, mysql);
+            for (String ddl : CONSTRAINTS) {
+                if (!existing.contains(objectName(ddl))) {
+                    statement.execute(ddl);
+                }
+            }
+        }
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), connection.getSchema(),
+                table, null)) {
+            return tables.next();
+        }
+    }
+
+    private static Set<String> columnsOf(Connection connection, String table) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (ResultSet rows = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(),
+                table, null)) {
+            while (rows.next()) {
+                columns.add(rows.getString("COLUMN_NAME").toLowerCase());
+            }
+        }
+        return columns;
+    }
+
+    private static boolean hasBinaryId(Connection connection, String table) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(connection.getCatalog(), connection.getSchema(),
+                table, "id")) {
+            if (!columns.next()) {
+                return false;
+            }
+            int type = columns.getInt("DATA_TYPE");
+            return type == Types.BINARY || type == Types.VARBINARY;
+        }
+    }
+
+    // Names of the unique constraints and indexes on the migrated tables; foreign keys were all dropped above
+    private static Set<String> existingConstraintsAndIndexes(Connection connection, boolean mysql)
+            throws SQLException {
+        Set<String> names = new HashSet<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        for (String table : TABLES.keySet()) {
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table,
+                    false, false)) {
+                while (indexes.next()) {
+                    if (indexes.getString("INDEX_NAME") != null) {
+                        names.add(indexes.getString("INDEX_NAME").toLowerCase());
+                    }
+                }
+            }
+        }
+        String schema = mysql ? connection.getCatalog() : connection.getSchema();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT constraint_name FROM information_schema.table_constraints WHERE table_schema = ?")) {
+            query.setString(1, schema);
+            try (ResultSet constraints = query.executeQuery()) {
+                while (constraints.next()) {
+                    names.add(constraints.getString(1).toLowerCase());
+                }
+            }
+        }
+        return names;
+    }
+
+    // The constraint or index a CONSTRAINTS statement creates
+    private static String objectName(String ddl) {
+        String[] words = ddl.split("\\s+");
+        for (int i = 0; i < words.length - 1; i++) {
+            if (words[i].equals("CONSTRAINT") || words[i].equals("INDEX")) {
+                return words[i + 1].toLowerCase();
+            }
+        }
+        throw new IllegalArgumentException("No constraint or index name in: " + ddl);
+    }
+
+    private void dropForeignKeys(Connection connection, Statement statement, boolean mysql) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        List<String> drops = new ArrayList<>();
+        for (String table : TABLES.keySet()) {
+            try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+                while (keys.next()) {
+                    String fkName = keys.getString("FK_NAME");
+                    String drop = "ALTER TABLE " + table + (mysql ? " DROP FOREIGN KEY " : " DROP CONSTRAINT ") + fkName;
+                    if (!drops.contains(drop)) {
+                        drops.add(drop);
+                    }
+                }
+            }
+        }
+        for (String drop : drops) {
+            statement.execute(drop);
+        }
+    }
+
+    private void copyRows(Connection connection, String from, String to, List<String> columns) throws SQLException {
+        String columnList = String.join(", ", columns);
+        String insert = "INSERT INTO " + to + " (" + columnList + ") VALUES ("
+                + String.join(", ", columns.stream().map(c -> "?").toList()) + ")";
+
+        try (Statement select = connection.createStatement();
+                ResultSet rows = select.executeQuery("SELECT " + columnList + " FROM " + from);
+                PreparedStatement statement = connection.prepareStatement(insert)) {
+            int pending = 0;
+            while (rows.next()) {
+                for (int i = 1; i <= columns.size(); i++) {
+                    Object value = rows.getObject(i);
+                    if (value != null && UUID_COLUMNS.contains(columns.get(i - 1))) {
+                        statement.setBytes(i, UuidV7.toBytes(UUID.fromString(value.toString())));
+                    } else {
+                        statement.setObject(i, value);
+                    }
+                }
+                statement.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    statement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.squadsync.backend.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Brings existing availability slots in line with what the overlap check now
+ * relies on: every slot ends after it starts and no two slots of a user
+ * overlap. Older rows were written without either check. Slots that do not
+ * end after they start are deleted; overlapping slots of a user are merged
+ * into the earliest one, which is stretched to the latest end and keeps its
+ * game and preferences.
+ *
+ * One pass over idx_availability_slots_user_start_end. Data changes only, so
+ * the whole migration runs in one transaction even on MySQL.
+ */
+public class V7__availability_slot_cleanup extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        List<byte[]> deletes = new ArrayList<>();
+        List<Object[]> stretches = new ArrayList<>();
+
+        try (Statement select = connection.createStatement();
+                ResultSet rows = select.executeQuery("SELECT id, user_id, start_time, end_time "
+                        + "FROM availability_slots ORDER BY user_id, start_time, end_time")) {
+            byte[] userId = null;
+            byte[] keptId = null;
+            Timestamp keptEnd = null;
+            boolean stretched = false;
+            while (rows.next()) {
+                byte[] id = rows.getBytes("id");
+                Timestamp start = rows.getTimestamp("start_time");
+                Timestamp end = rows.getTimestamp("end_time");
+                if (!start.before(end)) {
+                    deletes.add(id);
+                    continue;
+                }
+                byte[] slotUserId = rows.getBytes("user_id");
+                if (keptId != null && Arrays.equals(userId, slotUserId) && start.before(keptEnd)) {
+                    deletes.add(id);
+                    if (end.after(keptEnd)) {
+                        keptEnd = end;
+                        stretched = true;
+                    }
+                    continue;
+                }
+                if (stretched) {
+                    stretches.add(new Object[] { keptEnd, keptId });
+                }
+                userId = slotUserId;
+                keptId = id;
+                keptEnd = end;
+                stretched = false;
+            }
+            if (stretched) {
+                stretches.add(new Object[] { keptEnd, keptId });
+            }
+        }
+
+        try (PreparedStatement stretch = connection.prepareStatement(
+                "UPDATE availability_slots SET end_time = ? WHERE id = ?")) {
+            for (Object[] row : stretches) {
+                stretch.setTimestamp(1, (Timestamp) row[0]);
+                stretch.setBytes(2, (byte[]) row[1]);
+                stretch.addBatch();
+            }
+            stretch.executeBatch();
+        }
+        // Preferences first, for the foreign key
+        deleteIn(connection, "DELETE FROM availability_game_preferences WHERE availability_slot_id = ?", deletes);
+        deleteIn(connection, "DELETE FROM availability_slots WHERE id = ?", deletes);
+    }
+
+    private static void deleteIn(Connection connection, String sql, List<byte[]> ids) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (byte[] id : ids) {
+                delete.setBytes(1, id);
+                delete.addBatch();
+                if (++pending == BATCH_SIZE) {
+                    delete.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                delete.executeBatch();
+            }
+        }
+    }
+}
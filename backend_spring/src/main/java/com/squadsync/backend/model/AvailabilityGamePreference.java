@@ -3,7 +3,7 @@ package com.squadsync.backend.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 @Entity
 @Table(name = "availability_game_preferences")
@@ -11,15 +11,15 @@ import org.hibernate.annotations.GenericGenerator;
 @NoArgsConstructor
 public class AvailabilityGamePreference {
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @TimeOrderedUuid
+    @Type(BinaryUuidType.class)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "availability_slot_id", nullable = false)
     private AvailabilitySlot availabilitySlot;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
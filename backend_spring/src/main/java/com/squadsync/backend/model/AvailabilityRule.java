@@ -0,0 +1,56 @@
+package com.squadsync.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.squadsync.backend.util.DateUtils;
+
+/**
+ * Availability repeating every week on one day, stored once. Matchmaking only
+ * sees its occurrences within the horizon, skipping the exception dates.
+ */
+@Entity
+@Table(name = "availability_rules")
+@Data
+@NoArgsConstructor
+public class AvailabilityRule {
+    @Id
+    @TimeOrderedUuid
+    @Type(BinaryUuidType.class)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private LocalDate validFrom;
+
+    private LocalDate validUntil; // Inclusive; open-ended when null
+
+    @ElementCollection
+    @CollectionTable(name = "availability_rule_exceptions", joinColumns = @JoinColumn(name = "rule_id"))
+    @Column(name = "exception_date")
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    private LocalDateTime createdAt = DateUtils.now();
+}
@@ -3,7 +3,7 @@ package com.squadsync.backend.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import com.squadsync.backend.util.DateUtils;
@@ -14,11 +14,11 @@ import com.squadsync.backend.util.DateUtils;
 @NoArgsConstructor
 public class AvailabilitySlot {
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @TimeOrderedUuid
+    @Type(BinaryUuidType.class)
     private String id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
@@ -28,7 +28,7 @@ public class AvailabilitySlot {
     @Column(nullable = false)
     private LocalDateTime endTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id")
     private Game game; // Optional specific game
 
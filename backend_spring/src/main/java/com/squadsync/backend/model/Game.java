@@ -3,19 +3,23 @@ package com.squadsync.backend.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
 @Table(name = "games")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 public class Game {
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "uuid2")
+    @TimeOrderedUuid
+    @Type(BinaryUuidType.class)
     private String id;
 
     @Column(nullable = false)
@@ -28,12 +32,15 @@ public class Game {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
-    @OneToMany(mappedBy = "game", cascade = CascadeType.ALL)
+    // Set when the game is deleted; the row stays until GamePurgeService has removed everything referencing it
+    private LocalDateTime deletedAt;
+
+    @OneToMany(mappedBy = "game")
     private List<UserGamePreference> preferences;
 
-    @OneToMany(mappedBy = "game", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "game")
     private List<GameSession> sessions;
 
-    @OneToMany(mappedBy = "game", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "game")
     private List<AvailabilitySlot> availabilitySlots;
 }
@@ -0,0 +1,39 @@
+package com.squadsync.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "refresh_tokens")
+@Data
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    @TimeOrderedUuid
+    @Type(BinaryUuidType.class)
+    private String id;
+
+    // SHA-256 of the opaque token; the token itself is never stored
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    // All tokens rotated from the same login share a family
+    @Column(nullable = false)
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Set once the token has been exchanged; presenting it again means it leaked
+    private LocalDateTime usedAt;
+
+    private LocalDateTime createdAt = LocalDateTime.now();
+}
@@ -0,0 +1,23 @@
+package com.squadsync.backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_token_families")
+@Data
+@NoArgsConstructor
+public class RevokedTokenFamily {
+    @Id
+    private String familyId;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    // After this no token of the family can still be valid, so the row can be purged
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.squadsync.backend.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the entity id as a time-ordered (version 7) UUID string.
+ * Combine with {@link BinaryUuidType} to store it as BINARY(16).
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,116 @@
+package com.squadsync.backend.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the bounded queue and the single delivery thread of one channel. A slow
+ * or failing channel only ever backs up its own queue; once that is full new
+ * notifications for it are dropped and counted instead of blocking callers.
+ */
+@Slf4j
+class ChannelWorker {
+
+    private final NotificationChannel channel;
+    private final BlockingQueue<Delivery> queue;
+    private final Thread thread;
+    private final Timer deliveredTimer;
+    private final Timer failedTimer;
+    private final Counter retries;
+    private final Counter dropped;
+    private volatile boolean running = true;
+
+    ChannelWorker(NotificationChannel channel, MeterRegistry meterRegistry) {
+        this.channel = channel;
+        this.queue = new ArrayBlockingQueue<>(channel.getQueueCapacity());
+
+        String name = channel.getName();
+        this.deliveredTimer = Timer.builder("notifications.delivery")
+                .description("Time spent delivering a notification, including retries")
+                .tag("channel", name).tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedTimer = Timer.builder("notifications.delivery")
+                .description("Time spent delivering a notification, including retries")
+                .tag("channel", name).tag("outcome", "failure")
+                .register(meterRegistry);
+        this.retries = Counter.builder("notifications.retries").tag("channel", name).register(meterRegistry);
+        this.dropped = Counter.builder("notifications.dropped").tag("channel", name).register(meterRegistry);
+        Gauge.builder("notifications.queue.size", queue, BlockingQueue::size)
+                .tag("channel", name)
+                .register(meterRegistry);
+
+        this.thread = new Thread(this::run, "notify-" + name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    boolean offer(Delivery delivery) {
+        if (queue.offer(delivery)) {
+            return true;
+        }
+        dropped.increment();
+        log.warn("Notification queue for channel {} is full, dropping {} notification",
+                channel.getName(), delivery.getNotification().getType());
+        delivery.settle(false);
+        return false;
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            Delivery delivery;
+            try {
+                delivery = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (delivery != null) {
+                delivery.settle(deliverWithRetry(delivery.getNotification()));
+            }
+        }
+    }
+
+    private boolean deliverWithRetry(SessionNotification notification) {
+        RetryPolicy policy = channel.getRetryPolicy();
+        long start = System.nanoTime();
+
+        for (int attempt = 1; attempt <= policy.getMaxAttempts(); attempt++) {
+            try {
+                channel.deliver(notification);
+                deliveredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (Exception e) {
+                log.warn("Channel {} failed to deliver {} notification (attempt {}/{}): {}",
+                        channel.getName(), notification.getType(), attempt, policy.getMaxAttempts(),
+                        e.getMessage());
+                if (attempt == policy.getMaxAttempts()) {
+                    break;
+                }
+                retries.increment();
+                try {
+                    Thread.sleep(policy.backoffAfter(attempt).toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return false;
+    }
+}
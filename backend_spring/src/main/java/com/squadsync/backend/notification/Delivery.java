@@ -0,0 +1,41 @@
+package com.squadsync.backend.notification;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One dispatched notification on its way through the channel workers. Each
+ * worker settles it exactly once; the callback hears of the first success, or
+ * of the failure once every channel has given up.
+ */
+@Slf4j
+class Delivery {
+
+    @Getter
+    private final SessionNotification notification;
+    private final DeliveryCallback callback;
+    private final AtomicInteger unsettled;
+    private final AtomicBoolean delivered = new AtomicBoolean();
+
+    Delivery(SessionNotification notification, DeliveryCallback callback, int channels) {
+        this.notification = notification;
+        this.callback = callback;
+        this.unsettled = new AtomicInteger(channels);
+    }
+
+    void settle(boolean success) {
+        try {
+            if (success && delivered.compareAndSet(false, true)) {
+                callback.delivered();
+            }
+            if (unsettled.decrementAndGet() == 0 && !delivered.get()) {
+                callback.failed();
+            }
+        } catch (RuntimeException e) {
+            log.error("Delivery callback for {} notification failed", notification.getType(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.squadsync.backend.notification;
+
+/**
+ * Told how a dispatched notification ended, once, on the worker thread of the
+ * channel that settled it. A notification counts as delivered as soon as one
+ * channel has delivered it.
+ */
+public interface DeliveryCallback {
+
+    DeliveryCallback NONE = () -> {
+    };
+
+    void delivered();
+
+    /**
+     * No channel delivered the notification: each one either dropped it on a
+     * full queue or ran out of retries.
+     */
+    default void failed() {
+    }
+}
@@ -0,0 +1,55 @@
+package com.squadsync.backend.notification;
+
+import com.squadsync.backend.service.DiscordBotService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Registered only when a bot token is configured; without one the bot never
+ * starts and every delivery would fail.
+ */
+@Component
+@ConditionalOnExpression("${notifications.discord.enabled:false} and '${discord.bot.token:DUMMY_TOKEN}' != 'DUMMY_TOKEN'")
+public class DiscordNotificationChannel implements NotificationChannel {
+
+    private final DiscordBotService discordBotService;
+    private final RetryPolicy retryPolicy;
+    private final int queueCapacity;
+
+    public DiscordNotificationChannel(DiscordBotService discordBotService,
+            @Value("${notifications.discord.max-attempts:3}") int maxAttempts,
+            @Value("${notifications.discord.backoff-ms:2000}") long backoffMs,
+            @Value("${notifications.discord.queue-capacity:500}") int queueCapacity) {
+        this.discordBotService = discordBotService;
+        this.retryPolicy = new RetryPolicy(maxAttempts, Duration.ofMillis(backoffMs));
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public String getName() {
+        return "discord";
+    }
+
+    @Override
+    public void deliver(SessionNotification notification) {
+        switch (notification.getType()) {
+            case CONFIRMED -> discordBotService.sendSessionUpdates(notification.getSessions());
+            case PRELIMINARY -> discordBotService.sendPreliminaryNotifications(notification.getSessions());
+            case DIGEST -> discordBotService.sendPreliminaryDigest(notification.getRecipient().getDiscordId(),
+                    notification.getSessions());
+        }
+    }
+
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
@@ -0,0 +1,48 @@
+package com.squadsync.backend.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local sink for testing: appends each notification as a JSON line to a file,
+ * or to the application log when no file is configured.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.log.enabled", havingValue = "true")
+@Slf4j
+public class LogNotificationChannel implements NotificationChannel {
+
+    private final ObjectMapper objectMapper;
+    private final String file;
+
+    public LogNotificationChannel(ObjectMapper objectMapper,
+            @Value("${notifications.log.file:}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(SessionNotification notification) throws IOException {
+        String line = objectMapper.writeValueAsString(notification);
+        if (file.isBlank()) {
+            log.info("Session notification: {}", line);
+            return;
+        }
+        Files.writeString(Path.of(file), line + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,21 @@
+package com.squadsync.backend.notification;
+
+/**
+ * A destination for session notifications. Every channel bean is picked up by
+ * {@link NotificationDispatcher}, which gives it its own queue and worker
+ * thread, so {@link #deliver} may block and should throw to request a retry.
+ */
+public interface NotificationChannel {
+
+    String getName();
+
+    void deliver(SessionNotification notification) throws Exception;
+
+    default RetryPolicy getRetryPolicy() {
+        return RetryPolicy.DEFAULT;
+    }
+
+    default int getQueueCapacity() {
+        return 500;
+    }
+}
@@ -0,0 +1,52 @@
+package com.squadsync.backend.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fans each notification out to every registered {@link NotificationChannel}.
+ * Dispatching only enqueues, so it never waits on a channel; callers that must
+ * know whether a notification went out pass a {@link DeliveryCallback}.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final List<ChannelWorker> workers;
+
+    public NotificationDispatcher(List<NotificationChannel> channels, MeterRegistry meterRegistry) {
+        this.workers = channels.stream()
+                .map(channel -> new ChannelWorker(channel, meterRegistry))
+                .toList();
+        this.workers.forEach(ChannelWorker::start);
+        log.info("Notification channels enabled: {}",
+                channels.stream().map(NotificationChannel::getName).toList());
+    }
+
+    public void dispatch(SessionNotification notification) {
+        dispatch(notification, DeliveryCallback.NONE);
+    }
+
+    public void dispatch(SessionNotification notification, DeliveryCallback callback) {
+        if (notification.getSessions().isEmpty()) {
+            return;
+        }
+        if (workers.isEmpty()) {
+            callback.failed();
+            return;
+        }
+        Delivery delivery = new Delivery(notification, callback, workers.size());
+        for (ChannelWorker worker : workers) {
+            worker.offer(delivery);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.forEach(ChannelWorker::stop);
+    }
+}
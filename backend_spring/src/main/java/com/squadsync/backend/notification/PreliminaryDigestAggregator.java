@@ -0,0 +1,159 @@
+package com.squadsync.backend.notification;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.util.DateUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Digest mode for preliminary notifications. Instead of one message per session,
+ * sessions are folded into a running per-user digest as they arrive; the first
+ * session for a user opens a window and everything collected for that user
+ * within it goes out as a single message when the window closes.
+ * <p>
+ * Pending digests live only in memory, so nothing is marked as notified until
+ * a digest has been delivered: after a restart the sessions are still
+ * {@code NONE} and are collected again. At flush time every session is looked
+ * up again, and those deleted, confirmed or no longer including the recipient
+ * in the meantime are left out.
+ */
+@Component
+@Slf4j
+public class PreliminaryDigestAggregator {
+
+    private final NotificationDispatcher notificationDispatcher;
+    private final GameSessionService gameSessionService;
+    private final boolean enabled;
+    private final Duration window;
+
+    private final Map<String, PendingDigest> pending = new ConcurrentHashMap<>();
+    // userId:sessionId of delivered digest entries, until the session ends. Sessions stay NONE until
+    // every recipient's digest has had its chance, so this keeps each recipient from getting one twice
+    private final Map<String, LocalDateTime> announced = new ConcurrentHashMap<>();
+
+    public PreliminaryDigestAggregator(NotificationDispatcher notificationDispatcher,
+            GameSessionService gameSessionService,
+            @Value("${notifications.digest.enabled:false}") boolean enabled,
+            @Value("${notifications.digest.window-minutes:10}") long windowMinutes) {
+        this.notificationDispatcher = notificationDispatcher;
+        this.gameSessionService = gameSessionService;
+        this.enabled = enabled;
+        this.window = Duration.ofMinutes(windowMinutes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void add(List<GameSessionSnapshot> sessions) {
+        LocalDateTime now = DateUtils.now();
+        for (GameSessionSnapshot session : sessions) {
+            for (GameSessionSnapshot.PlayerSnapshot player : session.getPlayers()) {
+                if (player.getUserId() == null || player.getDiscordId() == null || player.getDiscordId().isBlank()
+                        || announced.containsKey(player.getUserId() + ":" + session.getId())) {
+                    continue;
+                }
+                pending.compute(player.getUserId(), (userId, digest) -> {
+                    PendingDigest target = digest != null ? digest
+                            : new PendingDigest(new SessionNotification.Recipient(userId, player.getDiscordId()), now);
+                    target.sessions.put(session.getId(), session);
+                    return target;
+                });
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.digest.flush-interval-ms:30000}")
+    public void flushDue() {
+        LocalDateTime now = DateUtils.now();
+        LocalDateTime cutoff = now.minus(window);
+        announced.values().removeIf(end -> !end.isAfter(now));
+
+        List<PendingDigest> due = new ArrayList<>();
+        Iterator<Map.Entry<String, PendingDigest>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, PendingDigest> entry = it.next();
+            if (entry.getValue().openedAt.isAfter(cutoff)) {
+                continue;
+            }
+            // Remove atomically so sessions added concurrently start a new window
+            PendingDigest digest = pending.remove(entry.getKey());
+            if (digest != null) {
+                due.add(digest);
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        Set<String> sessionIds = due.stream()
+                .flatMap(digest -> digest.sessions.keySet().stream())
+                .collect(Collectors.toSet());
+        Map<String, GameSessionSnapshot> current = gameSessionService.getSnapshots(sessionIds).stream()
+                .collect(Collectors.toMap(GameSessionSnapshot::getId, Function.identity()));
+
+        int flushed = 0;
+        for (PendingDigest digest : due) {
+            String userId = digest.recipient.getUserId();
+            List<GameSessionSnapshot> sessions = digest.sessions.keySet().stream()
+                    .map(current::get)
+                    .filter(session -> session != null && stillToAnnounce(session, userId, now))
+                    .sorted(Comparator.comparing(GameSessionSnapshot::getStartTime))
+                    .toList();
+            if (sessions.isEmpty()) {
+                continue;
+            }
+            notificationDispatcher.dispatch(SessionNotification.digest(digest.recipient, sessions),
+                    () -> delivered(userId, sessions));
+            flushed++;
+        }
+
+        if (flushed > 0) {
+            log.info("Flushed {} preliminary session digests", flushed);
+        }
+    }
+
+    private boolean stillToAnnounce(GameSessionSnapshot session, String userId, LocalDateTime now) {
+        return session.getNotificationStatus() != GameSession.NotificationStatus.CONFIRMED_SENT
+                && gameSessionService.getSessionStatus(session) == GameSession.SessionStatus.PRELIMINARY
+                && session.getEndTime().isAfter(now)
+                && session.getPlayers().stream().anyMatch(player -> userId.equals(player.getUserId()))
+                && !announced.containsKey(userId + ":" + session.getId());
+    }
+
+    private void delivered(String userId, List<GameSessionSnapshot> sessions) {
+        sessions.forEach(session -> announced.put(userId + ":" + session.getId(), session.getEndTime()));
+        gameSessionService.updateNotificationStatuses(sessions.stream()
+                .collect(Collectors.toMap(GameSessionSnapshot::getId,
+                        session -> GameSession.NotificationStatus.PRELIMINARY_SENT)));
+    }
+
+    private static class PendingDigest {
+        final SessionNotification.Recipient recipient;
+        final LocalDateTime openedAt;
+        // Keyed by session id so a session re-announced within the window is listed once, latest version wins
+        final Map<String, GameSessionSnapshot> sessions = new LinkedHashMap<>();
+
+        PendingDigest(SessionNotification.Recipient recipient, LocalDateTime openedAt) {
+            this.recipient = recipient;
+            this.openedAt = openedAt;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.squadsync.backend.notification;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+@Value
+public class RetryPolicy {
+    public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofSeconds(1));
+
+    int maxAttempts;
+    Duration initialBackoff;
+
+    /**
+     * Exponential backoff: initialBackoff, 2x, 4x... for each failed attempt.
+     */
+    public Duration backoffAfter(int attempt) {
+        return initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 10));
+    }
+}
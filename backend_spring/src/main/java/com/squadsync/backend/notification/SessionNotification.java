@@ -0,0 +1,36 @@
+package com.squadsync.backend.notification;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class SessionNotification {
+    Type type;
+    List<GameSessionSnapshot> sessions;
+    Recipient recipient; // Only set for DIGEST notifications
+
+    public enum Type {
+        CONFIRMED,
+        PRELIMINARY,
+        DIGEST
+    }
+
+    @Value
+    public static class Recipient {
+        String userId;
+        String discordId;
+    }
+
+    public static SessionNotification of(Type type, List<GameSessionSnapshot> sessions) {
+        return new SessionNotification(type, sessions, null);
+    }
+
+    public static SessionNotification digest(Recipient recipient, List<GameSessionSnapshot> sessions) {
+        return new SessionNotification(Type.DIGEST, sessions, recipient);
+    }
+}
@@ -0,0 +1,71 @@
+package com.squadsync.backend.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Posts every notification as JSON to a configured URL. Any non-2xx answer is
+ * treated as a failure and retried by the dispatcher.
+ */
+@Component
+@ConditionalOnProperty(name = "notifications.webhook.enabled", havingValue = "true")
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final RetryPolicy retryPolicy;
+    private final int queueCapacity;
+
+    public WebhookNotificationChannel(ObjectMapper objectMapper,
+            @Value("${notifications.webhook.url}") String url,
+            @Value("${notifications.webhook.timeout-ms:5000}") long timeoutMs,
+            @Value("${notifications.webhook.max-attempts:5}") int maxAttempts,
+            @Value("${notifications.webhook.backoff-ms:1000}") long backoffMs,
+            @Value("${notifications.webhook.queue-capacity:500}") int queueCapacity) {
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.retryPolicy = new RetryPolicy(maxAttempts, Duration.ofMillis(backoffMs));
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(SessionNotification notification) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(notification)))
+                .build();
+
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Webhook answered with status " + response.statusCode());
+        }
+    }
+
+    @Override
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
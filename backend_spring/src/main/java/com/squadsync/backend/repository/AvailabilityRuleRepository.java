@@ -0,0 +1,24 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.model.AvailabilityRule;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, String> {
+
+    @EntityGraph(attributePaths = "exceptions")
+    @Query("SELECT r FROM AvailabilityRule r WHERE r.user.id = :userId ORDER BY r.dayOfWeek, r.startTime")
+    List<AvailabilityRule> findWithExceptionsByUserId(@Param("userId") String userId);
+
+    // Horizon expansion: every rule valid on some day in [from, to], with its exceptions
+    @EntityGraph(attributePaths = "exceptions")
+    @Query("SELECT r FROM AvailabilityRule r WHERE r.validFrom <= :to AND (r.validUntil IS NULL OR r.validUntil >= :from)")
+    List<AvailabilityRule> findValidBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
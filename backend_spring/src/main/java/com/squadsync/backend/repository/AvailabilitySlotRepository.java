@@ -1,15 +1,77 @@
 package com.squadsync.backend.repository;
 
+import com.squadsync.backend.dto.AvailabilitySlotDto;
 import com.squadsync.backend.model.AvailabilitySlot;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySlot, String> {
     List<AvailabilitySlot> findByUserId(String userId);
 
+    /**
+     * Whether one of the user's slots overlaps [{@code start}, {@code end}).
+     * A user's slots never overlap each other, so they end in the order they
+     * start and only the last slot starting before {@code end} can reach into
+     * the interval: a single seek on (user_id, start_time) however long the
+     * user's history is. Callers hold the user lock from
+     * {@link UserRepository#findByIdForUpdate} so the invariant holds.
+     */
+    default boolean existsOverlapping(String userId, LocalDateTime start, LocalDateTime end) {
+        List<LocalDateTime> latest = findEndTimesStartingBefore(userId, end, PageRequest.of(0, 1));
+        return !latest.isEmpty() && latest.get(0).isAfter(start);
+    }
+
+    // Latest first; read from idx_availability_slots_user_start_end without touching the rows
+    @Query("SELECT s.endTime FROM AvailabilitySlot s WHERE s.user.id = :userId AND s.startTime < :before "
+            + "ORDER BY s.startTime DESC")
+    List<LocalDateTime> findEndTimesStartingBefore(@Param("userId") String userId,
+            @Param("before") LocalDateTime before, Pageable page);
+
+    // The user's slots overlapping [start, end); read along idx_availability_slots_user_start_end
+    @Query("SELECT s FROM AvailabilitySlot s WHERE s.user.id = :userId AND s.startTime < :end AND s.endTime > :start")
+    List<AvailabilitySlot> findOverlapping(@Param("userId") String userId, @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    // Batch edits replace per-slot overrides, so load them with the slots instead of one select per slot
+    @EntityGraph(attributePaths = "preferences")
+    @Query("SELECT s FROM AvailabilitySlot s WHERE s.user.id = :userId")
+    List<AvailabilitySlot> findWithPreferencesByUserId(@Param("userId") String userId);
+
+    @Query("SELECT new com.squadsync.backend.dto.AvailabilitySlotDto(s.id, s.user.id, s.startTime, s.endTime, s.game.id) "
+            + "FROM AvailabilitySlot s WHERE s.user.id = :userId")
+    List<AvailabilitySlotDto> findDtosByUserId(@Param("userId") String userId);
+
+    // Matchmaking snapshot: per-slot game overrides are scored and the users become session players
+    @EntityGraph(attributePaths = { "user", "preferences" })
     List<AvailabilitySlot> findByEndTimeGreaterThanOrderByStartTimeAsc(LocalDateTime now);
+
+    @Query("SELECT s.id FROM AvailabilitySlot s WHERE s.game.id = :gameId")
+    List<String> findIdsByGameId(@Param("gameId") String gameId, Pageable page);
+
+    // Per-slot overrides naming the game, on slots of any game
+    @Query("SELECT p.id FROM AvailabilityGamePreference p WHERE p.game.id = :gameId")
+    List<String> findPreferenceIdsByGameId(@Param("gameId") String gameId, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM AvailabilityGamePreference p WHERE p.id IN :ids")
+    int deletePreferencesByIds(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("DELETE FROM AvailabilityGamePreference p WHERE p.availabilitySlot.id IN :slotIds")
+    int deletePreferencesBySlotIds(@Param("slotIds") Collection<String> slotIds);
+
+    @Modifying
+    @Query("DELETE FROM AvailabilitySlot s WHERE s.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
 }
@@ -1,9 +1,38 @@
 package com.squadsync.backend.repository;
 
+import com.squadsync.backend.dto.GameDto;
 import com.squadsync.backend.model.Game;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface GameRepository extends JpaRepository<Game, String> {
+    // Cacheable queries must not read a replica that lags behind the last game change: see ReplicaRoutingDataSource
+
+    // Read per matchmaking window; the cached id list is invalidated by any write to the games table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT g FROM Game g WHERE g.deletedAt IS NULL")
+    List<Game> findAllActive();
+
+    // Scalar rows are query-cached too, under the same games table invalidation
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.squadsync.backend.dto.GameDto(g.id, g.title, g.minPlayers, g.maxPlayers, g.genre, "
+            + "g.coverImageUrl, g.createdAt) FROM Game g WHERE g.deletedAt IS NULL")
+    List<GameDto> findAllDtos();
+
+    // By id through the entity cache, hiding games that are being purged
+    default Optional<Game> findActiveById(String id) {
+        return findById(id).filter(game -> game.getDeletedAt() == null);
+    }
+
+    // Soft-deleted games whose purge has not finished yet
+    @Query("SELECT g.id FROM Game g WHERE g.deletedAt IS NOT NULL")
+    List<String> findDeletedIds();
 }
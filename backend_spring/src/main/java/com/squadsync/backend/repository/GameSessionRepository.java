@@ -1,17 +1,87 @@
 package com.squadsync.backend.repository;
 
 import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.repository.projection.SessionPlayerCount;
+import com.squadsync.backend.repository.projection.SessionPlayerSummary;
+import com.squadsync.backend.repository.projection.SessionSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface GameSessionRepository extends JpaRepository<GameSession, String> {
-    List<GameSession> findByStartTimeGreaterThanEqualOrderByStartTimeAsc(LocalDateTime startTime);
-
-    List<GameSession> findByGameIdOrderByCreatedAtDesc(String gameId);
+public interface GameSessionRepository extends JpaRepository<GameSession, String>, GameSessionSearchRepository {
 
+    // Active sessions are always walked down to their players and users (status, DTOs, notifications),
+    // so load the whole graph in one statement instead of one select per session and player
+    @EntityGraph(attributePaths = { "game", "players", "players.user" })
     List<GameSession> findByEndTimeGreaterThanOrderByStartTimeAsc(LocalDateTime now);
+
+    @EntityGraph(attributePaths = { "game", "players", "players.user" })
+    List<GameSession> findByIdIn(Collection<String> ids);
+
+    @Query("SELECT new com.squadsync.backend.repository.projection.SessionSummary("
+            + "s.id, s.startTime, s.endTime, s.sessionScore, s.createdAt, g.id, g.title, g.coverImageUrl, g.minPlayers) "
+            + "FROM GameSession s JOIN s.game g WHERE s.endTime > :now AND g.deletedAt IS NULL ORDER BY s.startTime")
+    List<SessionSummary> findUpcomingSummaries(@Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.squadsync.backend.repository.projection.SessionSummary("
+            + "s.id, s.startTime, s.endTime, s.sessionScore, s.createdAt, g.id, g.title, g.coverImageUrl, g.minPlayers) "
+            + "FROM GameSession s JOIN s.game g WHERE s.id IN :ids ORDER BY s.startTime")
+    List<SessionSummary> findSummariesByIds(@Param("ids") Collection<String> ids);
+
+    // Ids are time ordered, so this keeps players in the order they joined
+    @Query("SELECT new com.squadsync.backend.repository.projection.SessionPlayerSummary("
+            + "p.session.id, u.id, u.username, u.avatarColor, p.status) "
+            + "FROM GameSessionPlayer p JOIN p.user u WHERE p.session.id IN :sessionIds ORDER BY p.id")
+    List<SessionPlayerSummary> findPlayerSummaries(@Param("sessionIds") Collection<String> sessionIds);
+
+    @Query("SELECT new com.squadsync.backend.repository.projection.SessionPlayerCount(p.session.id, COUNT(p), "
+            + "SUM(CASE WHEN p.status = com.squadsync.backend.model.GameSessionPlayer$SessionPlayerStatus.ACCEPTED "
+            + "THEN 1 ELSE 0 END)) FROM GameSessionPlayer p WHERE p.session.id IN :sessionIds GROUP BY p.session.id")
+    List<SessionPlayerCount> findPlayerCounts(@Param("sessionIds") Collection<String> sessionIds);
+
+    // Time-driven changes for delta sync: sessions that ended, or entered the confirmation window
+    @Query("SELECT s.id FROM GameSession s WHERE s.endTime > :from AND s.endTime <= :to")
+    List<String> findIdsEndedBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.id FROM GameSession s WHERE s.startTime > :from AND s.startTime <= :to")
+    List<String> findIdsStartingBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT s.id FROM GameSession s WHERE s.game.id = :gameId")
+    List<String> findIdsByGameId(@Param("gameId") String gameId, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM GameSessionPlayer p WHERE p.session.id IN :sessionIds")
+    int deletePlayersBySessionIds(@Param("sessionIds") Collection<String> sessionIds);
+
+    @Modifying
+    @Query("DELETE FROM GameSession s WHERE s.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<String> ids);
+
+    // Leaves the version alone: the notification status is written after commit, concurrently with
+    // matchmaking saving the same rows, and must not fail their optimistic lock or be failed by it
+    @Modifying
+    @Query("UPDATE GameSession s SET s.notificationStatus = :status WHERE s.id IN :ids")
+    int updateNotificationStatus(@Param("ids") Collection<String> ids,
+            @Param("status") GameSession.NotificationStatus status);
+
+    /**
+     * Deletes the sessions and their players with one statement per table
+     * instead of loading and removing them row by row.
+     */
+    default int deleteSessionsInBatch(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        deletePlayersBySessionIds(ids);
+        return deleteByIds(ids);
+    }
 }
@@ -0,0 +1,14 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.repository.projection.SessionSummary;
+
+import java.util.List;
+
+public interface GameSessionSearchRepository {
+
+    /**
+     * Up to {@code limit} sessions matching the search, ordered by start time
+     * and id, after the search's keyset position.
+     */
+    List<SessionSummary> searchSummaries(SessionSearch search, int limit);
+}
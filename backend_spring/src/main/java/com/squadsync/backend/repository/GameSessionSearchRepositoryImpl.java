@@ -0,0 +1,76 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.model.GameSessionPlayer;
+import com.squadsync.backend.repository.projection.SessionSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the session search from the filters present. Every predicate has a
+ * matching index (see V5__session_search_indexes.sql), and the keyset
+ * condition lets each page start where the previous one ended instead of
+ * counting past an offset.
+ */
+class GameSessionSearchRepositoryImpl implements GameSessionSearchRepository {
+
+    // Same rule as GameSessionService.resolveStatus, evaluated per row
+    private static final String CONFIRMED = "(s.startTime < :confirmationCutoff AND "
+            + "(SELECT COUNT(p) FROM GameSessionPlayer p WHERE p.session = s AND p.status = :accepted) "
+            + ">= CASE WHEN g.minPlayers < 2 THEN 2 ELSE g.minPlayers END)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SessionSummary> searchSummaries(SessionSearch search, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT new com.squadsync.backend.repository.projection.SessionSummary("
+                + "s.id, s.startTime, s.endTime, s.sessionScore, s.createdAt, g.id, g.title, g.coverImageUrl, "
+                + "g.minPlayers) FROM GameSession s JOIN s.game g WHERE g.deletedAt IS NULL");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (search.getGameId() != null) {
+            jpql.append(" AND g.id = :gameId");
+            parameters.put("gameId", search.getGameId());
+        }
+        if (search.getPlayerId() != null) {
+            jpql.append(" AND EXISTS (SELECT 1 FROM GameSessionPlayer sp WHERE sp.session = s "
+                    + "AND sp.user.id = :playerId)");
+            parameters.put("playerId", search.getPlayerId());
+        }
+        if (search.getFrom() != null) {
+            jpql.append(" AND s.endTime > :from");
+            parameters.put("from", search.getFrom());
+        }
+        if (search.getTo() != null) {
+            jpql.append(" AND s.startTime < :to");
+            parameters.put("to", search.getTo());
+        }
+        if (search.getStatus() != null) {
+            switch (search.getStatus()) {
+                case CONFIRMED -> jpql.append(" AND ").append(CONFIRMED);
+                case PRELIMINARY -> jpql.append(" AND NOT ").append(CONFIRMED);
+                // Never derived for a stored session
+                case CANCELLED -> {
+                    return List.of();
+                }
+            }
+            parameters.put("confirmationCutoff", search.getConfirmationCutoff());
+            parameters.put("accepted", GameSessionPlayer.SessionPlayerStatus.ACCEPTED);
+        }
+        if (search.getAfterStartTime() != null) {
+            jpql.append(" AND (s.startTime > :afterStartTime OR (s.startTime = :afterStartTime AND s.id > :afterId))");
+            parameters.put("afterStartTime", search.getAfterStartTime());
+            parameters.put("afterId", search.getAfterId());
+        }
+        jpql.append(" ORDER BY s.startTime, s.id");
+
+        TypedQuery<SessionSummary> query = entityManager.createQuery(jpql.toString(), SessionSummary.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.model.RevokedTokenFamily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenFamilyRepository extends JpaRepository<RevokedTokenFamily, String> {
+    @Query("SELECT f.familyId FROM RevokedTokenFamily f WHERE f.expiresAt > :now")
+    List<String> findActiveFamilyIds(@Param("now") LocalDateTime now);
+
+    @Query("SELECT f.familyId FROM RevokedTokenFamily f WHERE f.revokedAt >= :since")
+    List<String> findFamilyIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedTokenFamily f WHERE f.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.model.GameSession;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters and keyset position of a session search. Null fields are left out
+ * of the query entirely, so each combination gets a plan that can use its
+ * index instead of one catch-all query.
+ */
+@Value
+public class SessionSearch {
+    String gameId;
+    String playerId;
+    GameSession.SessionStatus status;
+    // Sessions overlapping [from, to): ending after from, starting before to
+    LocalDateTime from;
+    LocalDateTime to;
+    // Sessions starting before this can be confirmed; see GameSessionService.CONFIRMATION_WINDOW
+    LocalDateTime confirmationCutoff;
+    // Last row of the previous page, in (startTime, id) order
+    LocalDateTime afterStartTime;
+    String afterId;
+}
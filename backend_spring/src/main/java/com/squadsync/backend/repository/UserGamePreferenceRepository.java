@@ -1,7 +1,11 @@
 package com.squadsync.backend.repository;
 
+import com.squadsync.backend.dto.PreferenceDto;
 import com.squadsync.backend.model.UserGamePreference;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,7 +15,14 @@ import java.util.Optional;
 public interface UserGamePreferenceRepository extends JpaRepository<UserGamePreference, String> {
     List<UserGamePreference> findByUserId(String userId);
 
+    @Query("SELECT new com.squadsync.backend.dto.PreferenceDto(p.id, p.user.id, p.game.id, p.weight) "
+            + "FROM UserGamePreference p WHERE p.user.id = :userId")
+    List<PreferenceDto> findDtosByUserId(@Param("userId") String userId);
+
     Optional<UserGamePreference> findByUserIdAndGameId(String userId, String gameId);
 
     List<UserGamePreference> findByUserIdIn(List<String> userIds);
+
+    @Query("SELECT p.id FROM UserGamePreference p WHERE p.game.id = :gameId")
+    List<String> findIdsByGameId(@Param("gameId") String gameId, Pageable page);
 }
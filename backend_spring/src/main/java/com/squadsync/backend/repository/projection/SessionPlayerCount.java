@@ -0,0 +1,14 @@
+package com.squadsync.backend.repository.projection;
+
+import lombok.Value;
+
+/**
+ * Player totals of a session, for views that show counts and status but
+ * not the players themselves.
+ */
+@Value
+public class SessionPlayerCount {
+    String sessionId;
+    Long players;
+    Long accepted;
+}
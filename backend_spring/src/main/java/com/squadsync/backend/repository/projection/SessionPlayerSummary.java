@@ -0,0 +1,16 @@
+package com.squadsync.backend.repository.projection;
+
+import com.squadsync.backend.model.GameSessionPlayer;
+import lombok.Value;
+
+/**
+ * A session player with the user columns shown next to it.
+ */
+@Value
+public class SessionPlayerSummary {
+    String sessionId;
+    String userId;
+    String username;
+    String avatarColor;
+    GameSessionPlayer.SessionPlayerStatus status;
+}
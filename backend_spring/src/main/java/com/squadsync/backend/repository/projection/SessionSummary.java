@@ -0,0 +1,22 @@
+package com.squadsync.backend.repository.projection;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of a session and its game needed to render a session card,
+ * selected with a constructor expression instead of loading the entities.
+ */
+@Value
+public class SessionSummary {
+    String id;
+    LocalDateTime startTime;
+    LocalDateTime endTime;
+    double sessionScore;
+    LocalDateTime createdAt;
+    String gameId;
+    String gameTitle;
+    String gameCoverImageUrl;
+    int gameMinPlayers;
+}
@@ -1,11 +1,15 @@
 package com.squadsync.backend.service;
 
+import com.squadsync.backend.config.InvalidTokenException;
+import com.squadsync.backend.config.PasswordHashingBusyException;
 import com.squadsync.backend.dto.AuthDto;
 import com.squadsync.backend.dto.UserDto;
+import com.squadsync.backend.model.RefreshToken;
 import com.squadsync.backend.model.User;
 import com.squadsync.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -18,6 +22,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -37,43 +42,56 @@ public class AuthService {
             user.setDiscordId(request.getDiscordId());
         }
         user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
         user.setAvatarColor(request.getAvatarColor() != null ? request.getAvatarColor() : "#3b82f6");
         user.setRole("NORMAL");
 
         userRepository.save(user);
 
-        var userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash())
-                .roles("USER")
-                .build();
-
-        var jwtToken = jwtService.generateToken(userDetails);
-        return new AuthDto.AuthResponse(jwtToken, mapToDto(user));
+        return issueTokens(user, refreshTokenService.newFamily());
     }
 
     public AuthDto.AuthResponse login(AuthDto.LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()));
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()));
+        } catch (InternalAuthenticationServiceException e) {
+            // The provider wraps failures during user lookup; keep "busy" distinguishable
+            if (e.getCause() instanceof PasswordHashingBusyException busy) {
+                throw busy;
+            }
+            throw e;
+        }
 
         var user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow();
 
-        var userDetails = org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash())
-                .roles("USER")
-                .build();
+        return issueTokens(user, refreshTokenService.newFamily());
+    }
+
+    public AuthDto.AuthResponse refresh(AuthDto.RefreshRequest request) {
+        if (request.getRefreshToken() == null || request.getRefreshToken().isBlank()) {
+            throw new InvalidTokenException("Refresh token is required");
+        }
+        RefreshToken consumed = refreshTokenService.consume(request.getRefreshToken());
+        return issueTokens(consumed.getUser(), consumed.getFamilyId());
+    }
+
+    public void logout(AuthDto.RefreshRequest request) {
+        if (request.getRefreshToken() != null && !request.getRefreshToken().isBlank()) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+    }
 
-        var jwtToken = jwtService.generateToken(userDetails);
-        return new AuthDto.AuthResponse(jwtToken, mapToDto(user));
+    private AuthDto.AuthResponse issueTokens(User user, String familyId) {
+        String refreshToken = refreshTokenService.issue(user, familyId);
+        String accessToken = jwtService.generateToken(user, familyId);
+        return new AuthDto.AuthResponse(accessToken, refreshToken, mapToDto(user));
     }
 
-    public UserDto updateProfile(String email, UserDto updateDto) {
-        var user = userRepository.findByEmail(email)
+    public UserDto updateProfile(String userId, UserDto updateDto) {
+        var user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (updateDto.getDiscordId() != null) {
@@ -89,8 +107,8 @@ public class AuthService {
         return mapToDto(user);
     }
 
-    public UserDto getCurrentUser(String email) {
-        var user = userRepository.findByEmail(email)
+    public UserDto getCurrentUser(String userId) {
+        var user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return mapToDto(user);
     }
@@ -0,0 +1,111 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.model.AvailabilityRule;
+import com.squadsync.backend.repository.AvailabilityRuleRepository;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concrete occurrences of the recurring availability rules, expanded only for
+ * the matchmaking horizon: today plus {@code availability.rules.horizon-days}.
+ * The expansion is kept until a rule change commits or the day rolls over, so
+ * matchmaking runs in between read no rules, and the work depends on the
+ * number of rules rather than on how far their calendars reach. Like the
+ * other in-memory state this assumes a single application instance.
+ */
+@Component
+public class AvailabilityRuleExpander {
+
+    private final AvailabilityRuleRepository ruleRepository;
+    private final int horizonDays;
+    // Bumped after each committed rule change; an expansion of an older generation is stale
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Expansion cached;
+
+    public AvailabilityRuleExpander(AvailabilityRuleRepository ruleRepository,
+            @org.springframework.beans.factory.annotation.Value("${availability.rules.horizon-days:14}") int horizonDays) {
+        this.ruleRepository = ruleRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Occurrences within the horizon that end after {@code now}, in start
+     * order.
+     */
+    public List<Occurrence> occurrencesAfter(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        long current = generation.get();
+        Expansion expansion = cached;
+        if (expansion == null || expansion.getGeneration() != current || !expansion.getFirstDay().equals(today)) {
+            LocalDate lastDay = today.plusDays(horizonDays);
+            List<Occurrence> occurrences = new ArrayList<>();
+            for (AvailabilityRule rule : ruleRepository.findValidBetween(today, lastDay)) {
+                occurrences.addAll(expand(rule, today, lastDay));
+            }
+            occurrences.sort(Comparator.comparing(Occurrence::getStart));
+            // Tagged with the generation read before loading, so a change committed meanwhile still invalidates it
+            expansion = new Expansion(current, today, List.copyOf(occurrences));
+            cached = expansion;
+        }
+        return expansion.getOccurrences().stream()
+                .filter(occurrence -> occurrence.getEnd().isAfter(now))
+                .toList();
+    }
+
+    /**
+     * Drops the expansion once the current transaction has committed.
+     */
+    public void invalidate() {
+        ResourceVersionService.afterCommit(generation::incrementAndGet);
+    }
+
+    /**
+     * The rule's occurrences starting on a day in [{@code from}, {@code to}],
+     * skipping its exception dates.
+     */
+    public static List<Occurrence> expand(AvailabilityRule rule, LocalDate from, LocalDate to) {
+        LocalDate last = rule.getValidUntil() != null && rule.getValidUntil().isBefore(to) ? rule.getValidUntil() : to;
+        LocalDate first = rule.getValidFrom().isAfter(from) ? rule.getValidFrom() : from;
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (LocalDate day = first.with(TemporalAdjusters.nextOrSame(rule.getDayOfWeek())); !day.isAfter(last);
+                day = day.plusWeeks(1)) {
+            if (!rule.getExceptions().contains(day)) {
+                // An end of 00:00 is midnight at the end of the day
+                LocalDateTime end = rule.getEndTime().equals(LocalTime.MIDNIGHT) ? day.plusDays(1).atStartOfDay()
+                        : day.atTime(rule.getEndTime());
+                occurrences.add(new Occurrence(rule.getId(), rule.getUser().getId(), day.atTime(rule.getStartTime()),
+                        end));
+            }
+        }
+        return occurrences;
+    }
+
+    @Value
+    public static class Occurrence {
+        String ruleId;
+        String userId;
+        LocalDateTime start;
+        LocalDateTime end;
+
+        // Stands in for a slot id during matchmaking; never stored
+        public String getSlotId() {
+            return ruleId + "@" + start.toLocalDate();
+        }
+    }
+
+    @Value
+    private static class Expansion {
+        long generation;
+        LocalDate firstDay;
+        List<Occurrence> occurrences;
+    }
+}
@@ -0,0 +1,197 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.dto.AvailabilityRuleDto;
+import com.squadsync.backend.model.AvailabilityRule;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.repository.AvailabilityRuleRepository;
+import com.squadsync.backend.repository.UserRepository;
+import com.squadsync.backend.service.AvailabilityRuleExpander.Occurrence;
+import com.squadsync.backend.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Recurring weekly availability. Every write commits before matchmaking runs,
+ * so the run expands the rules afresh instead of reusing the cached expansion.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityRuleService {
+
+    private final AvailabilityRuleRepository ruleRepository;
+    private final UserRepository userRepository;
+    private final AvailabilityRuleExpander ruleExpander;
+    private final ResourceVersionService resourceVersionService;
+    private final MatchmakingService matchmakingService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityRuleDto> getUserRules(String userId) {
+        return ruleRepository.findWithExceptionsByUserId(userId).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    public AvailabilityRuleDto createRule(String userId, AvailabilityRuleDto dto) {
+        AvailabilityRuleDto created = transactionTemplate.execute(status -> {
+            User user = lockUser(userId);
+            AvailabilityRule rule = new AvailabilityRule();
+            rule.setUser(user);
+            rule.setValidFrom(DateUtils.now().toLocalDate());
+            applyChanges(rule, dto);
+            checkNoOverlaps(rule, userId);
+
+            ruleRepository.save(rule);
+            rulesChanged(userId);
+            return mapToDto(rule);
+        });
+        matchmakingService.runMatchmaking(); // Trigger matchmaking
+        return created;
+    }
+
+    public AvailabilityRuleDto updateRule(String ruleId, String userId, AvailabilityRuleDto dto) {
+        AvailabilityRuleDto updated = transactionTemplate.execute(status -> {
+            lockUser(userId);
+            AvailabilityRule rule = findOwnedRule(ruleId, userId);
+            List<GameSession> sessions = matchmakingService.findSessionsForUser(userId);
+            List<Occurrence> before = occurrencesDuring(rule, sessions);
+
+            applyChanges(rule, dto);
+            checkNoOverlaps(rule, userId);
+            leaveSessions(userId, sessions, before, occurrencesDuring(rule, sessions));
+
+            rulesChanged(userId);
+            return mapToDto(rule);
+        });
+        matchmakingService.runMatchmaking(); // Trigger matchmaking
+        return updated;
+    }
+
+    public void deleteRule(String ruleId, String userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockUser(userId);
+            AvailabilityRule rule = findOwnedRule(ruleId, userId);
+            List<GameSession> sessions = matchmakingService.findSessionsForUser(userId);
+            leaveSessions(userId, sessions, occurrencesDuring(rule, sessions), List.of());
+
+            ruleRepository.delete(rule);
+            rulesChanged(userId);
+        });
+        matchmakingService.runMatchmaking(); // Trigger matchmaking
+    }
+
+    // Same row lock as the slot writes, so the overlap checks of one user's rules and slots never interleave
+    private User lockUser(String userId) {
+        return userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private AvailabilityRule findOwnedRule(String ruleId, String userId) {
+        AvailabilityRule rule = ruleRepository.findById(ruleId)
+                .orElseThrow(() -> new RuntimeException("Rule not found"));
+        if (!rule.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Unauthorized");
+        }
+        return rule;
+    }
+
+    private void rulesChanged(String userId) {
+        resourceVersionService.availabilityChanged(userId);
+        ruleExpander.invalidate();
+    }
+
+    private static void applyChanges(AvailabilityRule rule, AvailabilityRuleDto dto) {
+        if (dto.getDayOfWeek() == null || dto.getStartTime() == null || dto.getEndTime() == null) {
+            throw new IllegalArgumentException("dayOfWeek, startTime and endTime are required");
+        }
+        // An end of 00:00 is midnight at the end of the day
+        if (!dto.getStartTime().isBefore(dto.getEndTime()) && !dto.getEndTime().equals(LocalTime.MIDNIGHT)) {
+            throw new IllegalArgumentException("Availability rule must end after it starts on the same day; "
+                    + "split overnight availability at midnight into two rules, e.g. 22:00-00:00 and 00:00-02:00");
+        }
+        rule.setDayOfWeek(dto.getDayOfWeek());
+        rule.setStartTime(dto.getStartTime().truncatedTo(ChronoUnit.SECONDS));
+        rule.setEndTime(dto.getEndTime().truncatedTo(ChronoUnit.SECONDS));
+        if (dto.getValidFrom() != null) {
+            rule.setValidFrom(dto.getValidFrom());
+        }
+        rule.setValidUntil(dto.getValidUntil());
+        if (rule.getValidUntil() != null && rule.getValidUntil().isBefore(rule.getValidFrom())) {
+            throw new IllegalArgumentException("validUntil must not be before validFrom");
+        }
+        rule.getExceptions().clear();
+        if (dto.getExceptions() != null) {
+            rule.getExceptions().addAll(new HashSet<>(dto.getExceptions()));
+        }
+    }
+
+    // Two rules of a user collide when they share a weekday, a time of day and at least one valid week
+    private void checkNoOverlaps(AvailabilityRule rule, String userId) {
+        for (AvailabilityRule existing : ruleRepository.findWithExceptionsByUserId(userId)) {
+            if (existing.getId().equals(rule.getId())) {
+                continue;
+            }
+            if (existing.getDayOfWeek() == rule.getDayOfWeek()
+                    && existing.getStartTime().toSecondOfDay() < endSecond(rule)
+                    && rule.getStartTime().toSecondOfDay() < endSecond(existing)
+                    && (existing.getValidUntil() == null || !existing.getValidUntil().isBefore(rule.getValidFrom()))
+                    && (rule.getValidUntil() == null || !rule.getValidUntil().isBefore(existing.getValidFrom()))) {
+                throw new IllegalArgumentException("Overlapping availability rule exists");
+            }
+        }
+    }
+
+    private static int endSecond(AvailabilityRule rule) {
+        return rule.getEndTime().equals(LocalTime.MIDNIGHT) ? 24 * 60 * 60 : rule.getEndTime().toSecondOfDay();
+    }
+
+    // The rule's occurrences up to the end of the user's last session
+    private static List<Occurrence> occurrencesDuring(AvailabilityRule rule, List<GameSession> sessions) {
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+        LocalDate to = sessions.stream().map(GameSession::getEndTime).max(Comparator.naturalOrder())
+                .orElseThrow().toLocalDate();
+        return AvailabilityRuleExpander.expand(rule, DateUtils.now().toLocalDate(), to);
+    }
+
+    // Like deleteSlot: the user leaves sessions that overlapped an old occurrence and fit in no new one
+    private void leaveSessions(String userId, List<GameSession> sessions, List<Occurrence> before,
+            List<Occurrence> after) {
+        for (GameSession session : sessions) {
+            boolean lostOccurrence = before.stream().anyMatch(occurrence ->
+                    occurrence.getStart().isBefore(session.getEndTime())
+                            && session.getStartTime().isBefore(occurrence.getEnd()));
+            boolean stillCovered = after.stream().anyMatch(occurrence ->
+                    !occurrence.getStart().isAfter(session.getStartTime())
+                            && !occurrence.getEnd().isBefore(session.getEndTime()));
+            if (lostOccurrence && !stillCovered) {
+                matchmakingService.removePlayerFromSession(session.getId(), userId);
+            }
+        }
+    }
+
+    private AvailabilityRuleDto mapToDto(AvailabilityRule rule) {
+        AvailabilityRuleDto dto = new AvailabilityRuleDto();
+        dto.setId(rule.getId());
+        dto.setUserId(rule.getUser().getId());
+        dto.setDayOfWeek(rule.getDayOfWeek());
+        dto.setStartTime(rule.getStartTime());
+        dto.setEndTime(rule.getEndTime());
+        dto.setValidFrom(rule.getValidFrom());
+        dto.setValidUntil(rule.getValidUntil());
+        dto.setExceptions(rule.getExceptions().stream().sorted().collect(Collectors.toList()));
+        return dto;
+    }
+}
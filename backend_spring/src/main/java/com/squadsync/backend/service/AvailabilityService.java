@@ -1,17 +1,32 @@
 package com.squadsync.backend.service;
 
+import com.squadsync.backend.dto.AvailabilityBatchDto;
 import com.squadsync.backend.dto.AvailabilitySlotDto;
+import com.squadsync.backend.dto.PreferenceDto;
+import com.squadsync.backend.model.AvailabilityGamePreference;
 import com.squadsync.backend.model.AvailabilitySlot;
 import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
 import com.squadsync.backend.model.User;
 import com.squadsync.backend.repository.AvailabilitySlotRepository;
 import com.squadsync.backend.repository.GameRepository;
 import com.squadsync.backend.repository.UserRepository;
+import com.squadsync.backend.util.DateUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,37 +35,51 @@ public class AvailabilityService {
     private final AvailabilitySlotRepository slotRepository;
     private final UserRepository userRepository;
     private final GameRepository gameRepository;
+    private final ResourceVersionService resourceVersionService;
     private final MatchmakingService matchmakingService;
+    private final TransactionTemplate transactionTemplate;
 
+    static final int MAX_BATCH_SIZE = 500;
+
+    @Transactional(readOnly = true)
     public List<AvailabilitySlotDto> getUserSlots(String userId) {
-        return slotRepository.findByUserId(userId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return slotRepository.findDtosByUserId(userId);
     }
 
     public AvailabilitySlotDto createSlot(String userId, AvailabilitySlotDto dto) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AvailabilitySlotDto created = transactionTemplate.execute(status -> insertSlot(userId, dto));
+        matchmakingService.runMatchmaking(); // Trigger matchmaking
+        return created;
+    }
 
-        // Check for overlaps
-        List<AvailabilitySlot> existingSlots = slotRepository.findByUserId(userId);
+    private AvailabilitySlotDto insertSlot(String userId, AvailabilitySlotDto dto) {
+        if (dto.getStartTime() == null || dto.getEndTime() == null) {
+            throw new IllegalArgumentException("Availability slot must end after it starts");
+        }
         java.time.LocalDateTime newStart = dto.getStartTime().truncatedTo(java.time.temporal.ChronoUnit.SECONDS);
         java.time.LocalDateTime newEnd = dto.getEndTime().truncatedTo(java.time.temporal.ChronoUnit.SECONDS);
+        // existsOverlapping only looks at the latest slot starting before the end, which relies on this
+        if (!newStart.isBefore(newEnd)) {
+            throw new IllegalArgumentException("Availability slot must end after it starts");
+        }
 
-        for (AvailabilitySlot existing : existingSlots) {
-            if (existing.getStartTime().isBefore(newEnd) && existing.getEndTime().isAfter(newStart)) {
-                throw new IllegalArgumentException("Overlapping availability slot exists");
-            }
+        // Locked so concurrent writes of the same user check for overlaps and insert one at a time
+        User user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Check for overlaps
+        if (slotRepository.existsOverlapping(userId, newStart, newEnd)) {
+            throw new IllegalArgumentException("Overlapping availability slot exists");
         }
 
         AvailabilitySlot slot = new AvailabilitySlot();
         slot.setUser(user);
         // Use LocalDateTime directly (Floating Time)
-        slot.setStartTime(dto.getStartTime().truncatedTo(java.time.temporal.ChronoUnit.SECONDS));
-        slot.setEndTime(dto.getEndTime().truncatedTo(java.time.temporal.ChronoUnit.SECONDS));
+        slot.setStartTime(newStart);
+        slot.setEndTime(newEnd);
 
         if (dto.getGameId() != null) {
-            Game game = gameRepository.findById(dto.getGameId())
+            Game game = gameRepository.findActiveById(dto.getGameId())
                     .orElse(null);
             slot.setGame(game);
         }
@@ -61,7 +90,7 @@ public class AvailabilityService {
             for (com.squadsync.backend.dto.PreferenceDto prefDto : dto.getPreferences()) {
                 com.squadsync.backend.model.AvailabilityGamePreference pref = new com.squadsync.backend.model.AvailabilityGamePreference();
                 pref.setAvailabilitySlot(slot);
-                pref.setGame(gameRepository.findById(prefDto.getGameId())
+                pref.setGame(gameRepository.findActiveById(prefDto.getGameId())
                         .orElseThrow(() -> new RuntimeException("Game not found")));
                 pref.setWeight(prefDto.getWeight());
                 slot.getPreferences().add(pref);
@@ -69,11 +98,19 @@ public class AvailabilityService {
             slotRepository.save(slot);
         }
 
-        matchmakingService.runMatchmaking(); // Trigger matchmaking
+        resourceVersionService.availabilityChanged(userId);
         return mapToDto(slot);
     }
 
     public void deleteSlot(String slotId, String userId) {
+        transactionTemplate.executeWithoutResult(status -> removeSlot(slotId, userId));
+        matchmakingService.runMatchmaking(); // Trigger matchmaking
+    }
+
+    private void removeSlot(String slotId, String userId) {
+        // Same lock as the inserts and batches, so a concurrent write never checks against a half-deleted slot
+        userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
         AvailabilitySlot slot = slotRepository.findById(slotId)
                 .orElseThrow(() -> new RuntimeException("Slot not found"));
 
@@ -95,7 +132,209 @@ public class AvailabilityService {
         }
 
         slotRepository.delete(slot);
-        matchmakingService.runMatchmaking(); // Trigger matchmaking
+        resourceVersionService.availabilityChanged(userId);
+    }
+
+    /**
+     * Applies many creates, updates and deletes for one user in one
+     * transaction. Overlaps are checked in a single pass over the resulting
+     * slots, and matchmaking runs once afterwards, unless every changed
+     * interval has already ended. Returns the user's slots after the batch.
+     */
+    public List<AvailabilitySlotDto> applyBatch(String userId, AvailabilityBatchDto batch) {
+        List<AvailabilitySlotDto> creates = batch.getCreate() != null ? batch.getCreate() : List.of();
+        List<AvailabilitySlotDto> updates = batch.getUpdate() != null ? batch.getUpdate() : List.of();
+        List<String> deletes = batch.getDelete() != null ? batch.getDelete() : List.of();
+        if (creates.size() + updates.size() + deletes.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " changes per batch");
+        }
+
+        Interval changed = transactionTemplate.execute(status -> writeBatch(userId, creates, updates, deletes));
+
+        // Matchmaking only looks at slots that have not ended
+        if (changed != null && changed.getEnd().isAfter(DateUtils.now())) {
+            matchmakingService.runMatchmaking();
+        }
+        return getUserSlots(userId);
+    }
+
+    // The span of every interval the batch touched, or null when it changed nothing
+    private Interval writeBatch(String userId, List<AvailabilitySlotDto> creates, List<AvailabilitySlotDto> updates,
+            List<String> deletes) {
+        // Same lock as createSlot, so the slots checked here cannot change until the batch commits
+        User user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Map<String, AvailabilitySlot> slots = new HashMap<>();
+        for (AvailabilitySlot slot : slotRepository.findWithPreferencesByUserId(userId)) {
+            slots.put(slot.getId(), slot);
+        }
+        Map<String, Game> games = findActiveGames(creates, updates);
+
+        Set<String> touched = new HashSet<>();
+        List<Interval> released = new ArrayList<>();
+        List<Interval> changed = new ArrayList<>();
+
+        List<AvailabilitySlot> deleted = new ArrayList<>();
+        for (String id : deletes) {
+            AvailabilitySlot slot = ownedSlot(slots, id, touched);
+            slots.remove(id);
+            deleted.add(slot);
+            released.add(new Interval(slot.getStartTime(), slot.getEndTime()));
+        }
+        for (AvailabilitySlotDto dto : updates) {
+            AvailabilitySlot slot = ownedSlot(slots, dto.getId(), touched);
+            released.add(new Interval(slot.getStartTime(), slot.getEndTime()));
+            applyChanges(slot, dto, games);
+            changed.add(new Interval(slot.getStartTime(), slot.getEndTime()));
+        }
+        List<AvailabilitySlot> created = new ArrayList<>();
+        for (AvailabilitySlotDto dto : creates) {
+            AvailabilitySlot slot = new AvailabilitySlot();
+            slot.setUser(user);
+            applyChanges(slot, dto, games);
+            created.add(slot);
+            changed.add(new Interval(slot.getStartTime(), slot.getEndTime()));
+        }
+        changed.addAll(released);
+        if (changed.isEmpty()) {
+            return null;
+        }
+
+        List<AvailabilitySlot> result = new ArrayList<>(slots.values());
+        result.addAll(created);
+        checkNoOverlaps(result);
+
+        leaveSessionsNoLongerCovered(userId, released, result);
+        // Cascades to the per-slot preferences; inserts and deletes go out as JDBC batches
+        slotRepository.deleteAll(deleted);
+        slotRepository.saveAll(created);
+        resourceVersionService.availabilityChanged(userId);
+
+        return new Interval(
+                changed.stream().map(Interval::getStart).min(Comparator.naturalOrder()).orElseThrow(),
+                changed.stream().map(Interval::getEnd).max(Comparator.naturalOrder()).orElseThrow());
+    }
+
+    private static AvailabilitySlot ownedSlot(Map<String, AvailabilitySlot> slots, String id, Set<String> touched) {
+        if (id == null || !touched.add(id)) {
+            throw new IllegalArgumentException("Each slot can be updated or deleted once per batch");
+        }
+        AvailabilitySlot slot = slots.get(id);
+        if (slot == null) {
+            throw new RuntimeException("Slot not found");
+        }
+        return slot;
+    }
+
+    // Every game the batch names, in one lookup instead of one per slot and preference
+    private Map<String, Game> findActiveGames(List<AvailabilitySlotDto> creates, List<AvailabilitySlotDto> updates) {
+        Set<String> gameIds = new HashSet<>();
+        for (List<AvailabilitySlotDto> dtos : List.of(creates, updates)) {
+            for (AvailabilitySlotDto dto : dtos) {
+                if (dto.getGameId() != null) {
+                    gameIds.add(dto.getGameId());
+                }
+                if (dto.getPreferences() != null) {
+                    dto.getPreferences().forEach(preference -> gameIds.add(preference.getGameId()));
+                }
+            }
+        }
+        Map<String, Game> games = new HashMap<>();
+        for (Game game : gameRepository.findAllById(gameIds)) {
+            if (game.getDeletedAt() == null) {
+                games.put(game.getId(), game);
+            }
+        }
+        return games;
+    }
+
+    private static void applyChanges(AvailabilitySlot slot, AvailabilitySlotDto dto, Map<String, Game> games) {
+        if (dto.getStartTime() == null || dto.getEndTime() == null || !dto.getStartTime().isBefore(dto.getEndTime())) {
+            throw new IllegalArgumentException("Availability slot must end after it starts");
+        }
+        slot.setStartTime(dto.getStartTime().truncatedTo(ChronoUnit.SECONDS));
+        slot.setEndTime(dto.getEndTime().truncatedTo(ChronoUnit.SECONDS));
+        // Same as createSlot: an unknown game leaves the slot open to any game
+        slot.setGame(dto.getGameId() != null ? games.get(dto.getGameId()) : null);
+
+        slot.getPreferences().clear();
+        if (dto.getPreferences() != null) {
+            for (PreferenceDto preferenceDto : dto.getPreferences()) {
+                Game game = games.get(preferenceDto.getGameId());
+                if (game == null) {
+                    throw new RuntimeException("Game not found");
+                }
+                AvailabilityGamePreference preference = new AvailabilityGamePreference();
+                preference.setAvailabilitySlot(slot);
+                preference.setGame(game);
+                preference.setWeight(preferenceDto.getWeight());
+                slot.getPreferences().add(preference);
+            }
+        }
+    }
+
+    // One pass over the slots in start order: each must start after every earlier one has ended
+    private static void checkNoOverlaps(List<AvailabilitySlot> slots) {
+        slots.sort(Comparator.comparing(AvailabilitySlot::getStartTime));
+        LocalDateTime latestEnd = null;
+        for (AvailabilitySlot slot : slots) {
+            if (latestEnd != null && slot.getStartTime().isBefore(latestEnd)) {
+                throw new IllegalArgumentException("Overlapping availability slot exists");
+            }
+            if (latestEnd == null || slot.getEndTime().isAfter(latestEnd)) {
+                latestEnd = slot.getEndTime();
+            }
+        }
+    }
+
+    // Like deleteSlot, but keeps the user in sessions still inside one of their remaining slots
+    private void leaveSessionsNoLongerCovered(String userId, List<Interval> released, List<AvailabilitySlot> remaining) {
+        if (released.isEmpty()) {
+            return;
+        }
+        // A session spanning back-to-back slots is covered by their union, not by either slot
+        List<Interval> available = merged(remaining);
+        for (GameSession session : matchmakingService.findSessionsForUser(userId)) {
+            boolean lostSlot = released.stream().anyMatch(interval ->
+                    interval.getStart().isBefore(session.getEndTime())
+                            && session.getStartTime().isBefore(interval.getEnd()));
+            boolean stillCovered = available.stream().anyMatch(interval ->
+                    !interval.getStart().isAfter(session.getStartTime())
+                            && !interval.getEnd().isBefore(session.getEndTime()));
+            if (lostSlot && !stillCovered) {
+                matchmakingService.removePlayerFromSession(session.getId(), userId);
+            }
+        }
+    }
+
+    // The slots as contiguous intervals: sorted by start, joining slots that touch or overlap
+    private static List<Interval> merged(List<AvailabilitySlot> slots) {
+        List<AvailabilitySlot> sorted = new ArrayList<>(slots);
+        sorted.sort(Comparator.comparing(AvailabilitySlot::getStartTime));
+        List<Interval> intervals = new ArrayList<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (AvailabilitySlot slot : sorted) {
+            if (start != null && !slot.getStartTime().isAfter(end)) {
+                end = slot.getEndTime().isAfter(end) ? slot.getEndTime() : end;
+                continue;
+            }
+            if (start != null) {
+                intervals.add(new Interval(start, end));
+            }
+            start = slot.getStartTime();
+            end = slot.getEndTime();
+        }
+        if (start != null) {
+            intervals.add(new Interval(start, end));
+        }
+        return intervals;
+    }
+
+    @Value
+    private static class Interval {
+        LocalDateTime start;
+        LocalDateTime end;
     }
 
     private AvailabilitySlotDto mapToDto(AvailabilitySlot slot) {
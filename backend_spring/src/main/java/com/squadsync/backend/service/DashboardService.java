@@ -0,0 +1,100 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.dto.AvailabilitySlotDto;
+import com.squadsync.backend.dto.DashboardDto;
+import com.squadsync.backend.dto.GameDto;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.PreferenceDto;
+import com.squadsync.backend.dto.UserDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Loads the dashboard sections concurrently for one user. Each section is the
+ * same read-only service call its own endpoint makes, in its own transaction.
+ * The pool is small and its queue bounded; when both are full the request
+ * thread loads the section itself, so a burst degrades to sequential loading
+ * instead of queueing without limit or failing.
+ */
+@Service
+public class DashboardService {
+
+    private final AuthService authService;
+    private final GameService gameService;
+    private final MatchmakingService matchmakingService;
+    private final AvailabilityService availabilityService;
+    private final PreferenceService preferenceService;
+    private final ThreadPoolExecutor loader;
+
+    public DashboardService(
+            AuthService authService,
+            GameService gameService,
+            MatchmakingService matchmakingService,
+            AvailabilityService availabilityService,
+            PreferenceService preferenceService,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.loader.threads:4}") int threads,
+            @Value("${dashboard.loader.queue-capacity:100}") int queueCapacity) {
+        this.authService = authService;
+        this.gameService = gameService;
+        this.matchmakingService = matchmakingService;
+        this.availabilityService = availabilityService;
+        this.preferenceService = preferenceService;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.loader = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-loader-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("dashboard.loader.queue.size", loader, e -> e.getQueue().size())
+                .description("Dashboard sections waiting for a loader thread")
+                .register(meterRegistry);
+    }
+
+    public DashboardDto getDashboard(String userId) {
+        CompletableFuture<UserDto> user = load(() -> authService.getCurrentUser(userId));
+        CompletableFuture<List<GameDto>> games = load(gameService::getAllGames);
+        CompletableFuture<List<GameSessionDto>> sessions = load(matchmakingService::getUpcomingSessions);
+        CompletableFuture<List<AvailabilitySlotDto>> availability = load(
+                () -> availabilityService.getUserSlots(userId));
+        CompletableFuture<List<PreferenceDto>> preferences = load(
+                () -> preferenceService.getUserPreferences(userId));
+
+        try {
+            CompletableFuture.allOf(user, games, sessions, availability, preferences).join();
+        } catch (CompletionException e) {
+            // Surface the section's own exception so it maps to the same response as its endpoint
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+        return new DashboardDto(user.join(), games.join(), sessions.join(), availability.join(),
+                preferences.join());
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, loader);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+}
@@ -1,11 +1,14 @@
 package com.squadsync.backend.service;
 
+import com.squadsync.backend.event.GameSessionSnapshot;
 import com.squadsync.backend.model.GameSession;
-import com.squadsync.backend.model.GameSessionPlayer;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,11 +18,15 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@Slf4j
 public class DiscordBotService {
 
+    private static final int MAX_EMBED_FIELDS = 25;
+
     @Value("${discord.bot.token}")
     private String botToken;
 
@@ -46,24 +53,35 @@ public class DiscordBotService {
         }
     }
 
-    public void sendMatchmakingUpdates(List<GameSession> sessions) {
+    // Throws rather than skipping, so the notification channel counts the message as not delivered and retries
+    private TextChannel textChannel() {
         if (jda == null) {
-            System.out.println("JDA is not initialized. Cannot send updates.");
-            return;
+            throw new IllegalStateException("Discord bot is not running");
+        }
+        TextChannel channel = jda.getTextChannelById(defaultChannelId);
+        if (channel == null) {
+            throw new IllegalStateException("Discord channel not found: " + defaultChannelId);
         }
+        return channel;
+    }
+
+    public void sendMatchmakingUpdates(List<GameSession> sessions) {
+        sendSessionUpdates(sessions.stream().map(GameSessionSnapshot::of).toList());
+    }
+
+    public void sendPreliminarySessionNotifications(List<GameSession> sessions) {
+        sendPreliminaryNotifications(sessions.stream().map(GameSessionSnapshot::of).toList());
+    }
+
+    public void sendSessionUpdates(List<GameSessionSnapshot> sessions) {
         if (sessions == null || sessions.isEmpty()) {
             System.out.println("No sessions to report.");
             return;
         }
 
-        TextChannel channel = jda.getTextChannelById(defaultChannelId); // Use the configured channel
-        if (channel == null) {
-            System.err.println("Channel not found: " + defaultChannelId); // Retry lookup if null? mostly likely config
-                                                                          // error
-            return;
-        }
+        TextChannel channel = textChannel();
 
-        for (GameSession session : sessions) {
+        for (GameSessionSnapshot session : sessions) {
             EmbedBuilder embed = new EmbedBuilder();
 
             // Calculate status for display
@@ -74,11 +92,8 @@ public class DiscordBotService {
             // OR checks the status.
 
             // Re-implementing basic status check for display purposes:
-            long acceptedPlayers = session.getPlayers().stream()
-                    .filter(p -> p
-                            .getStatus() == GameSessionPlayer.SessionPlayerStatus.ACCEPTED)
-                    .count();
-            int minPlayers = Math.max(2, session.getGame().getMinPlayers());
+            long acceptedPlayers = session.getAcceptedPlayers();
+            int minPlayers = Math.max(2, session.getMinPlayers());
             boolean enoughPlayers = acceptedPlayers >= minPlayers;
             boolean startsSoon = session.getStartTime().isBefore(LocalDateTime.now().plusHours(1));
 
@@ -87,10 +102,10 @@ public class DiscordBotService {
             // Color based on status
             if (isConfirmed) {
                 embed.setColor(Color.GREEN);
-                embed.setTitle("✅ Sesión Confirmada: " + session.getGame().getTitle());
+                embed.setTitle("✅ Sesión Confirmada: " + session.getGameTitle());
             } else {
                 embed.setColor(Color.YELLOW);
-                embed.setTitle("⚠️ Sesión Preliminar: " + session.getGame().getTitle());
+                embed.setTitle("⚠️ Sesión Preliminar: " + session.getGameTitle());
             }
 
             // Description / Fields
@@ -110,29 +125,23 @@ public class DiscordBotService {
             if (isConfirmed) {
                 messageContent = "@here";
             }
-            channel.sendMessage(messageContent).setEmbeds(embed.build()).queue();
+            channel.sendMessage(messageContent).setEmbeds(embed.build()).complete();
             System.out.println("Sent update for session: " + session.getId());
         }
     }
 
-    public void sendPreliminarySessionNotifications(List<GameSession> sessions) {
-        if (jda == null)
-            return;
+    public void sendPreliminaryNotifications(List<GameSessionSnapshot> sessions) {
         if (sessions == null || sessions.isEmpty())
             return;
 
-        TextChannel channel = jda.getTextChannelById(defaultChannelId);
-        if (channel == null) {
-            System.err.println("Channel not found: " + defaultChannelId);
-            return;
-        }
+        TextChannel channel = textChannel();
 
-        for (GameSession session : sessions) {
+        for (GameSessionSnapshot session : sessions) {
             EmbedBuilder embed = new EmbedBuilder();
 
             // Orange for Preliminary
             embed.setColor(Color.ORANGE);
-            embed.setTitle("⚠️ Sesión Preliminar (Comienza pronto): " + session.getGame().getTitle());
+            embed.setTitle("⚠️ Sesión Preliminar (Comienza pronto): " + session.getGameTitle());
 
             // Description / Fields
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM HH:mm");
@@ -149,8 +158,8 @@ public class DiscordBotService {
 
             // Build mentions string
             StringBuilder mentions = new StringBuilder();
-            for (GameSessionPlayer player : session.getPlayers()) {
-                String discordId = player.getUser().getDiscordId();
+            for (GameSessionSnapshot.PlayerSnapshot player : session.getPlayers()) {
+                String discordId = player.getDiscordId();
 
                 if (discordId != null && !discordId.isBlank()) {
                     mentions.append("<@").append(discordId).append(">").append(" ");
@@ -159,11 +168,62 @@ public class DiscordBotService {
 
             String messageContent = mentions.toString().trim();
             if (messageContent.isEmpty()) {
-                channel.sendMessageEmbeds(embed.build()).queue();
+                channel.sendMessageEmbeds(embed.build()).complete();
             } else {
-                channel.sendMessage(messageContent).setEmbeds(embed.build()).queue();
+                channel.sendMessage(messageContent).setEmbeds(embed.build()).complete();
             }
             System.out.println("Sent preliminary notification for session: " + session.getId());
         }
     }
+
+    public void sendPreliminaryDigest(String discordId, List<GameSessionSnapshot> sessions) {
+        if (sessions == null || sessions.isEmpty())
+            return;
+
+        TextChannel channel = textChannel();
+
+        // Discord allows 25 fields per embed, and 10 embeds of 6000 characters in total per message
+        List<List<GameSessionSnapshot>> pages = new ArrayList<>();
+        for (int from = 0; from < sessions.size(); from += MAX_EMBED_FIELDS) {
+            pages.add(sessions.subList(from, Math.min(from + MAX_EMBED_FIELDS, sessions.size())));
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+        List<MessageEmbed> embeds = new ArrayList<>();
+        for (int page = 0; page < pages.size(); page++) {
+            EmbedBuilder embed = new EmbedBuilder();
+            embed.setColor(Color.ORANGE);
+            String title = "⚠️ Tus próximas sesiones preliminares (" + sessions.size() + ")";
+            embed.setTitle(pages.size() > 1 ? title + " " + (page + 1) + "/" + pages.size() : title);
+
+            for (GameSessionSnapshot session : pages.get(page)) {
+                long durationMinutes = Duration.between(session.getStartTime(), session.getEndTime()).toMinutes();
+                embed.addField(session.getGameTitle(),
+                        session.getStartTime().format(formatter) + " · " + durationMinutes + " minutos · "
+                                + session.getPlayers().size() + " jugadores",
+                        false);
+            }
+
+            if (page == pages.size() - 1) {
+                embed.setDescription("Acepta las sesiones **[aquí](" + frontendUrl + ")**");
+                embed.setTimestamp(Instant.now());
+            }
+            embeds.add(embed.build());
+        }
+
+        List<MessageEmbed> message = new ArrayList<>();
+        int length = 0;
+        for (MessageEmbed embed : embeds) {
+            if (!message.isEmpty() && (message.size() == Message.MAX_EMBED_COUNT
+                    || length + embed.getLength() > MessageEmbed.EMBED_MAX_LENGTH_BOT)) {
+                channel.sendMessage("<@" + discordId + ">").setEmbeds(message).complete();
+                message = new ArrayList<>();
+                length = 0;
+            }
+            message.add(embed);
+            length += embed.getLength();
+        }
+        channel.sendMessage("<@" + discordId + ">").setEmbeds(message).complete();
+        log.info("Sent preliminary digest with {} sessions to {}", sessions.size(), discordId);
+    }
 }
@@ -0,0 +1,181 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.dto.GameDeletionDto;
+import com.squadsync.backend.repository.AvailabilitySlotRepository;
+import com.squadsync.backend.repository.GameRepository;
+import com.squadsync.backend.repository.GameSessionRepository;
+import com.squadsync.backend.repository.UserGamePreferenceRepository;
+import com.squadsync.backend.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Removes soft-deleted games and everything referencing them. Dependents are
+ * deleted children first, a chunk of ids at a time with one bulk statement
+ * per table, and every chunk commits on its own so no transaction holds locks
+ * on more than {@code games.purge.chunk-size} rows. The game row goes last.
+ * A purge interrupted by a failure or a restart is resumed by the sweep.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class GamePurgeService {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private final GameRepository gameRepository;
+    private final GameSessionRepository sessionRepository;
+    private final AvailabilitySlotRepository slotRepository;
+    private final UserGamePreferenceRepository preferenceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceVersionService resourceVersionService;
+
+    // Latest progress per game; kept after completion so clients can read the outcome
+    private final Map<String, Progress> progress = new ConcurrentHashMap<>();
+
+    @Value("${games.purge.chunk-size:1000}")
+    private int chunkSize;
+
+    @Async
+    public void purgeAsync(String gameId) {
+        purge(gameId);
+    }
+
+    @Scheduled(fixedDelayString = "${games.purge.sweep-interval-ms:600000}")
+    public void purgeDeleted() {
+        for (String gameId : gameRepository.findDeletedIds()) {
+            purge(gameId);
+        }
+    }
+
+    /**
+     * Purges the game unless a purge of it is already running, and returns
+     * its final progress.
+     */
+    public GameDeletionDto purge(String gameId) {
+        Progress current = new Progress(gameId, STATUS_RUNNING);
+        Progress previous = progress.compute(gameId,
+                (id, existing) -> existing != null && STATUS_RUNNING.equals(existing.status) ? existing : current);
+        if (previous != current) {
+            return previous.toDto();
+        }
+
+        try {
+            Pageable chunk = PageRequest.of(0, chunkSize);
+            purgeInChunks(current, "game_sessions", id -> sessionRepository.findIdsByGameId(id, chunk), ids -> {
+                current.add("game_session_players", sessionRepository.deletePlayersBySessionIds(ids));
+                return sessionRepository.deleteByIds(ids);
+            });
+            purgeInChunks(current, "availability_slots", id -> slotRepository.findIdsByGameId(id, chunk), ids -> {
+                current.add("availability_game_preferences", slotRepository.deletePreferencesBySlotIds(ids));
+                return slotRepository.deleteByIds(ids);
+            });
+            purgeInChunks(current, "availability_game_preferences",
+                    id -> slotRepository.findPreferenceIdsByGameId(id, chunk), slotRepository::deletePreferencesByIds);
+            purgeInChunks(current, "user_game_preferences", id -> preferenceRepository.findIdsByGameId(id, chunk),
+                    ids -> {
+                        preferenceRepository.deleteAllByIdInBatch(ids);
+                        return ids.size();
+                    });
+
+            current.phase = "games";
+            // Removed as an entity so the second-level and query caches drop it too
+            transactionTemplate.executeWithoutResult(status -> gameRepository.findById(gameId).ifPresent(game -> {
+                gameRepository.delete(game);
+                current.add("games", 1);
+            }));
+            current.finish(STATUS_COMPLETED, null);
+            log.info("Purged game {}: {}", gameId, current.deletedRows);
+        } catch (RuntimeException e) {
+            current.finish(STATUS_FAILED, e.getMessage());
+            log.error("Purge of game {} failed in {}, it will be retried: {}", gameId, current.phase, e.getMessage());
+        }
+        // Even a failed purge has removed some rows
+        resourceVersionService.sessionsChanged();
+        resourceVersionService.allAvailabilityChanged();
+        resourceVersionService.allPreferencesChanged();
+        return current.toDto();
+    }
+
+    public Optional<GameDeletionDto> getProgress(String gameId) {
+        Progress current = progress.get(gameId);
+        if (current != null) {
+            return Optional.of(current.toDto());
+        }
+        // Deleted but not picked up yet, e.g. after a restart
+        return gameRepository.findById(gameId)
+                .filter(game -> game.getDeletedAt() != null)
+                .map(game -> new Progress(gameId, STATUS_PENDING).toDto());
+    }
+
+    private void purgeInChunks(Progress current, String table, Function<String, List<String>> nextChunk,
+            ToIntFunction<List<String>> delete) {
+        current.phase = table;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<String> ids = nextChunk.apply(current.gameId);
+                return ids.isEmpty() ? 0 : delete.applyAsInt(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                return;
+            }
+            current.add(table, deleted);
+        }
+    }
+
+    private static class Progress {
+        private final String gameId;
+        private final Map<String, Long> deletedRows = new ConcurrentHashMap<>();
+        private final LocalDateTime startedAt = DateUtils.now();
+        private volatile String status;
+        private volatile String phase;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Progress(String gameId, String status) {
+            this.gameId = gameId;
+            this.status = status;
+        }
+
+        private void add(String table, long rows) {
+            deletedRows.merge(table, rows, Long::sum);
+        }
+
+        private void finish(String status, String error) {
+            this.status = status;
+            this.error = error;
+            this.finishedAt = DateUtils.now();
+        }
+
+        private GameDeletionDto toDto() {
+            GameDeletionDto dto = new GameDeletionDto();
+            dto.setGameId(gameId);
+            dto.setStatus(status);
+            dto.setPhase(phase);
+            dto.setDeletedRows(new LinkedHashMap<>(deletedRows));
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
@@ -1,28 +1,36 @@
 package com.squadsync.backend.service;
 
+import com.squadsync.backend.config.ReplicaRoutingDataSource;
+import com.squadsync.backend.dto.GameDeletionDto;
 import com.squadsync.backend.dto.GameDto;
 import com.squadsync.backend.model.Game;
 import com.squadsync.backend.repository.GameRepository;
+import com.squadsync.backend.util.DateUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class GameService {
 
     private final GameRepository gameRepository;
+    private final GamePurgeService gamePurgeService;
+    private final ResourceVersionService resourceVersionService;
+    private final SessionChangeLog sessionChangeLog;
 
+    // Query-cached, so read on the primary until the replica has the last game change: the cache would
+    // otherwise keep a lagging replica's list as current
+    @Transactional(readOnly = true)
     public List<GameDto> getAllGames() {
-        return gameRepository.findAll().stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return ReplicaRoutingDataSource.freshAsOf(resourceVersionService.gamesChangedAt(),
+                gameRepository::findAllDtos);
     }
 
     public GameDto getGameById(String id) {
-        return gameRepository.findById(id)
+        return gameRepository.findActiveById(id)
                 .map(this::mapToDto)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
     }
@@ -36,15 +44,35 @@ public class GameService {
         game.setCoverImageUrl(gameDto.getCoverImageUrl());
 
         gameRepository.save(game);
+        resourceVersionService.gamesChanged();
         return mapToDto(game);
     }
 
-    public void deleteGame(String id) {
-        gameRepository.deleteById(id);
+    /**
+     * Hides the game at once and leaves its rows to a background purge;
+     * removing a popular game's sessions, slots and preferences in the
+     * request would hold locks on all of them.
+     */
+    public GameDeletionDto deleteGame(String id) {
+        Game game = gameRepository.findActiveById(id)
+                .orElseThrow(() -> new RuntimeException("Game not found"));
+        game.setDeletedAt(DateUtils.now());
+        gameRepository.save(game);
+        resourceVersionService.gamesChanged();
+        resourceVersionService.sessionsChanged();
+        sessionChangeLog.reset();
+
+        gamePurgeService.purgeAsync(id);
+        return gamePurgeService.getProgress(id).orElseThrow();
+    }
+
+    public GameDeletionDto getDeletionProgress(String id) {
+        return gamePurgeService.getProgress(id)
+                .orElseThrow(() -> new RuntimeException("No deletion in progress for this game"));
     }
 
     public GameDto updateGame(String id, GameDto gameDto) {
-        Game game = gameRepository.findById(id)
+        Game game = gameRepository.findActiveById(id)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
         game.setTitle(gameDto.getTitle());
@@ -54,6 +82,10 @@ public class GameService {
         game.setCoverImageUrl(gameDto.getCoverImageUrl());
 
         gameRepository.save(game);
+        resourceVersionService.gamesChanged();
+        // Sessions embed the game's title and cover
+        resourceVersionService.sessionsChanged();
+        sessionChangeLog.reset();
         return mapToDto(game);
     }
 
@@ -1,32 +1,42 @@
 package com.squadsync.backend.service;
 
-import com.squadsync.backend.event.GameSessionUpdatedEvent;
-import com.squadsync.backend.model.AvailabilitySlot;
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
 import com.squadsync.backend.model.GameSession;
 import com.squadsync.backend.model.GameSessionPlayer;
 import com.squadsync.backend.model.User;
 import com.squadsync.backend.repository.AvailabilitySlotRepository;
 import com.squadsync.backend.repository.GameSessionRepository;
 import com.squadsync.backend.repository.UserRepository;
+import com.squadsync.backend.util.DateUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class GameSessionService {
 
+    // A session with enough accepted players is confirmed once it starts within this window
+    public static final Duration CONFIRMATION_WINDOW = Duration.ofHours(1);
+
     private final GameSessionRepository sessionRepository;
     private final AvailabilitySlotRepository availabilitySlotRepository;
     private final UserRepository userRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional
     public void acceptSession(String sessionId, String userId) {
@@ -51,12 +61,18 @@ public class GameSessionService {
             session.getPlayers().add(newPlayer);
         }
 
-        sessionRepository.save(session);
-        eventPublisher.publishEvent(new GameSessionUpdatedEvent(this, session));
+        sessionRepository.saveAndFlush(session);
+        eventPublisher.publishEvent(GameSessionsChangedEvent.of(this, List.of(session), Collections.emptyList()));
     }
 
     @Transactional
     public void rejectSession(String sessionId, String userId, String reason) {
+        boolean notAvailable = "NOT_AVAILABLE".equals(reason);
+        if (notAvailable) {
+            // Same lock as the availability writes, taken before the session like there
+            userRepository.findByIdForUpdate(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        }
         GameSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
@@ -68,19 +84,15 @@ public class GameSessionService {
         player.setStatus(GameSessionPlayer.SessionPlayerStatus.REJECTED);
         player.setRejectionReason(reason);
 
-        if ("NOT_AVAILABLE".equals(reason)) {
-            // Remove availability slot
-            List<AvailabilitySlot> slots = availabilitySlotRepository.findByUserId(userId);
-            for (AvailabilitySlot slot : slots) {
-                // Check overlap with session
-                if (slot.getStartTime().isBefore(session.getEndTime()) &&
-                        slot.getEndTime().isAfter(session.getStartTime())) {
-                    availabilitySlotRepository.delete(slot);
-                }
-            }
+        if (notAvailable) {
+            // Remove the availability slots overlapping the session
+            availabilitySlotRepository.deleteAll(availabilitySlotRepository.findOverlapping(userId,
+                    session.getStartTime(), session.getEndTime()));
+            resourceVersionService.availabilityChanged(userId);
         }
 
-        sessionRepository.save(session);
+        sessionRepository.saveAndFlush(session);
+        eventPublisher.publishEvent(GameSessionsChangedEvent.of(this, List.of(session), Collections.emptyList()));
     }
 
     public GameSession.SessionStatus getSessionStatus(GameSession session) {
@@ -88,11 +100,25 @@ public class GameSessionService {
                 .filter(p -> p.getStatus() == GameSessionPlayer.SessionPlayerStatus.ACCEPTED)
                 .count();
 
-        int minPlayers = Math.max(2, session.getGame().getMinPlayers());
+        return resolveStatus(acceptedPlayers, session.getGame().getMinPlayers(), session.getStartTime());
+    }
+
+    public GameSession.SessionStatus getSessionStatus(GameSessionSnapshot snapshot) {
+        return resolveStatus(snapshot.getAcceptedPlayers(), snapshot.getMinPlayers(), snapshot.getStartTime());
+    }
+
+    public GameSession.SessionStatus getSessionStatus(long acceptedPlayers, int gameMinPlayers,
+            LocalDateTime startTime) {
+        return resolveStatus(acceptedPlayers, gameMinPlayers, startTime);
+    }
+
+    private GameSession.SessionStatus resolveStatus(long acceptedPlayers, int gameMinPlayers,
+            LocalDateTime startTime) {
+        int minPlayers = Math.max(2, gameMinPlayers);
         boolean enoughPlayers = acceptedPlayers >= minPlayers;
 
-        LocalDateTime now = LocalDateTime.now();
-        boolean startsSoon = session.getStartTime().isBefore(now.plusHours(1));
+        LocalDateTime now = DateUtils.now();
+        boolean startsSoon = startTime.isBefore(now.plus(CONFIRMATION_WINDOW));
 
         if (enoughPlayers && startsSoon) {
             return GameSession.SessionStatus.CONFIRMED;
@@ -101,12 +127,35 @@ public class GameSessionService {
         return GameSession.SessionStatus.PRELIMINARY;
     }
 
+    /**
+     * Current snapshots of the given sessions; ids of deleted sessions are
+     * skipped. Not read-only, so it reads the primary: the caller compares
+     * notification statuses written moments ago.
+     */
+    @Transactional
+    public List<GameSessionSnapshot> getSnapshots(Collection<String> sessionIds) {
+        if (sessionIds.isEmpty()) {
+            return List.of();
+        }
+        return sessionRepository.findByIdIn(sessionIds).stream()
+                .map(GameSessionSnapshot::of)
+                .toList();
+    }
+
     @Transactional
     public void updateNotificationStatus(String sessionId, GameSession.NotificationStatus status) {
-        GameSession session = sessionRepository.findById(sessionId).orElse(null);
-        if (session != null) {
-            session.setNotificationStatus(status);
-            sessionRepository.save(session);
+        sessionRepository.updateNotificationStatus(List.of(sessionId), status);
+    }
+
+    @Transactional
+    public void updateNotificationStatuses(Map<String, GameSession.NotificationStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
         }
+        // One bulk update per status; sessions deleted meanwhile simply match no row
+        statuses.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((status, ids) -> sessionRepository.updateNotificationStatus(ids, status));
     }
 }
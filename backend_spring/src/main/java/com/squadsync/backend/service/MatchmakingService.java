@@ -3,7 +3,10 @@ package com.squadsync.backend.service;
 import com.squadsync.backend.dto.GameDto;
 import com.squadsync.backend.dto.GameSessionDto;
 import com.squadsync.backend.dto.GameSessionPlayerDto;
-import com.squadsync.backend.event.GameSessionUpdatedEvent;
+import com.squadsync.backend.dto.SessionDeltaDto;
+import com.squadsync.backend.dto.SessionFields;
+import com.squadsync.backend.dto.SessionPageDto;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
 import com.squadsync.backend.model.AvailabilityGamePreference;
 import com.squadsync.backend.model.AvailabilitySlot;
 import com.squadsync.backend.model.Game;
@@ -13,7 +16,12 @@ import com.squadsync.backend.model.UserGamePreference;
 import com.squadsync.backend.repository.AvailabilitySlotRepository;
 import com.squadsync.backend.repository.GameRepository;
 import com.squadsync.backend.repository.GameSessionRepository;
+import com.squadsync.backend.repository.SessionSearch;
+import com.squadsync.backend.repository.projection.SessionPlayerCount;
+import com.squadsync.backend.repository.projection.SessionPlayerSummary;
+import com.squadsync.backend.repository.projection.SessionSummary;
 import com.squadsync.backend.repository.UserGamePreferenceRepository;
+import com.squadsync.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -21,20 +29,27 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 
 import com.squadsync.backend.util.DateUtils;
 
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,11 +61,16 @@ public class MatchmakingService {
     private final GameRepository gameRepository;
     private final UserGamePreferenceRepository preferenceRepository;
     private final GameSessionRepository sessionRepository;
+    private final UserRepository userRepository;
 
     private final GameSessionService gameSessionService;
+    private final AvailabilityRuleExpander ruleExpander;
+    private final SessionChangeLog sessionChangeLog;
     private final ApplicationEventPublisher eventPublisher;
 
     private static final int MIN_PLAYERS_FOR_SESSION = 2;
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
     private static final int MAX_SESSION_DURATION_MINUTES = 240;
     private static final int MIN_SESSION_DURATION_MINUTES = 59;
     private static final int DEFAULT_PREFERENCE_WEIGHT = 5;
@@ -68,10 +88,13 @@ public class MatchmakingService {
         List<GameSession> preliminarySessions = new ArrayList<>();
         categorizeSessions(activeSessions, confirmedSessions, preliminarySessions);
 
-        // 2. Fetch and filter availability slots
-        List<AvailabilitySlot> slots = slotRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(now);
+        // 2. Fetch and filter availability slots, including the occurrences of recurring rules
+        List<AvailabilitySlot> slots = new ArrayList<>(slotRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(now));
+        slots.addAll(ruleSlots(now));
+        slots.sort(Comparator.comparing(AvailabilitySlot::getStartTime));
         if (slots.isEmpty()) {
-            handleNoAvailability(preliminarySessions);
+            List<String> removedSessionIds = handleNoAvailability(preliminarySessions);
+            publishSessionsChanged(Collections.emptyList(), removedSessionIds);
             return mapSessionsToDto(confirmedSessions);
         }
 
@@ -82,7 +105,8 @@ public class MatchmakingService {
         log.info("Found {} viable time slots", viableSlots.size());
 
         // 3. Generate potential sessions
-        List<GameSession> potentialSessions = generatePotentialSessions(viableSlots, preliminarySessions);
+        List<GameSession> potentialSessions = generatePotentialSessions(viableSlots, preliminarySessions,
+                new Candidates(availableSlots));
 
         // 4. Sort sessions by priority
         sortSessionsByPriority(potentialSessions);
@@ -91,13 +115,15 @@ public class MatchmakingService {
         List<GameSession> selectedSessions = selectNonConflictingSessions(potentialSessions);
 
         // 6. Cleanup obsolete sessions
-        cleanupObsoleteSessions(preliminarySessions, selectedSessions);
+        List<String> removedSessionIds = cleanupObsoleteSessions(preliminarySessions, selectedSessions);
 
         // 7. Save and Notify
         log.info("Selected {} sessions", selectedSessions.size());
         List<GameSession> savedSessions = sessionRepository.saveAll(selectedSessions);
+        // Flush so the snapshots carry the versions that are about to be committed
+        sessionRepository.flush();
 
-        notifySessions(confirmedSessions, savedSessions);
+        notifySessions(confirmedSessions, savedSessions, removedSessionIds);
 
         // 8. Construct Result
         List<GameSessionDto> result = new ArrayList<>();
@@ -121,15 +147,34 @@ public class MatchmakingService {
         }
     }
 
-    private void handleNoAvailability(List<GameSession> preliminarySessions) {
+    private List<String> handleNoAvailability(List<GameSession> preliminarySessions) {
         // No availability, so no *new* sessions can be formed.
         // Existing preliminary sessions rely on availability, so they are likely
         // invalid.
-        sessionRepository.deleteAll(preliminarySessions);
+        List<String> removedSessionIds = preliminarySessions.stream()
+                .map(GameSession::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        sessionRepository.deleteSessionsInBatch(removedSessionIds);
+        return removedSessionIds;
+    }
+
+    // Recurring availability enters the run as unsaved slots, without per-slot overrides
+    private List<AvailabilitySlot> ruleSlots(LocalDateTime now) {
+        List<AvailabilitySlot> slots = new ArrayList<>();
+        for (AvailabilityRuleExpander.Occurrence occurrence : ruleExpander.occurrencesAfter(now)) {
+            AvailabilitySlot slot = new AvailabilitySlot();
+            slot.setId(occurrence.getSlotId());
+            slot.setUser(userRepository.getReferenceById(occurrence.getUserId()));
+            slot.setStartTime(occurrence.getStart());
+            slot.setEndTime(occurrence.getEnd());
+            slots.add(slot);
+        }
+        return slots;
     }
 
     private List<GameSession> generatePotentialSessions(List<TimeSlot> viableSlots,
-            List<GameSession> preliminarySessions) {
+            List<GameSession> preliminarySessions, Candidates candidates) {
         // Map preliminary sessions by signature for reuse
         Map<String, GameSession> existingSessionsMap = new HashMap<>();
         for (GameSession session : preliminarySessions) {
@@ -138,7 +183,7 @@ public class MatchmakingService {
 
         List<GameSession> potentialSessions = new ArrayList<>();
         for (TimeSlot slot : viableSlots) {
-            GameSession candidateRequest = createSessionForSlot(slot);
+            GameSession candidateRequest = createSessionForSlot(slot, candidates);
 
             if (candidateRequest != null) {
                 String signature = generateSessionSignature(candidateRequest);
@@ -217,7 +262,8 @@ public class MatchmakingService {
         return selectedSessions;
     }
 
-    private void cleanupObsoleteSessions(List<GameSession> preliminarySessions, List<GameSession> selectedSessions) {
+    private List<String> cleanupObsoleteSessions(List<GameSession> preliminarySessions,
+            List<GameSession> selectedSessions) {
         Set<String> selectedSessionIds = selectedSessions.stream()
                 .map(GameSession::getId)
                 .filter(Objects::nonNull)
@@ -230,38 +276,48 @@ public class MatchmakingService {
             }
         }
 
-        if (!sessionsToDelete.isEmpty()) {
-            sessionRepository.deleteAll(sessionsToDelete);
-            log.info("Deleted {} obsolete PRELIMINARY sessions", sessionsToDelete.size());
+        List<String> removedSessionIds = sessionsToDelete.stream()
+                .map(GameSession::getId)
+                .collect(Collectors.toList());
+        if (!removedSessionIds.isEmpty()) {
+            // Set-based: one statement for the players and one for the sessions
+            sessionRepository.deleteSessionsInBatch(removedSessionIds);
+            log.info("Deleted {} obsolete PRELIMINARY sessions", removedSessionIds.size());
         }
+        return removedSessionIds;
     }
 
-    private void notifySessions(List<GameSession> confirmedSessions, List<GameSession> savedSessions) {
+    private void notifySessions(List<GameSession> confirmedSessions, List<GameSession> savedSessions,
+            List<String> removedSessionIds) {
         List<GameSession> allSessionsToNotify = new ArrayList<>();
         allSessionsToNotify.addAll(confirmedSessions);
         allSessionsToNotify.addAll(savedSessions);
-        checkAndNotifyPreliminary(allSessionsToNotify);
+        publishSessionsChanged(allSessionsToNotify, removedSessionIds);
     }
 
     private List<GameSessionDto> mapSessionsToDto(List<GameSession> sessions) {
         return sessions.stream().map(this::mapToDto).collect(Collectors.toList());
     }
 
-    private void checkAndNotifyPreliminary(List<GameSession> sessions) {
-        // Just trigger event for each session, allowing Listener to handle notification
-        // logic
-        for (GameSession session : sessions) {
-            eventPublisher.publishEvent(new GameSessionUpdatedEvent(this, session));
+    private void publishSessionsChanged(List<GameSession> sessions, List<String> removedSessionIds) {
+        // One event per run carrying snapshots, allowing Listener to handle notification
+        // logic after commit without touching the entities
+        GameSessionsChangedEvent event = GameSessionsChangedEvent.of(this, sessions, removedSessionIds);
+        if (!event.isEmpty()) {
+            eventPublisher.publishEvent(event);
         }
     }
 
+    // Not read-only, so it reads the primary: notifications are decided on statuses written moments ago,
+    // and a lagging replica would announce sessions again
     @Scheduled(cron = "0 1,31 * * * *")
+    @Transactional
     public void checkUpcomingPreliminarySessions() {
         log.info("Running scheduled check for upcoming preliminary sessions...");
         LocalDateTime now = DateUtils.now();
         List<GameSession> activeSessions = sessionRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(now);
 
-        checkAndNotifyPreliminary(activeSessions);
+        publishSessionsChanged(activeSessions, Collections.emptyList());
     }
 
     private List<AvailabilitySlot> filterAvailableSlots(List<AvailabilitySlot> slots,
@@ -427,15 +483,21 @@ public class MatchmakingService {
         return finalSlots;
     }
 
-    private GameSession createSessionForSlot(TimeSlot timeSlot) {
-        List<Game> games = gameRepository.findAll();
+    private GameSession createSessionForSlot(TimeSlot timeSlot, Candidates candidates) {
+        List<Game> games = candidates.games;
         if (games.isEmpty())
             return null;
 
-        List<AvailabilitySlot> slots = slotRepository.findAllById(timeSlot.getSlotIds());
-        List<String> userIds = slots.stream().map(s -> s.getUser().getId()).collect(Collectors.toList());
+        // One slot per user: a merged time slot can span adjacent slots or rule occurrences of the same user
+        Map<String, AvailabilitySlot> slotsByUser = new LinkedHashMap<>();
+        for (String slotId : timeSlot.getSlotIds()) {
+            AvailabilitySlot slot = candidates.slotsById.get(slotId);
+            if (slot != null) {
+                slotsByUser.putIfAbsent(slot.getUser().getId(), slot);
+            }
+        }
+        List<AvailabilitySlot> slots = new ArrayList<>(slotsByUser.values());
 
-        List<UserGamePreference> globalPreferences = preferenceRepository.findByUserIdIn(userIds);
         List<GameScore> gameScores = new ArrayList<>();
 
         for (Game game : games) {
@@ -454,12 +516,7 @@ public class MatchmakingService {
                     weight = override.get().getWeight();
                 } else {
                     // Fallback to global preference
-                    weight = globalPreferences.stream()
-                            .filter(p -> p.getUser().getId().equals(slot.getUser().getId())
-                                    && p.getGame().getId().equals(game.getId()))
-                            .findFirst()
-                            .map(UserGamePreference::getWeight)
-                            .orElse(DEFAULT_PREFERENCE_WEIGHT);
+                    weight = candidates.globalWeight(slot.getUser().getId(), game.getId());
                 }
 
                 if (weight > 0) {
@@ -493,12 +550,7 @@ public class MatchmakingService {
             if (override.isPresent()) {
                 weight = override.get().getWeight();
             } else {
-                weight = globalPreferences.stream()
-                        .filter(p -> p.getUser().getId().equals(slot.getUser().getId())
-                                && p.getGame().getId().equals(bestGame.game.getId()))
-                        .findFirst()
-                        .map(UserGamePreference::getWeight)
-                        .orElse(DEFAULT_PREFERENCE_WEIGHT);
+                weight = candidates.globalWeight(slot.getUser().getId(), bestGame.game.getId());
             }
 
             if (weight > 0) {
@@ -545,12 +597,196 @@ public class MatchmakingService {
         return session;
     }
 
+    @Transactional(readOnly = true)
     public List<GameSessionDto> getUpcomingSessions() {
-        return sessionRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(DateUtils.now())
-                .stream()
-                .filter(session -> session.getEndTime().isAfter(DateUtils.now()))
-                .map(this::mapToDto)
+        return getUpcomingSessions(SessionFields.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameSessionDto> getUpcomingSessions(SessionFields fields) {
+        // Projections: only the columns the DTO needs, nothing managed or dirty-checked
+        // The query already keeps only sessions ending after now
+        return mapSummariesToDto(sessionRepository.findUpcomingSummaries(DateUtils.now()), fields);
+    }
+
+    /**
+     * One page of sessions matching the filters, in start order. Without
+     * {@code from} only sessions that have not ended are returned. Pages are
+     * keyset based: {@code cursor} is the previous page's {@code nextCursor}.
+     */
+    @Transactional(readOnly = true)
+    public SessionPageDto searchSessions(String gameId, String playerId, GameSession.SessionStatus status,
+            LocalDateTime from, LocalDateTime to, String cursor, int limit, SessionFields fields) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime now = DateUtils.now();
+        LocalDateTime afterStartTime = null;
+        String afterId = null;
+        if (cursor != null) {
+            String[] position = decodeCursor(cursor);
+            afterStartTime = LocalDateTime.parse(position[0]);
+            afterId = position[1];
+        }
+        SessionSearch search = new SessionSearch(gameId, playerId, status, from != null ? from : now, to,
+                now.plus(GameSessionService.CONFIRMATION_WINDOW), afterStartTime, afterId);
+
+        // One extra row tells whether there is a next page without a count query
+        List<SessionSummary> rows = sessionRepository.searchSummaries(search, limit + 1);
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            SessionSummary last = rows.get(limit - 1);
+            nextCursor = encodeCursor(last.getStartTime(), last.getId());
+        }
+        return new SessionPageDto(mapSummariesToDto(rows, fields), nextCursor);
+    }
+
+    private static String encodeCursor(LocalDateTime startTime, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startTime + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\|", 2);
+            if (position.length == 2) {
+                LocalDateTime.parse(position[0]);
+                UUID.fromString(position[1]);
+                return position;
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Not one of ours; same error as a malformed one
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+
+    /**
+     * Upcoming sessions changed or removed after {@code since}, or all of them
+     * with {@code reset} when the change log no longer covers that version.
+     */
+    @Transactional(readOnly = true)
+    public SessionDeltaDto getSessionsSince(long since) {
+        return getSessionsSince(since, SessionFields.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public SessionDeltaDto getSessionsSince(long since, SessionFields fields) {
+        Optional<SessionChangeLog.Changes> logged = sessionChangeLog.changesSince(since);
+        if (logged.isEmpty()) {
+            // Read before the data, so the list is at least as new as the version
+            long version = sessionChangeLog.getVersion();
+            return new SessionDeltaDto(getUpcomingSessions(fields), new ArrayList<>(), version, true);
+        }
+
+        SessionChangeLog.Changes changes = logged.get();
+        LocalDateTime now = DateUtils.now();
+        Set<String> removed = new HashSet<>(changes.getRemovedIds());
+        removed.addAll(sessionRepository.findIdsEndedBetween(changes.getSinceTime(), now));
+        Set<String> changed = new HashSet<>(changes.getChangedIds());
+        // Statuses also change with the clock, when a session enters the confirmation window
+        changed.addAll(sessionRepository.findIdsStartingBetween(
+                changes.getSinceTime().plus(GameSessionService.CONFIRMATION_WINDOW),
+                now.plus(GameSessionService.CONFIRMATION_WINDOW)));
+        changed.removeAll(removed);
+
+        List<GameSessionDto> sessions = getSessions(changed, fields).stream()
+                .filter(session -> session.getEndTime().isAfter(now))
                 .collect(Collectors.toList());
+        return new SessionDeltaDto(sessions, new ArrayList<>(removed), changes.getVersion(), false);
+    }
+
+    /**
+     * The given sessions as the list endpoint returns them, in start order.
+     * Ids that no longer exist are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<GameSessionDto> getSessions(Collection<String> sessionIds) {
+        return getSessions(sessionIds, SessionFields.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GameSessionDto> getSessions(Collection<String> sessionIds, SessionFields fields) {
+        if (sessionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return mapSummariesToDto(sessionRepository.findSummariesByIds(sessionIds), fields);
+    }
+
+    private List<GameSessionDto> mapSummariesToDto(List<SessionSummary> sessions, SessionFields fields) {
+        if (sessions.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Only the player data the requested fields need: one row per player, totals per session, or nothing
+        List<String> sessionIds = sessions.stream().map(SessionSummary::getId).collect(Collectors.toList());
+        Map<String, List<SessionPlayerSummary>> playersBySession = Map.of();
+        Map<String, SessionPlayerCount> countsBySession = Map.of();
+        if (fields.needsPlayers()) {
+            playersBySession = sessionRepository.findPlayerSummaries(sessionIds).stream()
+                    .collect(Collectors.groupingBy(SessionPlayerSummary::getSessionId));
+        } else if (fields.needsPlayerCounts()) {
+            countsBySession = sessionRepository.findPlayerCounts(sessionIds).stream()
+                    .collect(Collectors.toMap(SessionPlayerCount::getSessionId, count -> count));
+        }
+
+        List<GameSessionDto> dtos = new ArrayList<>(sessions.size());
+        for (SessionSummary session : sessions) {
+            dtos.add(mapToDto(session, playersBySession.getOrDefault(session.getId(), List.of()),
+                    countsBySession.get(session.getId()), fields));
+        }
+        return dtos;
+    }
+
+    private GameSessionDto mapToDto(SessionSummary session, List<SessionPlayerSummary> players,
+            SessionPlayerCount counts, SessionFields fields) {
+        GameSessionDto dto = new GameSessionDto();
+        dto.setId(session.getId());
+        dto.setGameId(session.getGameId());
+        dto.setStartTime(session.getStartTime());
+        dto.setEndTime(session.getEndTime());
+        dto.setSessionScore(session.getSessionScore());
+        dto.setCreatedAt(session.getCreatedAt());
+
+        long acceptedPlayers;
+        if (counts != null) {
+            acceptedPlayers = counts.getAccepted();
+            dto.setPlayerCount(counts.getPlayers().intValue());
+        } else {
+            acceptedPlayers = players.stream()
+                    .filter(p -> p.getStatus() == GameSessionPlayer.SessionPlayerStatus.ACCEPTED)
+                    .count();
+            dto.setPlayerCount(players.size());
+        }
+        if (fields.includes("status")) {
+            dto.setStatus(gameSessionService
+                    .getSessionStatus(acceptedPlayers, session.getGameMinPlayers(), session.getStartTime()).name());
+        }
+
+        if (fields.includes("game")) {
+            GameDto gameDto = new GameDto();
+            gameDto.setId(session.getGameId());
+            gameDto.setTitle(session.getGameTitle());
+            gameDto.setCoverImageUrl(session.getGameCoverImageUrl());
+            dto.setGame(gameDto);
+        }
+
+        if (!fields.needsPlayers()) {
+            return dto;
+        }
+        dto.setPlayerIds(players.stream().map(SessionPlayerSummary::getUserId).collect(Collectors.toList()));
+        dto.setPlayers(players.stream()
+                .map(p -> {
+                    GameSessionPlayerDto u = new GameSessionPlayerDto();
+                    u.setUserId(p.getUserId());
+                    u.setUsername(p.getUsername());
+                    u.setAvatarColor(p.getAvatarColor());
+                    u.setStatus(p.getStatus().name());
+                    return u;
+                })
+                .collect(Collectors.toList()));
+        return dto;
     }
 
     private GameSessionDto mapToDto(GameSession session) {
@@ -577,6 +813,7 @@ public class MatchmakingService {
                 .map(p -> p.getUser().getId())
                 .collect(Collectors.toList());
         dto.setPlayerIds(playerIds);
+        dto.setPlayerCount(playerIds.size());
 
         List<GameSessionPlayerDto> players = session.getPlayers().stream()
                 .map(p -> {
@@ -615,6 +852,30 @@ public class MatchmakingService {
         }
     }
 
+    // Everything session scoring reads, loaded once per run instead of once per time slot
+    private class Candidates {
+        final List<Game> games;
+        final Map<String, AvailabilitySlot> slotsById = new HashMap<>();
+        final Map<String, Map<String, Integer>> globalWeights = new HashMap<>();
+
+        Candidates(List<AvailabilitySlot> slots) {
+            games = gameRepository.findAllActive();
+            Set<String> userIds = new HashSet<>();
+            for (AvailabilitySlot slot : slots) {
+                slotsById.put(slot.getId(), slot);
+                userIds.add(slot.getUser().getId());
+            }
+            for (UserGamePreference preference : preferenceRepository.findByUserIdIn(new ArrayList<>(userIds))) {
+                globalWeights.computeIfAbsent(preference.getUser().getId(), id -> new HashMap<>())
+                        .putIfAbsent(preference.getGame().getId(), preference.getWeight());
+            }
+        }
+
+        int globalWeight(String userId, String gameId) {
+            return globalWeights.getOrDefault(userId, Map.of()).getOrDefault(gameId, DEFAULT_PREFERENCE_WEIGHT);
+        }
+    }
+
     private static class GameScore {
         Game game;
         int score;
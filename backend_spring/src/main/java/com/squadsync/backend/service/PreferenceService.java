@@ -9,9 +9,9 @@ import com.squadsync.backend.repository.UserGamePreferenceRepository;
 import com.squadsync.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,17 +21,17 @@ public class PreferenceService {
     private final UserRepository userRepository;
     private final GameRepository gameRepository;
     private final MatchmakingService matchmakingService;
+    private final ResourceVersionService resourceVersionService;
 
+    @Transactional(readOnly = true)
     public List<PreferenceDto> getUserPreferences(String userId) {
-        return preferenceRepository.findByUserId(userId).stream()
-                .map(this::mapToDto)
-                .collect(Collectors.toList());
+        return preferenceRepository.findDtosByUserId(userId);
     }
 
     public PreferenceDto updatePreference(String userId, PreferenceDto dto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        Game game = gameRepository.findById(dto.getGameId())
+        Game game = gameRepository.findActiveById(dto.getGameId())
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
         UserGamePreference preference = preferenceRepository.findByUserIdAndGameId(userId, dto.getGameId())
@@ -42,6 +42,7 @@ public class PreferenceService {
         preference.setWeight(dto.getWeight());
 
         preferenceRepository.save(preference);
+        resourceVersionService.preferencesChanged(userId);
         matchmakingService.runMatchmaking(); // Trigger matchmaking
         return mapToDto(preference);
     }
@@ -0,0 +1,107 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.config.InvalidTokenException;
+import com.squadsync.backend.model.RefreshToken;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.repository.RefreshTokenRepository;
+import com.squadsync.backend.util.DateUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Each login starts a token family; every
+ * refresh consumes the presented token and issues the next one in the same
+ * family. Presenting an already consumed token means it was copied, so the
+ * whole family is revoked.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    @Transactional
+    public String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(DateUtils.now().plus(Duration.ofMillis(refreshExpiration)));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    public String newFamily() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Marks the token as used and returns it, so the caller can issue the next
+     * token of the family. The revocation on reuse must survive the exception.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public RefreshToken consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+
+        LocalDateTime now = DateUtils.now();
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token expired");
+        }
+        if (refreshToken.getUsedAt() != null || refreshTokenRepository.markUsed(refreshToken.getId(), now) == 0) {
+            revokeFamily(refreshToken.getFamilyId());
+            throw new InvalidTokenException("Refresh token reuse detected");
+        }
+        refreshToken.setUsedAt(now);
+        return refreshToken;
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    @Transactional
+    public void revokeFamily(String familyId) {
+        refreshTokenRepository.deleteByFamily(familyId);
+        tokenRevocationService.revoke(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(DateUtils.now());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.util.DateUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the list endpoints, bumped by every
+ * write that changes what a list returns. Counters are bumped after commit, so
+ * a version is never handed out before the data it stands for is visible.
+ * They live in memory and restart with the process, which the instance epoch
+ * in every tag accounts for; like the second-level cache this assumes a single
+ * application instance.
+ * <p>
+ * Each counter also remembers when it was last bumped, so a body served under
+ * its tag can be read from the replica once the replica has applied that
+ * change (see {@code ReplicaRoutingDataSource.freshAsOf}).
+ */
+@Service
+public class ResourceVersionService {
+
+    // Writes committed before a restart are not tracked, so they count as made at startup
+    private final long startedAt = System.currentTimeMillis();
+    private final String epoch = Long.toString(startedAt, 36);
+
+    private final Version sessions = new Version(startedAt);
+    private final Version games = new Version(startedAt);
+    // Per user, plus a generation for writes that touch every user's rows (game purges)
+    private final Map<String, Version> availability = new ConcurrentHashMap<>();
+    private final Map<String, Version> preferences = new ConcurrentHashMap<>();
+    private final Version availabilityGeneration = new Version(startedAt);
+    private final Version preferencesGeneration = new Version(startedAt);
+
+    // Runs after the publishing transaction commits (or right away without one)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsChanged(GameSessionsChangedEvent event) {
+        sessionsChanged();
+    }
+
+    public long getSessionsVersion() {
+        return sessions.value.get();
+    }
+
+    public void sessionsChanged() {
+        afterCommit(sessions::bump);
+    }
+
+    public void gamesChanged() {
+        afterCommit(games::bump);
+    }
+
+    public void availabilityChanged(String userId) {
+        afterCommit(() -> version(availability, userId).bump());
+    }
+
+    public void allAvailabilityChanged() {
+        afterCommit(availabilityGeneration::bump);
+    }
+
+    public void preferencesChanged(String userId) {
+        afterCommit(() -> version(preferences, userId).bump());
+    }
+
+    public void allPreferencesChanged() {
+        afterCommit(preferencesGeneration::bump);
+    }
+
+    /**
+     * Session statuses and the upcoming window move with the clock, so the tag
+     * also changes every minute even without writes.
+     */
+    public String sessionsETag() {
+        long minute = DateUtils.now().truncatedTo(ChronoUnit.MINUTES).toEpochSecond(ZoneOffset.UTC) / 60;
+        return etag("sessions", sessions.value.get() + "." + minute);
+    }
+
+    public String gamesETag() {
+        return etag("games", Long.toString(games.value.get()));
+    }
+
+    public String availabilityETag(String userId) {
+        return etag("availability", availabilityGeneration.value.get() + "."
+                + version(availability, userId).value.get());
+    }
+
+    public String preferencesETag(String userId) {
+        return etag("preferences", preferencesGeneration.value.get() + "."
+                + version(preferences, userId).value.get());
+    }
+
+    // When the data behind each tag last changed, in epoch millis; read after the tag, so never older than it
+    public long sessionsChangedAt() {
+        return sessions.changedAt;
+    }
+
+    public long gamesChangedAt() {
+        return games.changedAt;
+    }
+
+    public long availabilityChangedAt(String userId) {
+        return Math.max(availabilityGeneration.changedAt, version(availability, userId).changedAt);
+    }
+
+    public long preferencesChangedAt(String userId) {
+        return Math.max(preferencesGeneration.changedAt, version(preferences, userId).changedAt);
+    }
+
+    private String etag(String resource, String version) {
+        return "\"" + resource + "-" + epoch + "-" + version + "\"";
+    }
+
+    private Version version(Map<String, Version> versions, String userId) {
+        return versions.computeIfAbsent(userId, id -> new Version(startedAt));
+    }
+
+    private static final class Version {
+        private final AtomicLong value = new AtomicLong();
+        // Stamped before the increment, so whoever sees the new value also sees a time at least as new
+        private volatile long changedAt;
+
+        Version(long changedAt) {
+            this.changedAt = changedAt;
+        }
+
+        void bump() {
+            changedAt = System.currentTimeMillis();
+            value.incrementAndGet();
+        }
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,150 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.util.DateUtils;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded log of committed session changes, one entry per matchmaking run or
+ * session update, for delta sync. Versions start at the startup time in
+ * milliseconds, so a version handed out before a restart is always older than
+ * the log and gets a full reset instead of a wrong delta. The same happens to
+ * versions that have fallen off the log, and after changes that touch sessions
+ * without an event (game edits and deletions).
+ * <p>
+ * Matchmaking publishes every session of a run, most of them unchanged, so
+ * only sessions that are new or differ from their last logged state are
+ * recorded; otherwise every delta would be as large as the full list.
+ */
+@Component
+public class SessionChangeLog {
+
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private long version = System.currentTimeMillis();
+    // Oldest version a delta can still be computed from, and when it was current
+    private long floor = version;
+    private LocalDateTime floorTime = DateUtils.now();
+    // Last logged state of each session that has not ended yet
+    private final Map<String, GameSessionSnapshot> logged = new HashMap<>();
+
+    public SessionChangeLog(@org.springframework.beans.factory.annotation.Value(
+            "${sessions.change-log.capacity:500}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    // Runs after the publishing transaction commits (or right away without one)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSessionsChanged(GameSessionsChangedEvent event) {
+        LocalDateTime now = DateUtils.now();
+        logged.values().removeIf(session -> session.getEndTime().isBefore(now));
+
+        List<String> changedIds = event.getSessions().stream()
+                .filter(session -> !sameState(session, logged.put(session.getId(), session)))
+                .map(GameSessionSnapshot::getId)
+                .toList();
+        event.getRemovedSessionIds().forEach(logged::remove);
+        if (!changedIds.isEmpty() || !event.getRemovedSessionIds().isEmpty()) {
+            record(changedIds, event.getRemovedSessionIds());
+        }
+    }
+
+    // The version covers the session's own columns; player changes do not always bump it. The notification
+    // status is written after commit without a version bump and is not part of what clients get
+    private static boolean sameState(GameSessionSnapshot session, GameSessionSnapshot previous) {
+        return previous != null
+                && previous.getVersion() == session.getVersion()
+                && previous.getStartTime().equals(session.getStartTime())
+                && previous.getEndTime().equals(session.getEndTime())
+                && previous.getPlayers().equals(session.getPlayers());
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized void record(Collection<String> changedIds, Collection<String> removedIds) {
+        entries.addLast(new Entry(++version, DateUtils.now(), List.copyOf(changedIds), List.copyOf(removedIds)));
+        if (entries.size() > capacity) {
+            Entry dropped = entries.removeFirst();
+            floor = dropped.getVersion();
+            floorTime = dropped.getTime();
+        }
+    }
+
+    /**
+     * Forces every client onto a full reload, once the current transaction
+     * has committed.
+     */
+    public void reset() {
+        ResourceVersionService.afterCommit(() -> {
+            synchronized (this) {
+                entries.clear();
+                floor = ++version;
+                floorTime = DateUtils.now();
+            }
+        });
+    }
+
+    /**
+     * Sessions changed and removed after {@code since}, or empty when that
+     * version is no longer covered and the client has to reload everything.
+     */
+    public synchronized Optional<Changes> changesSince(long since) {
+        if (since < floor || since > version) {
+            return Optional.empty();
+        }
+        LocalDateTime sinceTime = floorTime;
+        Set<String> changed = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+        for (Iterator<Entry> it = entries.iterator(); it.hasNext();) {
+            Entry entry = it.next();
+            if (entry.getVersion() <= since) {
+                sinceTime = entry.getTime();
+                continue;
+            }
+            // Later entries win: a session removed and then recreated is changed, and vice versa
+            for (String id : entry.getChangedIds()) {
+                removed.remove(id);
+                changed.add(id);
+            }
+            for (String id : entry.getRemovedIds()) {
+                changed.remove(id);
+                removed.add(id);
+            }
+        }
+        return Optional.of(new Changes(version, sinceTime, List.copyOf(changed), List.copyOf(removed)));
+    }
+
+    @Value
+    private static class Entry {
+        long version;
+        LocalDateTime time;
+        List<String> changedIds;
+        List<String> removedIds;
+    }
+
+    @Value
+    public static class Changes {
+        long version;
+        // When the client's version was current; time-driven changes after it are added by the caller
+        LocalDateTime sinceTime;
+        List<String> changedIds;
+        List<String> removedIds;
+    }
+}
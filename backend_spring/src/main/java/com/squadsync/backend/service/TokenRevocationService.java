@@ -0,0 +1,102 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.model.RevokedTokenFamily;
+import com.squadsync.backend.repository.RevokedTokenFamilyRepository;
+import com.squadsync.backend.util.BloomFilter;
+import com.squadsync.backend.util.DateUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Answers "is this token family revoked?" for every authenticated request.
+ * Revoked families live in a table; an in-memory Bloom filter built from it
+ * rules out almost every family without touching the database, and only a
+ * filter hit is confirmed against the table.
+ *
+ * Other instances' revocations are picked up by a periodic sync, and the filter
+ * is rebuilt from the table to drop families whose tokens have all expired.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    // Allow for clock drift between instances when syncing recent revocations
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenFamilyRepository revokedFamilyRepository;
+
+    @Value("${jwt.expiration}")
+    private long accessTokenExpiration;
+
+    @Value("${jwt.revocation.expected-families:100000}")
+    private int expectedFamilies;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter revokedFamilies;
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    public void init() {
+        rebuildFilter();
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (familyId == null || !revokedFamilies.mightContain(familyId)) {
+            return false;
+        }
+        // Possible false positive: confirm against the table
+        return revokedFamilyRepository.existsById(familyId);
+    }
+
+    /**
+     * Records the family as revoked. Only access tokens still need to be rejected
+     * afterwards (refresh tokens of the family are deleted by the caller), so the
+     * row is kept for one access token lifetime.
+     */
+    @Transactional
+    public void revoke(String familyId) {
+        LocalDateTime now = DateUtils.now();
+        RevokedTokenFamily family = new RevokedTokenFamily();
+        family.setFamilyId(familyId);
+        family.setRevokedAt(now);
+        family.setExpiresAt(now.plus(Duration.ofMillis(accessTokenExpiration)));
+        revokedFamilyRepository.save(family);
+        revokedFamilies.add(familyId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void syncRecentRevocations() {
+        LocalDateTime now = DateUtils.now();
+        List<String> recent = revokedFamilyRepository.findFamilyIdsRevokedSince(lastSync.minus(SYNC_OVERLAP));
+        BloomFilter filter = revokedFamilies;
+        recent.forEach(filter::add);
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}",
+            initialDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        revokedFamilyRepository.deleteExpired(DateUtils.now());
+        rebuildFilter();
+    }
+
+    private void rebuildFilter() {
+        LocalDateTime now = DateUtils.now();
+        List<String> active = revokedFamilyRepository.findActiveFamilyIds(now);
+        BloomFilter filter = new BloomFilter(Math.max(expectedFamilies, active.size() * 2), falsePositiveRate);
+        active.forEach(filter::add);
+        revokedFamilies = filter;
+        lastSync = now;
+    }
+}
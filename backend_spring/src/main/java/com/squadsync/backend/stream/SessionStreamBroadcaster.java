@@ -0,0 +1,137 @@
+package com.squadsync.backend.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event streams of session changes. Broadcasting serializes the
+ * payload once and only enqueues it per client; a small pool of sender threads
+ * does the writes. Open streams hold no thread between events. A client whose
+ * buffer is full is disconnected rather than allowed to hold events back, and
+ * reloads the full list when its EventSource reconnects.
+ */
+@Component
+@Slf4j
+public class SessionStreamBroadcaster {
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final Set<SessionStreamClient> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final Counter overflows;
+
+    public SessionStreamBroadcaster(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${sessions.stream.buffer-size:32}") int bufferSize,
+            @Value("${sessions.stream.sender-threads:2}") int senderThreads,
+            @Value("${sessions.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "session-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("sessions.stream.clients", clients, Set::size)
+                .description("Open session event streams")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("sessions.stream.overflows")
+                .description("Streams closed because the client could not keep up")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter connect(String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        SessionStreamClient client = new SessionStreamClient(userId, emitter, bufferSize);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(e -> clients.remove(client));
+        clients.add(client);
+
+        // Commits the response headers so the browser reports the stream as open
+        enqueue(client, SseEmitter.event().comment("connected").reconnectTime(5000).build());
+        return emitter;
+    }
+
+    public boolean hasClients() {
+        return !clients.isEmpty();
+    }
+
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    public void broadcast(String eventName, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event: {}", eventName, e.getMessage());
+            return;
+        }
+        Set<DataWithMediaType> event = SseEmitter.event().name(eventName).data(json).build();
+        clients.forEach(client -> enqueue(client, event));
+    }
+
+    // Idle proxies close silent connections, and writing is the only way to notice a vanished client
+    @Scheduled(fixedDelayString = "${sessions.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        Set<DataWithMediaType> event = SseEmitter.event().comment("ping").build();
+        clients.forEach(client -> enqueue(client, event));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.forEach(SessionStreamClient::close);
+        sender.shutdownNow();
+    }
+
+    private void enqueue(SessionStreamClient client, Set<DataWithMediaType> event) {
+        if (!client.offer(event)) {
+            overflows.increment();
+            clients.remove(client);
+            client.close();
+            return;
+        }
+        schedule(client);
+    }
+
+    private void schedule(SessionStreamClient client) {
+        if (!client.markScheduled()) {
+            return;
+        }
+        try {
+            sender.execute(() -> {
+                client.drain();
+                // Events offered while the drain was finishing
+                if (client.hasPending()) {
+                    schedule(client);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            clients.remove(client);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.squadsync.backend.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open stream and its bounded buffer of events not yet written. At most
+ * one sender thread drains a client at a time, so a slow connection only ever
+ * fills its own buffer.
+ */
+@Slf4j
+class SessionStreamClient {
+
+    private final String userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> buffer;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SessionStreamClient(String userId, SseEmitter emitter, int bufferSize) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean offer(Set<DataWithMediaType> event) {
+        return !closed && buffer.offer(event);
+    }
+
+    boolean hasPending() {
+        return !closed && !buffer.isEmpty();
+    }
+
+    /**
+     * Claims the client for a drain; false while another sender owns it.
+     */
+    boolean markScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void drain() {
+        try {
+            Set<DataWithMediaType> event;
+            while (!closed && (event = buffer.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the emitter's error callback unregisters it
+            log.debug("Session stream of user {} closed while sending: {}", userId, e.getMessage());
+            close();
+        } finally {
+            scheduled.set(false);
+        }
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.squadsync.backend.stream;
+
+import com.squadsync.backend.config.AuthenticatedUser;
+import com.squadsync.backend.util.DateUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-use tickets for opening the session stream. EventSource cannot send
+ * an Authorization header, so the stream URL has to carry the credential; a
+ * ticket instead of the access token keeps bearer tokens out of access logs,
+ * proxy logs and browser history. A ticket is random, expires within seconds
+ * and is gone once redeemed, so a logged one is worthless. Tickets live in
+ * memory, which like the resource versions assumes a single instance.
+ */
+@Component
+public class StreamTicketService {
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final long ttlSeconds;
+
+    public StreamTicketService(@Value("${sessions.stream.ticket-ttl-seconds:30}") long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public String issue(AuthenticatedUser user) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(user, DateUtils.now().plusSeconds(ttlSeconds)));
+        return ticket;
+    }
+
+    // Removed on first use, whether or not it is still valid
+    public Optional<AuthenticatedUser> redeem(String ticket) {
+        Ticket redeemed = tickets.remove(ticket);
+        if (redeemed == null || !redeemed.expiresAt.isAfter(DateUtils.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(redeemed.user);
+    }
+
+    // Tickets that were issued but never used
+    @Scheduled(fixedDelayString = "${sessions.stream.ticket-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = DateUtils.now();
+        tickets.values().removeIf(ticket -> !ticket.expiresAt.isAfter(now));
+    }
+
+    private static final class Ticket {
+        private final AuthenticatedUser user;
+        private final LocalDateTime expiresAt;
+
+        Ticket(AuthenticatedUser user, LocalDateTime expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Entity changes made after the ddl-auto=update baseline in V1.
+
+-- Optimistic locking of sessions; existing rows start at version 0
+ALTER TABLE game_sessions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE refresh_tokens (
+    id         VARCHAR(255) NOT NULL,
+    token_hash VARCHAR(64)  NOT NULL,
+    family_id  VARCHAR(255) NOT NULL,
+    user_id    VARCHAR(255) NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    used_at    DATETIME(6),
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_tokens_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE revoked_token_families (
+    family_id  VARCHAR(255) NOT NULL,
+    revoked_at DATETIME(6)  NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (family_id)
+) ENGINE = InnoDB;
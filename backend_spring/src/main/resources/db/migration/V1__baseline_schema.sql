@@ -0,0 +1,85 @@
+-- Schema as previously generated by ddl-auto=update, before any later entity
+-- changes. IF NOT EXISTS lets this run unchanged against databases that were
+-- created that way (baselined at version 0); columns and tables added since
+-- then belong in later migrations, which run on those databases too.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            VARCHAR(255) NOT NULL,
+    username      VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    discord_id    VARCHAR(255),
+    password_hash VARCHAR(255) NOT NULL,
+    avatar_color  VARCHAR(255),
+    role          VARCHAR(255),
+    created_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS games (
+    id              VARCHAR(255) NOT NULL,
+    title           VARCHAR(255) NOT NULL,
+    min_players     INTEGER      NOT NULL,
+    max_players     INTEGER      NOT NULL,
+    genre           VARCHAR(255),
+    cover_image_url VARCHAR(255),
+    created_at      DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS availability_slots (
+    id         VARCHAR(255) NOT NULL,
+    user_id    VARCHAR(255) NOT NULL,
+    game_id    VARCHAR(255),
+    start_time DATETIME(6)  NOT NULL,
+    end_time   DATETIME(6)  NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_availability_slots_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_availability_slots_game FOREIGN KEY (game_id) REFERENCES games (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS availability_game_preferences (
+    id                   VARCHAR(255) NOT NULL,
+    availability_slot_id VARCHAR(255) NOT NULL,
+    game_id              VARCHAR(255) NOT NULL,
+    weight               INTEGER      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_availability_game_preferences_slot FOREIGN KEY (availability_slot_id) REFERENCES availability_slots (id),
+    CONSTRAINT fk_availability_game_preferences_game FOREIGN KEY (game_id) REFERENCES games (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS game_sessions (
+    id                  VARCHAR(255) NOT NULL,
+    game_id             VARCHAR(255) NOT NULL,
+    start_time          DATETIME(6)  NOT NULL,
+    end_time            DATETIME(6)  NOT NULL,
+    session_score       FLOAT(53)    NOT NULL,
+    notification_status ENUM ('NONE','PRELIMINARY_SENT','CONFIRMED_SENT') NOT NULL,
+    created_at          DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_game_sessions_game FOREIGN KEY (game_id) REFERENCES games (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS game_session_players (
+    id               VARCHAR(255) NOT NULL,
+    session_id       VARCHAR(255) NOT NULL,
+    user_id          VARCHAR(255) NOT NULL,
+    status           ENUM ('PENDING','ACCEPTED','REJECTED'),
+    rejection_reason VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_game_session_players_session FOREIGN KEY (session_id) REFERENCES game_sessions (id),
+    CONSTRAINT fk_game_session_players_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_game_preferences (
+    id      VARCHAR(255) NOT NULL,
+    user_id VARCHAR(255) NOT NULL,
+    game_id VARCHAR(255) NOT NULL,
+    weight  INTEGER      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_game_preferences_user_game UNIQUE (user_id, game_id),
+    CONSTRAINT fk_user_game_preferences_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_game_preferences_game FOREIGN KEY (game_id) REFERENCES games (id)
+) ENGINE = InnoDB;
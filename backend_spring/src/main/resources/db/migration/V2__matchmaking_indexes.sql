@@ -0,0 +1,28 @@
+-- Indexes for the matchmaking and dashboard access paths.
+
+-- findByEndTimeGreaterThanOrderByStartTimeAsc: range on end_time, start_time read from the index
+CREATE INDEX idx_availability_slots_end_start ON availability_slots (end_time, start_time);
+
+-- findByUserId and per-user overlap checks, covering the time columns
+CREATE INDEX idx_availability_slots_user_start_end ON availability_slots (user_id, start_time, end_time);
+
+-- findByEndTimeGreaterThanOrderByStartTimeAsc on sessions
+CREATE INDEX idx_game_sessions_end_start ON game_sessions (end_time, start_time);
+
+-- findByGameIdOrderByCreatedAtDesc
+CREATE INDEX idx_game_sessions_game_created ON game_sessions (game_id, created_at);
+
+-- Loading a session's players (and their status) without touching the rows
+CREATE INDEX idx_game_session_players_session_user_status ON game_session_players (session_id, user_id, status);
+
+-- Sessions a user takes part in
+CREATE INDEX idx_game_session_players_user_session ON game_session_players (user_id, session_id);
+
+-- findByUserId / findByUserIdIn, covering the weight used for scoring
+CREATE INDEX idx_user_game_preferences_user_game_weight ON user_game_preferences (user_id, game_id, weight);
+
+-- Family revocation and expiry purges
+CREATE INDEX idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX idx_refresh_tokens_expires ON refresh_tokens (expires_at);
+CREATE INDEX idx_revoked_token_families_revoked ON revoked_token_families (revoked_at);
+CREATE INDEX idx_revoked_token_families_expires ON revoked_token_families (expires_at);
@@ -0,0 +1,3 @@
+-- Deleting a game only marks it; its sessions, slots and preferences are purged in chunks afterwards
+-- (GamePurgeService) and the row itself goes last.
+ALTER TABLE games ADD COLUMN deleted_at DATETIME(6) NULL;
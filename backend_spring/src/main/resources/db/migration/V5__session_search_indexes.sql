@@ -0,0 +1,14 @@
+-- Indexes for the keyset-paginated session search. InnoDB appends the primary key to every
+-- secondary index, so each of these is also ordered by (start_time, id) within its prefix.
+
+-- Unfiltered and time-range pages: walk start_time in order, filter end_time from the index
+CREATE INDEX idx_game_sessions_start_end ON game_sessions (start_time, end_time);
+
+-- Pages of one game's sessions; also serves the game_id foreign key and the purge by game
+CREATE INDEX idx_game_sessions_game_start_end ON game_sessions (game_id, start_time, end_time);
+
+-- Only the findByGameIdOrderByCreatedAtDesc lookup used this, and it has been replaced by the search
+DROP INDEX idx_game_sessions_game_created ON game_sessions;
+
+-- Participant filter uses idx_game_session_players_user_session and the status filter counts accepted
+-- players through idx_game_session_players_session_user_status, both from V2.
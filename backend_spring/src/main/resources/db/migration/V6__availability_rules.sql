@@ -0,0 +1,22 @@
+-- Weekly availability kept as one row per rule instead of one slot per week. Matchmaking expands the
+-- occurrences within its horizon in memory (AvailabilityRuleExpander); nothing is materialised.
+CREATE TABLE availability_rules (
+    id          BINARY(16)  NOT NULL,
+    user_id     BINARY(16)  NOT NULL,
+    day_of_week ENUM ('MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY','SATURDAY','SUNDAY') NOT NULL,
+    start_time  TIME        NOT NULL,
+    end_time    TIME        NOT NULL,
+    valid_from  DATE        NOT NULL,
+    valid_until DATE,
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_availability_rules_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- Dates on which a rule does not apply
+CREATE TABLE availability_rule_exceptions (
+    rule_id        BINARY(16) NOT NULL,
+    exception_date DATE       NOT NULL,
+    PRIMARY KEY (rule_id, exception_date),
+    CONSTRAINT fk_availability_rule_exceptions_rule FOREIGN KEY (rule_id) REFERENCES availability_rules (id)
+) ENGINE = InnoDB;
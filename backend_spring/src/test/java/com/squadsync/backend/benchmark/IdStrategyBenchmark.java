@@ -0,0 +1,136 @@
+package com.squadsync.backend.benchmark;
+
+import com.squadsync.backend.util.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert cost and on-disk size of the availability_slots shape (primary key plus
+ * a user_id foreign key index) with the old and new key strategies:
+ * <ul>
+ * <li>{@code VARCHAR_RANDOM}: random UUID strings in VARCHAR(255) (uuid2)</li>
+ * <li>{@code BINARY_V7}: time-ordered UUIDs in BINARY(16)</li>
+ * </ul>
+ * Each trial starts from a pre-filled table so inserts go into a B-tree that no
+ * longer fits a single page. Uses a file-backed H2 database as a stand-in;
+ * run against the docker-compose MySQL for InnoDB numbers.
+ * Run with: {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.squadsync.backend.benchmark.IdStrategyBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdStrategyBenchmark {
+
+    private static final int PREFILL_ROWS = 200_000;
+    private static final int BATCH_ROWS = 1_000;
+    private static final int USERS = 500;
+
+    @Param({ "VARCHAR_RANDOM", "BINARY_V7" })
+    public String strategy;
+
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Object[] userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("id-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("db") + ";MODE=MySQL", "sa", "");
+        String keyType = binary() ? "BINARY(16)" : "VARCHAR(255)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE slots (id " + keyType + " NOT NULL, user_id " + keyType + " NOT NULL, "
+                    + "start_time DATETIME(6) NOT NULL, end_time DATETIME(6) NOT NULL, PRIMARY KEY (id))");
+            statement.execute("CREATE INDEX idx_slots_user ON slots (user_id, start_time, end_time)");
+        }
+        userIds = new Object[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = nextId();
+        }
+        insert = connection.prepareStatement("INSERT INTO slots (id, user_id, start_time, end_time) VALUES (?, ?, ?, ?)");
+        for (int i = 0; i < PREFILL_ROWS / BATCH_ROWS; i++) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement();
+                ResultSet size = statement.executeQuery("SELECT DISK_SPACE_USED('SLOTS'), COUNT(*) FROM slots")) {
+            size.next();
+            // Row counts differ per strategy (faster inserts run more batches), so compare bytes per row
+            System.out.printf("%n%s: %d rows, %.1f MB table + indexes, %.1f bytes/row%n", strategy,
+                    size.getLong(2), size.getLong(1) / (1024.0 * 1024.0), (double) size.getLong(1) / size.getLong(2));
+        }
+        connection.close();
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        Timestamp start = new Timestamp(System.currentTimeMillis());
+        Timestamp end = new Timestamp(start.getTime() + 7_200_000);
+        for (int i = 0; i < BATCH_ROWS; i++) {
+            setKey(1, nextId());
+            setKey(2, userIds[i % USERS]);
+            insert.setTimestamp(3, start);
+            insert.setTimestamp(4, end);
+            insert.addBatch();
+        }
+        return insert.executeBatch();
+    }
+
+    private boolean binary() {
+        return "BINARY_V7".equals(strategy);
+    }
+
+    private Object nextId() {
+        return binary() ? UuidV7.toBytes(UuidV7.generate()) : UUID.randomUUID().toString();
+    }
+
+    private void setKey(int index, Object key) throws SQLException {
+        if (key instanceof byte[] bytes) {
+            insert.setBytes(index, bytes);
+        } else {
+            insert.setString(index, (String) key);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdStrategyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package com.squadsync.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squadsync.backend.config.WebConfig;
+import com.squadsync.backend.dto.GameDto;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.GameSessionPlayerDto;
+import com.squadsync.backend.util.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the 1,000-session list as JSON (what /api/matchmaking/sessions
+ * returns by default) versus application/cbor with raw-byte ids and epoch
+ * timestamps. Both mappers are built the way the application builds them.
+ * Payload sizes are printed before the run, as JMH only measures time.
+ * Run with: {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.squadsync.backend.benchmark.SessionSerializationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionSerializationBenchmark {
+
+    private static final int SESSIONS = 1_000;
+    private static final int PLAYERS_PER_SESSION = 5;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private List<GameSessionDto> sessions;
+
+    @Setup
+    public void setUp() {
+        WebConfig config = new WebConfig(null);
+        Jackson2ObjectMapperBuilder jsonBuilder = new Jackson2ObjectMapperBuilder();
+        config.serializeAllByDefault().customize(jsonBuilder);
+        json = jsonBuilder.build();
+        Jackson2ObjectMapperBuilder cborBuilder = new Jackson2ObjectMapperBuilder();
+        config.serializeAllByDefault().customize(cborBuilder);
+        cbor = config.cborHttpMessageConverter(cborBuilder).getObjectMapper();
+        sessions = sessions();
+    }
+
+    static List<GameSessionDto> sessions() {
+        List<String> userIds = new ArrayList<>();
+        for (int u = 0; u < 50; u++) {
+            userIds.add(UuidV7.generate().toString());
+        }
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 20, 0);
+        List<GameSessionDto> sessions = new ArrayList<>(SESSIONS);
+        for (int s = 0; s < SESSIONS; s++) {
+            GameSessionDto dto = new GameSessionDto();
+            dto.setId(UuidV7.generate().toString());
+            GameDto game = new GameDto();
+            game.setId(UuidV7.generate().toString());
+            game.setTitle("Valorant");
+            game.setCoverImageUrl("https://cdn.squad.gg/covers/valorant.jpg");
+            dto.setGame(game);
+            dto.setGameId(game.getId());
+            dto.setStartTime(start.plusHours(s));
+            dto.setEndTime(start.plusHours(s + 3));
+            dto.setCreatedAt(start.minusDays(1).plusSeconds(s));
+            dto.setSessionScore(0.75 + s % 10 / 100.0);
+            dto.setStatus(s % 3 == 0 ? "CONFIRMED" : "PRELIMINARY");
+            List<String> playerIds = new ArrayList<>();
+            List<GameSessionPlayerDto> players = new ArrayList<>();
+            for (int p = 0; p < PLAYERS_PER_SESSION; p++) {
+                GameSessionPlayerDto player = new GameSessionPlayerDto();
+                player.setUserId(userIds.get((s + p) % userIds.size()));
+                player.setUsername("player" + (s + p) % userIds.size());
+                player.setAvatarColor("#3b82f6");
+                player.setStatus(p % 2 == 0 ? "ACCEPTED" : "PENDING");
+                players.add(player);
+                playerIds.add(player.getUserId());
+            }
+            dto.setPlayerIds(playerIds);
+            dto.setPlayers(players);
+            dto.setPlayerCount(players.size());
+            sessions.add(dto);
+        }
+        return sessions;
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return json.writeValueAsBytes(sessions);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(sessions);
+    }
+
+    public static void main(String[] args) throws RunnerException, JsonProcessingException {
+        SessionSerializationBenchmark sizes = new SessionSerializationBenchmark();
+        sizes.setUp();
+        System.out.printf("Payload for %d sessions: json=%d bytes, cbor=%d bytes%n", SESSIONS,
+                sizes.json().length, sizes.cbor().length);
+
+        new Runner(new OptionsBuilder()
+                .include(SessionSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+package com.squadsync.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    /** Encoder whose encode blocks until released, to hold the pool busy. */
+    private static PasswordEncoder blocking(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+    }
+
+    @Test
+    public void testDelegatesEncodeAndMatches() {
+        CountDownLatch released = new CountDownLatch(0);
+        encoder = new BoundedPasswordEncoder(blocking(new CountDownLatch(1), released), 1, 1, 1000,
+                meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        Assertions.assertEquals("hash:secret", hash);
+        Assertions.assertTrue(encoder.matches("secret", hash));
+        Assertions.assertFalse(encoder.matches("other", hash));
+    }
+
+    @Test
+    public void testSaturatedPool_RejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blocking(started, release), 1, 1, 5000, meterRegistry);
+
+        // One call running, one queued
+        callers.submit(() -> encoder.encode("a"));
+        Assertions.assertTrue(started.await(2, TimeUnit.SECONDS));
+        callers.submit(() -> encoder.encode("b"));
+        while (meterRegistry.get("auth.hashing.queue.size").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        long start = System.nanoTime();
+        Assertions.assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+        Assertions.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        Assertions.assertEquals(1.0, meterRegistry.get("auth.hashing.rejected").counter().count());
+
+        release.countDown();
+    }
+
+    @Test
+    public void testSlowHash_TimesOutAsBusy() {
+        encoder = new BoundedPasswordEncoder(blocking(new CountDownLatch(1), new CountDownLatch(1)), 1, 1, 50,
+                meterRegistry);
+
+        Assertions.assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("a"));
+    }
+}
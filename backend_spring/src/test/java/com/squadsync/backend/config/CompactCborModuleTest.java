@@ -0,0 +1,62 @@
+package com.squadsync.backend.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionDeltaDto;
+import com.squadsync.backend.util.DateUtils;
+import com.squadsync.backend.util.UuidV7;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class CompactCborModuleTest {
+
+    private ObjectMapper cbor;
+
+    @BeforeEach
+    public void setUp() {
+        // The converter as the application builds it
+        WebConfig config = new WebConfig(null);
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        config.serializeAllByDefault().customize(builder);
+        cbor = config.cborHttpMessageConverter(builder).getObjectMapper();
+    }
+
+    @Test
+    public void testIdsAreRawBytesAndTimesAreEpochMillis() throws Exception {
+        String id = UuidV7.generate().toString();
+        LocalDateTime start = LocalDateTime.of(2026, 3, 14, 21, 30);
+        GameSessionDto session = new GameSessionDto();
+        session.setId(id);
+        session.setGameId(id);
+        session.setStartTime(start);
+        session.setPlayerIds(List.of(id));
+
+        JsonNode node = cbor.readTree(cbor.writeValueAsBytes(session));
+
+        Assertions.assertTrue(node.get("id").isBinary());
+        Assertions.assertEquals(UUID.fromString(id), UuidV7.fromBytes(node.get("id").binaryValue()));
+        Assertions.assertTrue(node.get("gameId").isBinary());
+        Assertions.assertTrue(node.get("playerIds").get(0).isBinary());
+        Assertions.assertEquals(start.atZone(DateUtils.MADRID_ZONE).toInstant().toEpochMilli(),
+                node.get("startTime").asLong());
+        Assertions.assertTrue(node.get("endTime").isNull());
+        Assertions.assertTrue(cbor.getFactory() instanceof CBORFactory);
+    }
+
+    @Test
+    public void testValuesThatAreNotUuids_StayText() throws Exception {
+        SessionDeltaDto delta = new SessionDeltaDto(List.of(), List.of("gone"), 1L, false);
+
+        JsonNode node = cbor.readTree(cbor.writeValueAsBytes(delta));
+
+        Assertions.assertEquals("gone", node.get("removedSessionIds").get(0).asText());
+    }
+}
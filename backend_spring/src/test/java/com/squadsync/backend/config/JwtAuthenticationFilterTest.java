@@ -0,0 +1,157 @@
+package com.squadsync.backend.config;
+
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.repository.UserRepository;
+import com.squadsync.backend.service.JwtService;
+import com.squadsync.backend.service.TokenRevocationService;
+import com.squadsync.backend.stream.StreamTicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtService jwtService;
+    private StreamTicketService streamTicketService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", 100L);
+        jwtService.init();
+        streamTicketService = new StreamTicketService(30);
+        filter = new JwtAuthenticationFilter(jwtService, userRepository, tokenRevocationService, streamTicketService);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId("u1");
+        user.setEmail("player@squad.gg");
+        user.setRole("ADMIN");
+        return user;
+    }
+
+    private Authentication filterWith(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    public void testClaimsToken_BuildsPrincipalWithoutDatabaseLookup() throws Exception {
+        Authentication authentication = filterWith(jwtService.generateToken(user(), "fam-1"));
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        Assertions.assertEquals("u1", principal.getId());
+        Assertions.assertEquals("player@squad.gg", principal.getUsername());
+        Assertions.assertTrue(authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    public void testLegacyToken_FallsBackToUserLookup() throws Exception {
+        when(userRepository.findByEmail("player@squad.gg")).thenReturn(Optional.of(user()));
+        UserDetails legacy = org.springframework.security.core.userdetails.User.builder()
+                .username("player@squad.gg").password("x").roles("USER").build();
+
+        Authentication authentication = filterWith(jwtService.generateToken(legacy));
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        Assertions.assertEquals("u1", principal.getId());
+        Assertions.assertEquals("ADMIN", principal.getRole());
+    }
+
+    @Test
+    public void testRevokedFamily_Returns401() throws Exception {
+        when(tokenRevocationService.isRevoked("fam-1")).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user(), "fam-1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        Assertions.assertEquals(401, response.getStatus());
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testInvalidToken_Returns401() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer not-a-token");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        Assertions.assertEquals(401, response.getStatus());
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private MockHttpServletResponse filterQuery(String uri, String parameter, String value) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setParameter(parameter, value);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    public void testQueryToken_IsNeverAccepted() throws Exception {
+        String token = jwtService.generateToken(user(), "fam-1");
+
+        filterQuery("/api/matchmaking/sessions/stream", "access_token", token);
+
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    public void testStreamTicket_OpensTheStreamOnce() throws Exception {
+        String ticket = streamTicketService.issue(new AuthenticatedUser("u1", "player@squad.gg", "NORMAL"));
+        // Only the stream takes tickets
+        filterQuery("/api/matchmaking/sessions", "ticket", ticket);
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+
+        filterQuery("/api/matchmaking/sessions/stream", "ticket", ticket);
+        Assertions.assertEquals("u1",
+                ((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId());
+
+        MockHttpServletResponse replay = filterQuery("/api/matchmaking/sessions/stream", "ticket", ticket);
+        Assertions.assertEquals(401, replay.getStatus());
+        Assertions.assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
@@ -0,0 +1,136 @@
+package com.squadsync.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private JdbcTemplate replicaTemplate;
+
+    private DataSource primary;
+    private DataSource replica;
+    private DataSource routed;
+    private TransactionTemplate transactions;
+
+    @BeforeEach
+    public void setUp() {
+        primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private void route(ReplicaLagMonitor monitor) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor);
+        routing.afterPropertiesSet();
+        routed = new LazyConnectionDataSourceProxy(routing);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(routed));
+    }
+
+    private String databaseIn(boolean readOnly) {
+        transactions.setReadOnly(readOnly);
+        return transactions.execute(status -> new JdbcTemplate(routed).queryForObject("SELECT DATABASE()",
+                String.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ReplicaLagMonitor monitorWithLag(List<Long> status, long maxLagSeconds) {
+        when(replicaTemplate.query(eq("SHOW REPLICA STATUS"), any(RowMapper.class))).thenReturn(status);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaTemplate, maxLagSeconds, new SimpleMeterRegistry());
+        monitor.check();
+        return monitor;
+    }
+
+    @Test
+    public void testReadOnlyTransaction_UsesReplicaWithinLag() {
+        route(monitorWithLag(List.of(2L), 5));
+
+        Assertions.assertEquals("REPLICA", databaseIn(true));
+        Assertions.assertEquals("PRIMARY", databaseIn(false));
+    }
+
+    @Test
+    public void testReadOnlyTransaction_StaysOnPrimaryWhenPinned() {
+        route(monitorWithLag(List.of(2L), 5));
+
+        Assertions.assertEquals("PRIMARY", ReplicaRoutingDataSource.onPrimary(() -> databaseIn(true)));
+        // A nested pin leaves the outer one in place
+        Assertions.assertEquals("PRIMARY", ReplicaRoutingDataSource.onPrimary(() -> {
+            ReplicaRoutingDataSource.onPrimary(() -> databaseIn(true));
+            return databaseIn(true);
+        }));
+        // The pin ends with the work
+        Assertions.assertEquals("REPLICA", databaseIn(true));
+    }
+
+    @Test
+    public void testFreshRead_UsesReplicaOnceItHasAppliedTheChange() {
+        route(monitorWithLag(List.of(2L), 5));
+        long now = System.currentTimeMillis();
+
+        // Reported 2s behind: a change 10s ago has been applied, one a second ago may not have
+        Assertions.assertEquals("REPLICA", ReplicaRoutingDataSource.freshAsOf(now - 10_000, () -> databaseIn(true)));
+        Assertions.assertEquals("PRIMARY", ReplicaRoutingDataSource.freshAsOf(now - 1_000, () -> databaseIn(true)));
+        // Nested reads must see the newer of both changes
+        Assertions.assertEquals("PRIMARY", ReplicaRoutingDataSource.freshAsOf(now - 10_000,
+                () -> ReplicaRoutingDataSource.freshAsOf(now - 1_000, () -> databaseIn(true))));
+        Assertions.assertEquals("REPLICA", ReplicaRoutingDataSource.freshAsOf(now - 10_000, () -> {
+            ReplicaRoutingDataSource.freshAsOf(now - 1_000, () -> databaseIn(true));
+            return databaseIn(true);
+        }));
+    }
+
+    @Test
+    public void testReadOnlyTransaction_FallsBackToPrimaryWhenLagging() {
+        route(monitorWithLag(List.of(30L), 5));
+
+        Assertions.assertEquals("PRIMARY", databaseIn(true));
+    }
+
+    @Test
+    public void testMonitor_UnusableWhenReplicationStoppedOrNotConfigured() {
+        Assertions.assertFalse(monitorWithLag(Collections.singletonList(null), 5).isReplicaUsable());
+        Assertions.assertFalse(monitorWithLag(List.of(), 5).isReplicaUsable());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMonitor_UnusableOnceReplicaBecomesUnreachable() {
+        ReplicaLagMonitor monitor = monitorWithLag(List.of(0L), 5);
+        Assertions.assertTrue(monitor.isReplicaUsable());
+
+        when(replicaTemplate.query(eq("SHOW REPLICA STATUS"), any(RowMapper.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        monitor.check();
+        Assertions.assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    public void testMonitor_NegativeLimitOnlyChecksReachability() {
+        when(replicaTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaTemplate, -1, new SimpleMeterRegistry());
+        monitor.check();
+
+        Assertions.assertTrue(monitor.isReplicaUsable());
+    }
+}
@@ -0,0 +1,91 @@
+package com.squadsync.backend.controller;
+
+import com.squadsync.backend.config.ReplicaLagMonitor;
+import com.squadsync.backend.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConditionalResponsesTest {
+
+    private static final String ETAG = "\"games-abc-3\"";
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private ServletWebRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/games");
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    @Test
+    public void testMatchingTag_Returns304WithoutBuildingTheBody() {
+        ResponseEntity<List<String>> result = ConditionalResponses.ifNoneMatch(request(ETAG), ETAG, 0, () -> {
+            throw new AssertionError("body must not be built");
+        });
+
+        Assertions.assertNull(result);
+        Assertions.assertEquals(304, response.getStatus());
+        Assertions.assertEquals(ETAG, response.getHeader("ETag"));
+    }
+
+    @Test
+    public void testStaleOrMissingTag_ReturnsBodyWithTag() {
+        for (String ifNoneMatch : new String[] { null, "\"games-abc-2\"" }) {
+            ResponseEntity<List<String>> result = ConditionalResponses.ifNoneMatch(request(ifNoneMatch), ETAG,
+                    0, () -> List.of("Valorant"));
+
+            Assertions.assertEquals(200, result.getStatusCode().value());
+            Assertions.assertEquals(ETAG, result.getHeaders().getETag());
+            Assertions.assertEquals(List.of("Valorant"), result.getBody());
+            Assertions.assertEquals(List.of("Accept"), result.getHeaders().getVary());
+        }
+    }
+
+    // The database a read-only body is read from, with a replica that is not lagging
+    private String bodyDatabase(long changedAt) {
+        JdbcTemplate replicaTemplate = mock(JdbcTemplate.class);
+        when(replicaTemplate.queryForObject("SELECT 1", Integer.class)).thenReturn(1);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaTemplate, -1, new SimpleMeterRegistry());
+        monitor.check();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", ""),
+                new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", ""), monitor);
+        routing.afterPropertiesSet();
+        DataSource routed = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate readOnly = new TransactionTemplate(new DataSourceTransactionManager(routed));
+        readOnly.setReadOnly(true);
+
+        return ConditionalResponses.ifNoneMatch(request(null), ETAG, changedAt,
+                () -> readOnly.execute(status -> new JdbcTemplate(routed).queryForObject("SELECT DATABASE()",
+                        String.class))).getBody();
+    }
+
+    @Test
+    public void testBody_IsReadOnThePrimaryUntilTheReplicaHasTheTaggedChange() {
+        Assertions.assertEquals("PRIMARY", bodyDatabase(Long.MAX_VALUE));
+        Assertions.assertEquals("PRIMARY", bodyDatabase(System.currentTimeMillis()));
+    }
+
+    @Test
+    public void testBody_IsReadOnTheReplicaOnceItHasTheTaggedChange() {
+        Assertions.assertEquals("REPLICA", bodyDatabase(System.currentTimeMillis() - 60_000));
+    }
+}
@@ -0,0 +1,76 @@
+package com.squadsync.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.squadsync.backend.dto.GameDto;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionFields;
+import com.squadsync.backend.dto.SessionPageDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SparseFieldsetsTest {
+
+    private static GameSessionDto session() {
+        GameSessionDto dto = new GameSessionDto();
+        dto.setId("s1");
+        dto.setGameId("g1");
+        dto.setGame(new GameDto());
+        dto.setStartTime(LocalDateTime.of(2026, 1, 10, 20, 0));
+        dto.setEndTime(LocalDateTime.of(2026, 1, 10, 23, 0));
+        dto.setPlayerIds(List.of("u1", "u2"));
+        dto.setPlayerCount(2);
+        dto.setStatus("PRELIMINARY");
+        return dto;
+    }
+
+    private static JsonNode write(MappingJacksonValue value) throws Exception {
+        ObjectMapper mapper = new Jackson2ObjectMapperBuilder().filters(value.getFilters()).build();
+        return mapper.readTree(mapper.writeValueAsString(value.getValue()));
+    }
+
+    @Test
+    public void testSelectedFields_AreTheOnlyOnesWrittenInsideWrappers() throws Exception {
+        SessionFields fields = SessionFields.parse("startTime, endTime,playerCount");
+        JsonNode page = write(SparseFieldsets.select(new SessionPageDto(List.of(session()), "next"), fields));
+
+        Assertions.assertEquals("next", page.get("nextCursor").asText());
+        JsonNode session = page.get("sessions").get(0);
+        Assertions.assertEquals(List.of("id", "startTime", "endTime", "playerCount"), fieldNames(session));
+        Assertions.assertEquals(2, session.get("playerCount").asInt());
+    }
+
+    @Test
+    public void testNoFields_WritesEverything() throws Exception {
+        JsonNode session = write(SparseFieldsets.select(session(), SessionFields.parse(null)));
+
+        Assertions.assertTrue(session.has("game"));
+        Assertions.assertTrue(session.has("playerIds"));
+        Assertions.assertTrue(session.has("status"));
+    }
+
+    @Test
+    public void testUnknownField_IsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SessionFields.parse("startTime,password"));
+    }
+
+    @Test
+    public void testFields_DecideWhichPlayerDataIsLoaded() {
+        Assertions.assertTrue(SessionFields.parse("players").needsPlayers());
+        Assertions.assertFalse(SessionFields.parse("status").needsPlayers());
+        Assertions.assertTrue(SessionFields.parse("status").needsPlayerCounts());
+        Assertions.assertFalse(SessionFields.parse("startTime,game").needsPlayerCounts());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,229 @@
+package com.squadsync.backend.listener;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.notification.DeliveryCallback;
+import com.squadsync.backend.notification.NotificationDispatcher;
+import com.squadsync.backend.notification.PreliminaryDigestAggregator;
+import com.squadsync.backend.notification.SessionNotification;
+import com.squadsync.backend.service.GameSessionService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionNotificationListenerTest {
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private PreliminaryDigestAggregator digestAggregator;
+
+    @Mock
+    private GameSessionService gameSessionService;
+
+    @InjectMocks
+    private SessionNotificationListener sessionNotificationListener;
+
+    private GameSession newSession(String id) {
+        Game game = new Game();
+        game.setId("g1");
+        game.setTitle("Test Game");
+        GameSession session = new GameSession();
+        session.setId(id);
+        session.setGame(game);
+        return session;
+    }
+
+    private List<GameSessionSnapshot> dispatched(SessionNotification.Type type) {
+        ArgumentCaptor<SessionNotification> captor = ArgumentCaptor.forClass(SessionNotification.class);
+        verify(notificationDispatcher, atLeast(0)).dispatch(captor.capture(), any(DeliveryCallback.class));
+        return captor.getAllValues().stream()
+                .filter(n -> n.getType() == type)
+                .flatMap(n -> n.getSessions().stream())
+                .toList();
+    }
+
+    private DeliveryCallback lastCallback() {
+        ArgumentCaptor<DeliveryCallback> captor = ArgumentCaptor.forClass(DeliveryCallback.class);
+        verify(notificationDispatcher, atLeastOnce()).dispatch(any(SessionNotification.class), captor.capture());
+        return captor.getValue();
+    }
+
+    private GameSessionsChangedEvent eventFor(GameSession... sessions) {
+        return GameSessionsChangedEvent.of(this, List.of(sessions), Collections.emptyList());
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_ConfirmedSession() {
+        // Given
+        GameSession session = newSession("conf-1");
+
+        // Mock service returning CONFIRMED
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.CONFIRMED);
+
+        // When
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+
+        // Then
+        List<GameSessionSnapshot> captured = dispatched(SessionNotification.Type.CONFIRMED);
+        Assertions.assertEquals(1, captured.size());
+        Assertions.assertEquals("conf-1", captured.get(0).getId());
+        // Marked as notified only once a channel has delivered it
+        verify(gameSessionService, never()).updateNotificationStatus(any(), any());
+        lastCallback().delivered();
+        verify(gameSessionService).updateNotificationStatus("conf-1", GameSession.NotificationStatus.CONFIRMED_SENT);
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_PreliminarySession_ToNotify() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        GameSession session = newSession("prelim-1");
+        session.setNotificationStatus(GameSession.NotificationStatus.NONE);
+        session.setStartTime(now.plusMinutes(90)); // Starts in 1.5h (within 2h window)
+        session.setEndTime(now.plusHours(3));
+
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        // When
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+
+        // Then
+        List<GameSessionSnapshot> captured = dispatched(SessionNotification.Type.PRELIMINARY);
+        Assertions.assertEquals(1, captured.size());
+        Assertions.assertEquals("prelim-1", captured.get(0).getId());
+
+        // Verify it is marked as notified once delivered
+        lastCallback().delivered();
+        verify(gameSessionService).updateNotificationStatus("prelim-1",
+                GameSession.NotificationStatus.PRELIMINARY_SENT);
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_PreliminarySession_AlreadyNotified() {
+        // Given
+        GameSession session = newSession("prelim-notified");
+        session.setNotificationStatus(GameSession.NotificationStatus.PRELIMINARY_SENT);
+
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        // When
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+
+        // Then
+        Assertions.assertTrue(dispatched(SessionNotification.Type.PRELIMINARY).isEmpty());
+        verify(gameSessionService, never()).updateNotificationStatus(any(), any());
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_PreliminarySession_TooFarInFuture() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        GameSession session = newSession("prelim-future");
+        session.setNotificationStatus(GameSession.NotificationStatus.NONE);
+        session.setStartTime(now.plusHours(5)); // Starts in 5h (outside 2h window)
+        session.setEndTime(now.plusHours(7));
+
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        // When
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+
+        // Then
+        Assertions.assertTrue(dispatched(SessionNotification.Type.PRELIMINARY).isEmpty());
+        verify(gameSessionService, never()).updateNotificationStatus(any(), any());
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_OneNotificationPerSession() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        GameSession first = newSession("prelim-a");
+        first.setStartTime(now.plusMinutes(30));
+        first.setEndTime(now.plusHours(2));
+        GameSession second = newSession("prelim-b");
+        second.setStartTime(now.plusMinutes(60));
+        second.setEndTime(now.plusHours(3));
+
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        // When
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(first, second));
+
+        // Then: a retry of one message never resends the other
+        ArgumentCaptor<SessionNotification> captor = ArgumentCaptor.forClass(SessionNotification.class);
+        verify(notificationDispatcher, times(2)).dispatch(captor.capture(), any(DeliveryCallback.class));
+        Assertions.assertEquals(List.of(List.of("prelim-a"), List.of("prelim-b")), captor.getAllValues().stream()
+                .map(n -> n.getSessions().stream().map(GameSessionSnapshot::getId).toList())
+                .toList());
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_UndeliveredSessionIsNotifiedAgain() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        GameSession session = newSession("prelim-retry");
+        session.setStartTime(now.plusMinutes(30));
+        session.setEndTime(now.plusHours(2));
+
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        // When: a second run while the first notification is still queued
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+
+        // Then it is not queued twice
+        verify(notificationDispatcher, times(1)).dispatch(any(SessionNotification.class), any(DeliveryCallback.class));
+
+        // And once every channel has given up, the next run queues it again
+        lastCallback().failed();
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+        verify(notificationDispatcher, times(2)).dispatch(any(SessionNotification.class), any(DeliveryCallback.class));
+        verify(gameSessionService, never()).updateNotificationStatus(any(), any());
+    }
+
+    @Test
+    public void testHandleGameSessionsChanged_DigestMode_AggregatesPreliminary() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        GameSession session = newSession("prelim-digest");
+        session.setStartTime(now.plusMinutes(30));
+        session.setEndTime(now.plusHours(2));
+
+        when(digestAggregator.isEnabled()).thenReturn(true);
+        when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        // When
+        sessionNotificationListener.handleGameSessionsChanged(eventFor(session));
+
+        // Then
+        ArgumentCaptor<List<GameSessionSnapshot>> captor = ArgumentCaptor.forClass(List.class);
+        verify(digestAggregator).add(captor.capture());
+        Assertions.assertEquals("prelim-digest", captor.getValue().get(0).getId());
+        Assertions.assertTrue(dispatched(SessionNotification.Type.PRELIMINARY).isEmpty());
+        // Marked as notified by the aggregator once the digest is delivered
+        verifyNoMoreInteractions(notificationDispatcher);
+        verify(gameSessionService, never()).updateNotificationStatuses(anyMap());
+    }
+}
@@ -0,0 +1,99 @@
+package com.squadsync.backend.listener;
+
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionDeltaDto;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.stream.SessionStreamBroadcaster;
+import com.squadsync.backend.util.DateUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionStreamListenerTest {
+
+    @Mock
+    private SessionStreamBroadcaster broadcaster;
+
+    @Mock
+    private MatchmakingService matchmakingService;
+
+    @Mock
+    private SessionChangeLog sessionChangeLog;
+
+    @InjectMocks
+    private SessionStreamListener listener;
+
+    private final LocalDateTime endTime = DateUtils.now().plusHours(3);
+
+    private GameSession session(String id) {
+        Game game = new Game();
+        game.setId("g1");
+        GameSession session = new GameSession();
+        session.setId(id);
+        session.setGame(game);
+        return session;
+    }
+
+    private GameSessionDto dto(String id, String status) {
+        GameSessionDto dto = new GameSessionDto();
+        dto.setId(id);
+        dto.setStatus(status);
+        dto.setEndTime(endTime);
+        return dto;
+    }
+
+    private GameSessionsChangedEvent event(List<String> removed, GameSession... sessions) {
+        return GameSessionsChangedEvent.of(this, List.of(sessions), removed);
+    }
+
+    @Test
+    public void testNoClients_SkipsMappingEntirely() {
+        listener.handleGameSessionsChanged(event(Collections.emptyList(), session("s1")));
+
+        verifyNoInteractions(matchmakingService);
+        verify(broadcaster, never()).broadcast(anyString(), any());
+    }
+
+    @Test
+    public void testRepublishedSessions_OnlyChangesAreBroadcast() {
+        when(broadcaster.hasClients()).thenReturn(true);
+        GameSessionDto unchanged = dto("s1", "CONFIRMED");
+        when(matchmakingService.getSessions(List.of("s1", "s2")))
+                .thenReturn(List.of(unchanged, dto("s2", "PRELIMINARY")))
+                .thenReturn(List.of(dto("s1", "CONFIRMED"), dto("s2", "CONFIRMED")));
+
+        listener.handleGameSessionsChanged(event(Collections.emptyList(), session("s1"), session("s2")));
+        listener.handleGameSessionsChanged(event(List.of("s3"), session("s1"), session("s2")));
+
+        ArgumentCaptor<SessionDeltaDto> deltas = ArgumentCaptor.forClass(SessionDeltaDto.class);
+        verify(broadcaster, times(2)).broadcast(eq(SessionStreamListener.EVENT_NAME), deltas.capture());
+        Assertions.assertEquals(2, deltas.getAllValues().get(0).getSessions().size());
+
+        SessionDeltaDto second = deltas.getAllValues().get(1);
+        Assertions.assertEquals(1, second.getSessions().size());
+        Assertions.assertEquals("s2", second.getSessions().get(0).getId());
+        Assertions.assertEquals(List.of("s3"), second.getRemovedSessionIds());
+    }
+}
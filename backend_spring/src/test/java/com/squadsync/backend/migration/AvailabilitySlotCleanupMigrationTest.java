@@ -0,0 +1,91 @@
+package com.squadsync.backend.migration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migrates slots written before the overlap and ordering checks (schema as of
+ * V6) and checks that each user is left with valid, non-overlapping slots.
+ */
+public class AvailabilitySlotCleanupMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:slot-cleanup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String ANA = "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c01'";
+    private static final String BEN = "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c02'";
+    private static final String GAME = "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c03'";
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(URL, "sa", "")
+                .locations("classpath:db/migration", "classpath:com/squadsync/backend/migration")
+                .target(target)
+                .load();
+    }
+
+    @Test
+    public void testLegacySlots_AreMergedAndInvalidOnesDropped() throws SQLException {
+        flyway("6").migrate();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, email, password_hash, role) VALUES ("
+                    + ANA + ", 'ana', 'ana@squad.gg', 'hash', 'NORMAL'), ("
+                    + BEN + ", 'ben', 'ben@squad.gg', 'hash', 'NORMAL')");
+            statement.execute("INSERT INTO games (id, title, min_players, max_players) VALUES ("
+                    + GAME + ", 'Valorant', 2, 5)");
+            // Ana: 18-20 overlapped by 19-21 and 20:30-20:45, then 21-22 touching the merged slot, then an empty one
+            slot(statement, "11", ANA, "18:00", "20:00");
+            slot(statement, "12", ANA, "19:00", "21:00");
+            slot(statement, "13", ANA, "20:30", "20:45");
+            slot(statement, "14", ANA, "21:00", "22:00");
+            slot(statement, "15", ANA, "23:00", "23:00");
+            // Ben: the same hours as Ana's first slot are his own, plus one ending before it starts
+            slot(statement, "21", BEN, "18:00", "20:00");
+            slot(statement, "22", BEN, "22:00", "21:00");
+            statement.execute("INSERT INTO availability_game_preferences (id, availability_slot_id, game_id, weight) "
+                    + "VALUES (X'0190f3a8c5e47a1b8c2d3e4f5a6b7d12', X'0190f3a8c5e47a1b8c2d3e4f5a6b7c12', " + GAME + ", 1), "
+                    + "(X'0190f3a8c5e47a1b8c2d3e4f5a6b7d11', X'0190f3a8c5e47a1b8c2d3e4f5a6b7c11', " + GAME + ", 1)");
+
+            flyway("latest").migrate();
+
+            Assertions.assertEquals(List.of("11 18:00-21:00", "14 21:00-22:00", "21 18:00-20:00"), slots(statement));
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT COUNT(*) FROM availability_game_preferences")) {
+                rows.next();
+                // The merged slot keeps its own preference; the absorbed slot's is gone
+                Assertions.assertEquals(1, rows.getInt(1));
+            }
+        }
+    }
+
+    private static void slot(Statement statement, String suffix, String userId, String from, String to)
+            throws SQLException {
+        statement.execute("INSERT INTO availability_slots (id, user_id, game_id, start_time, end_time) VALUES ("
+                + "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c" + suffix + "', " + userId + ", " + GAME
+                + ", '2024-01-01 " + from + ":00', '2024-01-01 " + to + ":00')");
+    }
+
+    private static List<String> slots(Statement statement) throws SQLException {
+        List<String> slots = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery("SELECT id, start_time, end_time FROM availability_slots "
+                + "ORDER BY user_id, start_time")) {
+            while (rows.next()) {
+                byte[] id = rows.getBytes("id");
+                slots.add(String.format("%02x %s-%s", id[id.length - 1],
+                        rows.getTimestamp("start_time").toLocalDateTime().toLocalTime(),
+                        rows.getTimestamp("end_time").toLocalDateTime().toLocalTime()));
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,202 @@
+package com.squadsync.backend.migration;
+
+import com.squadsync.backend.util.UuidV7;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Migrates a database holding VARCHAR ids (schema as of V2, or as created by
+ * ddl-auto=update before Flyway) to binary keys and checks that rows keep
+ * their ids and relationships.
+ */
+public class BinaryUuidMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:uuid-migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String RESUME_URL =
+            "jdbc:h2:mem:uuid-migration-resume;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final String BASELINE_URL =
+            "jdbc:h2:mem:uuid-migration-baseline;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // What ddl-auto=update created from the entities before Flyway: sorted columns, generated constraint
+    // names and no session version
+    private static final String[] DDL_AUTO_SCHEMA = {
+            "create table users (created_at datetime(6), avatar_color varchar(255), discord_id varchar(255), "
+                    + "email varchar(255) not null, id varchar(255) not null, password_hash varchar(255) not null, "
+                    + "role varchar(255), username varchar(255) not null, primary key (id)) engine=InnoDB",
+            "create table games (max_players integer not null, min_players integer not null, "
+                    + "created_at datetime(6), cover_image_url varchar(255), genre varchar(255), "
+                    + "id varchar(255) not null, title varchar(255) not null, primary key (id)) engine=InnoDB",
+            "create table availability_slots (created_at datetime(6), end_time datetime(6) not null, "
+                    + "start_time datetime(6) not null, game_id varchar(255), id varchar(255) not null, "
+                    + "user_id varchar(255) not null, primary key (id)) engine=InnoDB",
+            "create table availability_game_preferences (weight integer not null, "
+                    + "availability_slot_id varchar(255) not null, game_id varchar(255) not null, "
+                    + "id varchar(255) not null, primary key (id)) engine=InnoDB",
+            "create table game_sessions (session_score float(53) not null, created_at datetime(6), "
+                    + "end_time datetime(6) not null, start_time datetime(6) not null, "
+                    + "game_id varchar(255) not null, id varchar(255) not null, "
+                    + "notification_status enum ('NONE','PRELIMINARY_SENT','CONFIRMED_SENT') not null, "
+                    + "primary key (id)) engine=InnoDB",
+            "create table game_session_players (id varchar(255) not null, rejection_reason varchar(255), "
+                    + "session_id varchar(255) not null, user_id varchar(255) not null, "
+                    + "status enum ('PENDING','ACCEPTED','REJECTED'), primary key (id)) engine=InnoDB",
+            "create table user_game_preferences (weight integer not null, game_id varchar(255) not null, "
+                    + "id varchar(255) not null, user_id varchar(255) not null, primary key (id)) engine=InnoDB",
+            "alter table users add constraint UK_6dotkott2kjsp8vw4d0m25fb7 unique (email)",
+            "alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username)",
+            "alter table availability_slots add constraint FKa8x2tmkyd3n4ncnvy0b0g3bq5 "
+                    + "foreign key (user_id) references users (id)",
+            "alter table game_sessions add constraint FKq3w5y1l0xgmbp3xj0d5v4o7ay "
+                    + "foreign key (game_id) references games (id)",
+            "alter table game_session_players add constraint FKn0jtfm5kqy4xk8w1q4f0h1x3m "
+                    + "foreign key (session_id) references game_sessions (id)" };
+
+    private Flyway flyway(String target) {
+        return flyway(URL, target);
+    }
+
+    private Flyway flyway(String url, String target) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration", "classpath:com/squadsync/backend/migration")
+                .target(target)
+                .load();
+    }
+
+    @Test
+    public void testExistingRows_KeepIdsAndForeignKeys() throws SQLException {
+        String userId = UUID.randomUUID().toString();
+        String gameId = UUID.randomUUID().toString();
+        String slotId = UUID.randomUUID().toString();
+        flyway("2").migrate();
+
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO users (id, username, email, password_hash, role) VALUES ('"
+                    + userId + "', 'ana', 'ana@squad.gg', 'hash', 'NORMAL')");
+            statement.execute("INSERT INTO games (id, title, min_players, max_players) VALUES ('"
+                    + gameId + "', 'Valorant', 2, 5)");
+            statement.execute("INSERT INTO availability_slots (id, user_id, game_id, start_time, end_time) VALUES ('"
+                    + slotId + "', '" + userId + "', '" + gameId + "', '2024-01-01 18:00:00', '2024-01-01 20:00:00')");
+
+            flyway("latest").migrate();
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT s.id, s.user_id, u.email FROM availability_slots s JOIN users u ON u.id = s.user_id")) {
+                Assertions.assertTrue(rows.next());
+                Assertions.assertEquals(slotId, UuidV7.fromBytes(rows.getBytes("id")).toString());
+                Assertions.assertEquals(userId, UuidV7.fromBytes(rows.getBytes("user_id")).toString());
+                Assertions.assertEquals("ana@squad.gg", rows.getString("email"));
+            }
+
+            // Foreign keys were recreated
+            Assertions.assertThrows(SQLException.class, () -> statement.execute(
+                    "INSERT INTO availability_slots (id, user_id, start_time, end_time) VALUES ("
+                            + "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c8d', X'0190f3a8c5e47a1b8c2d3e4f5a6b7c8e', "
+                            + "'2024-01-01 18:00:00', '2024-01-01 20:00:00')"));
+        }
+    }
+
+    @Test
+    public void testFailedRun_ResumesAfterRepair() throws SQLException {
+        String userId = UUID.randomUUID().toString();
+        String gameId = UUID.randomUUID().toString();
+        String sessionId = UUID.randomUUID().toString();
+        flyway(RESUME_URL, "2").migrate();
+
+        try (Connection connection = DriverManager.getConnection(RESUME_URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            // A column added by ddl-auto=update, which the copy must leave behind
+            statement.execute("ALTER TABLE users ADD COLUMN nickname VARCHAR(255) FIRST");
+            statement.execute("INSERT INTO users (id, username, email, password_hash, role, nickname) VALUES ('"
+                    + userId + "', 'ana', 'ana@squad.gg', 'hash', 'NORMAL', 'anita')");
+            statement.execute("INSERT INTO games (id, title, min_players, max_players) VALUES ('"
+                    + gameId + "', 'Valorant', 2, 5)");
+            // Not a UUID: the copy of game_sessions fails after the tables before it were converted
+            statement.execute("INSERT INTO game_sessions (id, game_id, start_time, end_time, session_score, "
+                    + "notification_status, version) VALUES ('broken', '" + gameId
+                    + "', '2024-01-01 18:00:00', '2024-01-01 20:00:00', 1.0, 'NONE', 0)");
+
+            Assertions.assertThrows(Exception.class, () -> flyway(RESUME_URL, "latest").migrate());
+            try (ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM game_sessions__old")) {
+                Assertions.assertTrue(rows.next());
+                Assertions.assertEquals(1, rows.getInt(1));
+            }
+
+            statement.execute("UPDATE game_sessions__old SET id = '" + sessionId + "'");
+            flyway(RESUME_URL, "latest").repair();
+            flyway(RESUME_URL, "latest").migrate();
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT s.id, g.title FROM game_sessions s JOIN games g ON g.id = s.game_id")) {
+                Assertions.assertTrue(rows.next());
+                Assertions.assertEquals(sessionId, UuidV7.fromBytes(rows.getBytes("id")).toString());
+                Assertions.assertEquals("Valorant", rows.getString("title"));
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT id FROM users WHERE email = 'ana@squad.gg'")) {
+                Assertions.assertTrue(rows.next());
+                Assertions.assertEquals(userId, UuidV7.fromBytes(rows.getBytes("id")).toString());
+            }
+            // Constraints recreated once: the unique email still holds
+            Assertions.assertThrows(SQLException.class, () -> statement.execute(
+                    "INSERT INTO users (id, username, email, password_hash) VALUES ("
+                            + "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c8d', 'bea', 'ana@squad.gg', 'hash')"));
+        }
+    }
+
+    @Test
+    public void testDdlAutoDatabase_IsBaselinedAndUpgraded() throws SQLException {
+        String userId = UUID.randomUUID().toString();
+        String gameId = UUID.randomUUID().toString();
+        String sessionId = UUID.randomUUID().toString();
+
+        try (Connection connection = DriverManager.getConnection(BASELINE_URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            for (String ddl : DDL_AUTO_SCHEMA) {
+                statement.execute(ddl);
+            }
+            statement.execute("INSERT INTO users (id, username, email, password_hash, role) VALUES ('"
+                    + userId + "', 'ana', 'ana@squad.gg', 'hash', 'NORMAL')");
+            statement.execute("INSERT INTO games (id, title, min_players, max_players) VALUES ('"
+                    + gameId + "', 'Valorant', 2, 5)");
+            statement.execute("INSERT INTO game_sessions (id, game_id, start_time, end_time, session_score, "
+                    + "notification_status) VALUES ('" + sessionId + "', '" + gameId
+                    + "', '2024-01-01 18:00:00', '2024-01-01 20:00:00', 1.0, 'PRELIMINARY_SENT')");
+
+            // As configured in application.properties
+            Flyway.configure()
+                    .dataSource(BASELINE_URL, "sa", "")
+                    .locations("classpath:db/migration", "classpath:com/squadsync/backend/migration")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("0")
+                    .load()
+                    .migrate();
+
+            try (ResultSet rows = statement.executeQuery("SELECT s.id, s.notification_status, s.version, g.title "
+                    + "FROM game_sessions s JOIN games g ON g.id = s.game_id")) {
+                Assertions.assertTrue(rows.next());
+                Assertions.assertEquals(sessionId, UuidV7.fromBytes(rows.getBytes("id")).toString());
+                Assertions.assertEquals("PRELIMINARY_SENT", rows.getString("notification_status"));
+                Assertions.assertEquals(0, rows.getLong("version"));
+                Assertions.assertEquals("Valorant", rows.getString("title"));
+            }
+            try (ResultSet rows = statement.executeQuery("SELECT id FROM users WHERE email = 'ana@squad.gg'")) {
+                Assertions.assertTrue(rows.next());
+                Assertions.assertEquals(userId, UuidV7.fromBytes(rows.getBytes("id")).toString());
+            }
+            // The tables added after the baseline exist and the named constraints replaced the generated ones
+            statement.execute("SELECT COUNT(*) FROM refresh_tokens");
+            Assertions.assertThrows(SQLException.class, () -> statement.execute(
+                    "INSERT INTO users (id, username, email, password_hash) VALUES ("
+                            + "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c8d', 'bea', 'ana@squad.gg', 'hash')"));
+        }
+    }
+}
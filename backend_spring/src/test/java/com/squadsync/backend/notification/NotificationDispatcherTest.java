@@ -0,0 +1,187 @@
+package com.squadsync.backend.notification;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.service.DiscordBotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class NotificationDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    public void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private SessionNotification notification() {
+        GameSessionSnapshot snapshot = new GameSessionSnapshot("s1", 0, "g1", "Test Game", 2,
+                LocalDateTime.now().plusHours(1), LocalDateTime.now().plusHours(3),
+                GameSession.NotificationStatus.NONE, List.of());
+        return SessionNotification.of(SessionNotification.Type.PRELIMINARY, List.of(snapshot));
+    }
+
+    private static NotificationChannel channel(String name, int queueCapacity, RetryPolicy retryPolicy,
+            ThrowingConsumer delivery) {
+        return new NotificationChannel() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public void deliver(SessionNotification notification) throws Exception {
+                delivery.accept(notification);
+            }
+
+            @Override
+            public RetryPolicy getRetryPolicy() {
+                return retryPolicy;
+            }
+
+            @Override
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+        };
+    }
+
+    private interface ThrowingConsumer {
+        void accept(SessionNotification notification) throws Exception;
+    }
+
+    @Test
+    public void testSlowChannelDoesNotStallOthers() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDelivered = new CountDownLatch(3);
+
+        NotificationChannel slow = channel("slow", 1, RetryPolicy.DEFAULT, n -> {
+            slowStarted.countDown();
+            release.await();
+        });
+        NotificationChannel fast = channel("fast", 10, RetryPolicy.DEFAULT, n -> fastDelivered.countDown());
+        dispatcher = new NotificationDispatcher(List.of(slow, fast), meterRegistry);
+
+        dispatcher.dispatch(notification());
+        Assertions.assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(notification());
+        dispatcher.dispatch(notification());
+
+        Assertions.assertTrue(fastDelivered.await(5, TimeUnit.SECONDS), "Fast channel should receive everything");
+        // Slow channel holds one in flight and one queued, the third is dropped
+        Assertions.assertEquals(1.0, meterRegistry.get("notifications.dropped").tag("channel", "slow")
+                .counter().count());
+        release.countDown();
+    }
+
+    @Test
+    public void testFailingChannelIsRetriedAndRecorded() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(3);
+        NotificationChannel failing = channel("failing", 10, new RetryPolicy(3, Duration.ofMillis(1)), n -> {
+            attempts.incrementAndGet();
+            done.countDown();
+            throw new IllegalStateException("boom");
+        });
+        dispatcher = new NotificationDispatcher(List.of(failing), meterRegistry);
+
+        dispatcher.dispatch(notification());
+
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        // The failure is recorded right after the last attempt returns
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("notifications.delivery").tags("channel", "failing", "outcome", "failure")
+                .timer().count() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(3, attempts.get());
+        Assertions.assertEquals(2.0, meterRegistry.get("notifications.retries").tag("channel", "failing")
+                .counter().count());
+        Assertions.assertEquals(1, meterRegistry.get("notifications.delivery")
+                .tags("channel", "failing", "outcome", "failure").timer().count());
+    }
+
+    @Test
+    public void testCallbackHearsOfTheFirstDeliveryOrOfEveryChannelGivingUp() throws Exception {
+        AtomicInteger delivered = new AtomicInteger();
+        CountDownLatch failed = new CountDownLatch(1);
+        CountDownLatch settled = new CountDownLatch(2);
+        DeliveryCallback callback = new DeliveryCallback() {
+            @Override
+            public void delivered() {
+                delivered.incrementAndGet();
+                settled.countDown();
+            }
+
+            @Override
+            public void failed() {
+                failed.countDown();
+            }
+        };
+        RetryPolicy once = new RetryPolicy(1, Duration.ofMillis(1));
+        NotificationChannel first = channel("first", 10, once, n -> {
+        });
+        NotificationChannel second = channel("second", 10, once, n -> settled.countDown());
+        dispatcher = new NotificationDispatcher(List.of(first, second), meterRegistry);
+
+        dispatcher.dispatch(notification(), callback);
+
+        Assertions.assertTrue(settled.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        Assertions.assertEquals(1, delivered.get());
+        Assertions.assertEquals(1, failed.getCount());
+
+        dispatcher.shutdown();
+        ThrowingConsumer boom = n -> {
+            throw new IllegalStateException("boom");
+        };
+        dispatcher = new NotificationDispatcher(List.of(channel("broken", 10, once, boom),
+                channel("down", 10, once, boom)), meterRegistry);
+
+        dispatcher.dispatch(notification(), callback);
+
+        Assertions.assertTrue(failed.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, delivered.get());
+    }
+
+    @Test
+    public void testDiscordChannel_WithoutARunningBot_FailsTheDelivery() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger delivered = new AtomicInteger();
+        DeliveryCallback callback = new DeliveryCallback() {
+            @Override
+            public void delivered() {
+                delivered.incrementAndGet();
+            }
+
+            @Override
+            public void failed() {
+                failed.countDown();
+            }
+        };
+        // Never initialized, as with a missing token
+        NotificationChannel discord = new DiscordNotificationChannel(new DiscordBotService(), 2, 1, 10);
+        dispatcher = new NotificationDispatcher(List.of(discord), meterRegistry);
+
+        dispatcher.dispatch(notification(), callback);
+
+        Assertions.assertTrue(failed.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, delivered.get());
+        Assertions.assertEquals(1.0, meterRegistry.get("notifications.retries").tag("channel", "discord")
+                .counter().count());
+    }
+}
@@ -0,0 +1,182 @@
+package com.squadsync.backend.notification;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.GameSessionPlayer;
+import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.util.DateUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PreliminaryDigestAggregatorTest {
+
+    @Mock
+    private NotificationDispatcher notificationDispatcher;
+
+    @Mock
+    private GameSessionService gameSessionService;
+
+    private final Instant start = Instant.parse("2024-03-01T18:00:00Z");
+
+    // The sessions as the database has them at flush time
+    private final Map<String, GameSessionSnapshot> stored = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        lenient().when(gameSessionService.getSnapshots(any())).thenAnswer(invocation ->
+                ((Collection<String>) invocation.getArgument(0)).stream()
+                        .filter(stored::containsKey).map(stored::get).toList());
+        lenient().when(gameSessionService.getSessionStatus(any(GameSessionSnapshot.class)))
+                .thenReturn(GameSession.SessionStatus.PRELIMINARY);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateUtils.resetClock();
+    }
+
+    private void setTime(Instant instant) {
+        DateUtils.setClock(Clock.fixed(instant, DateUtils.MADRID_ZONE));
+    }
+
+    private GameSessionSnapshot session(String id, int startsInMinutes, String... userIds) {
+        LocalDateTime startTime = LocalDateTime.now().plusMinutes(startsInMinutes);
+        List<GameSessionSnapshot.PlayerSnapshot> players = Arrays.stream(userIds)
+                .map(u -> new GameSessionSnapshot.PlayerSnapshot(u, "discord-" + u,
+                        GameSessionPlayer.SessionPlayerStatus.PENDING))
+                .toList();
+        GameSessionSnapshot snapshot = new GameSessionSnapshot(id, 0, "g1", "Test Game", 2, startTime,
+                startTime.plusHours(2), GameSession.NotificationStatus.NONE, players);
+        stored.put(id, snapshot);
+        return snapshot;
+    }
+
+    private PreliminaryDigestAggregator aggregator() {
+        return new PreliminaryDigestAggregator(notificationDispatcher, gameSessionService, true, 10);
+    }
+
+    @Test
+    public void testSessionsForSameUserWithinWindowAreDigestedOnce() {
+        PreliminaryDigestAggregator aggregator = aggregator();
+        setTime(start);
+
+        aggregator.add(List.of(session("s2", 90, "u1", "u2")));
+        setTime(start.plus(Duration.ofMinutes(4)));
+        aggregator.add(List.of(session("s1", 30, "u1")));
+
+        // Window still open
+        aggregator.flushDue();
+        verify(notificationDispatcher, never()).dispatch(any(), any());
+
+        setTime(start.plus(Duration.ofMinutes(11)));
+        aggregator.flushDue();
+
+        ArgumentCaptor<SessionNotification> captor = ArgumentCaptor.forClass(SessionNotification.class);
+        verify(notificationDispatcher, times(2)).dispatch(captor.capture(), any());
+
+        SessionNotification forU1 = captor.getAllValues().stream()
+                .filter(n -> n.getRecipient().getUserId().equals("u1"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(SessionNotification.Type.DIGEST, forU1.getType());
+        Assertions.assertEquals("discord-u1", forU1.getRecipient().getDiscordId());
+        // Sorted by start time
+        Assertions.assertEquals(List.of("s1", "s2"),
+                forU1.getSessions().stream().map(GameSessionSnapshot::getId).toList());
+
+        SessionNotification forU2 = captor.getAllValues().stream()
+                .filter(n -> n.getRecipient().getUserId().equals("u2"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(1, forU2.getSessions().size());
+
+        // Nothing left pending
+        aggregator.flushDue();
+        verify(notificationDispatcher, times(2)).dispatch(any(), any());
+    }
+
+    @Test
+    public void testRepeatedSessionIsListedOnce() {
+        PreliminaryDigestAggregator aggregator = aggregator();
+        setTime(start);
+
+        aggregator.add(List.of(session("s1", 30, "u1")));
+        aggregator.add(List.of(session("s1", 30, "u1")));
+
+        setTime(start.plus(Duration.ofMinutes(10)));
+        aggregator.flushDue();
+
+        ArgumentCaptor<SessionNotification> captor = ArgumentCaptor.forClass(SessionNotification.class);
+        verify(notificationDispatcher).dispatch(captor.capture(), any());
+        Assertions.assertEquals(1, captor.getValue().getSessions().size());
+    }
+
+    @Test
+    public void testSessionsGoneOrConfirmedMeanwhileAreLeftOut() {
+        PreliminaryDigestAggregator aggregator = aggregator();
+        setTime(start);
+
+        aggregator.add(List.of(session("deleted", 30, "u1"), session("confirmed", 40, "u1"),
+                session("left", 50, "u1"), session("kept", 60, "u1")));
+        stored.remove("deleted");
+        stored.put("left", session("left", 50, "u2"));
+        when(gameSessionService.getSessionStatus(stored.get("confirmed")))
+                .thenReturn(GameSession.SessionStatus.CONFIRMED);
+
+        setTime(start.plus(Duration.ofMinutes(10)));
+        aggregator.flushDue();
+
+        ArgumentCaptor<SessionNotification> captor = ArgumentCaptor.forClass(SessionNotification.class);
+        verify(notificationDispatcher).dispatch(captor.capture(), any());
+        Assertions.assertEquals(List.of("kept"),
+                captor.getValue().getSessions().stream().map(GameSessionSnapshot::getId).toList());
+    }
+
+    @Test
+    public void testSessionsAreMarkedOnlyOnceTheDigestIsDelivered() {
+        PreliminaryDigestAggregator aggregator = aggregator();
+        setTime(start);
+
+        aggregator.add(List.of(session("s1", 30, "u1")));
+        setTime(start.plus(Duration.ofMinutes(10)));
+        aggregator.flushDue();
+
+        ArgumentCaptor<DeliveryCallback> callback = ArgumentCaptor.forClass(DeliveryCallback.class);
+        verify(notificationDispatcher).dispatch(any(), callback.capture());
+        verify(gameSessionService, never()).updateNotificationStatuses(anyMap());
+
+        callback.getValue().delivered();
+        verify(gameSessionService).updateNotificationStatuses(
+                Map.of("s1", GameSession.NotificationStatus.PRELIMINARY_SENT));
+
+        // Announced once: collecting it again for the same user opens no new digest
+        aggregator.add(List.of(session("s1", 30, "u1")));
+        setTime(start.plus(Duration.ofMinutes(20)));
+        aggregator.flushDue();
+        verify(notificationDispatcher, times(1)).dispatch(any(), any());
+    }
+}
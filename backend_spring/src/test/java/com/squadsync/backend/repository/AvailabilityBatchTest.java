@@ -0,0 +1,238 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.AvailabilityBatchDto;
+import com.squadsync.backend.dto.AvailabilitySlotDto;
+import com.squadsync.backend.dto.PreferenceDto;
+import com.squadsync.backend.model.AvailabilitySlot;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.service.AvailabilityService;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.util.DateUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Batch availability changes. Runs without a test transaction so the batch
+ * commits on its own and a rejected batch can be seen to leave nothing behind.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ AvailabilityService.class, ResourceVersionService.class })
+public class AvailabilityBatchTest {
+
+    private static final int SLOTS = 20;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private MatchmakingService matchmakingService;
+
+    private User user;
+    private Game game;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    public void seed() {
+        tomorrow = DateUtils.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@squad.gg");
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+
+        game = new Game();
+        game.setTitle("Valorant");
+        game.setMinPlayers(2);
+        gameRepository.save(game);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slotRepository.deleteAll();
+        gameRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testBatch_AppliesAllChangesAndRunsMatchmakingOnce() {
+        List<AvailabilitySlotDto> existing = availabilityService.applyBatch(user.getId(), batch(
+                List.of(slot(tomorrow, 2), slot(tomorrow.plusHours(3), 2)), List.of(), List.of()));
+        Assertions.assertEquals(2, existing.size());
+
+        AvailabilitySlotDto moved = slot(tomorrow.plusHours(5), 1);
+        moved.setId(existing.get(0).getId());
+        moved.setPreferences(List.of(preference(game.getId(), 8)));
+        List<AvailabilitySlotDto> result = availabilityService.applyBatch(user.getId(), batch(
+                List.of(slot(tomorrow, 1)), List.of(moved), List.of(existing.get(1).getId())));
+
+        Assertions.assertEquals(2, result.size());
+        List<AvailabilitySlot> slots = slotRepository.findWithPreferencesByUserId(user.getId());
+        slots.sort(Comparator.comparing(AvailabilitySlot::getStartTime));
+        Assertions.assertEquals(tomorrow, slots.get(0).getStartTime());
+        Assertions.assertEquals(existing.get(0).getId(), slots.get(1).getId());
+        Assertions.assertEquals(tomorrow.plusHours(5), slots.get(1).getStartTime());
+        Assertions.assertEquals(8, slots.get(1).getPreferences().get(0).getWeight());
+        verify(matchmakingService, times(2)).runMatchmaking();
+    }
+
+    @Test
+    public void testBatch_InsertsAreBatched() {
+        List<AvailabilitySlotDto> creates = new ArrayList<>();
+        for (int i = 0; i < SLOTS; i++) {
+            AvailabilitySlotDto dto = slot(tomorrow.plusHours(2L * i), 1);
+            dto.setPreferences(List.of(preference(game.getId(), 5)));
+            creates.add(dto);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        availabilityService.applyBatch(user.getId(), batch(creates, List.of(), List.of()));
+
+        Assertions.assertEquals(SLOTS, slotRepository.count());
+        Assertions.assertEquals(2L * SLOTS, statistics.getEntityInsertCount());
+        // A constant number of statements: lookups, one batch per table, then the result
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < 10,
+                "statements: " + statistics.getPrepareStatementCount());
+        verify(matchmakingService, times(1)).runMatchmaking();
+    }
+
+    @Test
+    public void testBatch_OverlapRejectsTheWholeBatch() {
+        List<AvailabilitySlotDto> existing = availabilityService.applyBatch(user.getId(), batch(
+                List.of(slot(tomorrow, 2)), List.of(), List.of()));
+
+        // The new slot only fits because the existing one is deleted; the second create overlaps the first
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.applyBatch(user.getId(), batch(
+                        List.of(slot(tomorrow, 2), slot(tomorrow.plusHours(1), 2)),
+                        List.of(), List.of(existing.get(0).getId()))));
+
+        Assertions.assertEquals("Overlapping availability slot exists", exception.getMessage());
+        Assertions.assertEquals(existing.get(0).getId(), slotRepository.findAll().get(0).getId());
+        Assertions.assertEquals(1, slotRepository.count());
+        verify(matchmakingService, times(1)).runMatchmaking();
+    }
+
+    @Test
+    public void testBatch_RejectsSlotOfAnotherUserAndRepeatedIds() {
+        List<AvailabilitySlotDto> existing = availabilityService.applyBatch(user.getId(), batch(
+                List.of(slot(tomorrow, 2)), List.of(), List.of()));
+        String slotId = existing.get(0).getId();
+
+        User other = new User();
+        other.setUsername("ben");
+        other.setEmail("ben@squad.gg");
+        other.setPasswordHash("hash");
+        userRepository.save(other);
+
+        Assertions.assertThrows(RuntimeException.class,
+                () -> availabilityService.applyBatch(other.getId(), batch(List.of(), List.of(), List.of(slotId))));
+
+        AvailabilitySlotDto update = slot(tomorrow, 1);
+        update.setId(slotId);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.applyBatch(user.getId(), batch(List.of(), List.of(update), List.of(slotId))));
+        Assertions.assertEquals(1, slotRepository.count());
+    }
+
+    @Test
+    public void testBatch_SessionAcrossBackToBackSlotsIsKeptWhileTheirUnionCoversIt() {
+        List<AvailabilitySlotDto> existing = availabilityService.applyBatch(user.getId(), batch(
+                List.of(slot(tomorrow, 2), slot(tomorrow.plusHours(2), 2)), List.of(), List.of()));
+        existing = new ArrayList<>(existing);
+        existing.sort(Comparator.comparing(AvailabilitySlotDto::getStartTime));
+        GameSession session = new GameSession();
+        session.setId("s1");
+        session.setStartTime(tomorrow.plusHours(1));
+        session.setEndTime(tomorrow.plusHours(3));
+        when(matchmakingService.findSessionsForUser(user.getId())).thenReturn(List.of(session));
+
+        // The first slot moves an hour earlier: still covered by the two slots together
+        AvailabilitySlotDto earlier = slot(tomorrow.minusHours(1), 3);
+        earlier.setId(existing.get(0).getId());
+        availabilityService.applyBatch(user.getId(), batch(List.of(), List.of(earlier), List.of()));
+        verify(matchmakingService, never()).removePlayerFromSession(any(), any());
+
+        // Without the second slot the session is no longer covered
+        availabilityService.applyBatch(user.getId(), batch(List.of(), List.of(), List.of(existing.get(1).getId())));
+        verify(matchmakingService).removePlayerFromSession("s1", user.getId());
+    }
+
+    @Test
+    public void testBatch_PastChangesSkipMatchmaking() {
+        LocalDateTime yesterday = tomorrow.minusDays(2);
+
+        availabilityService.applyBatch(user.getId(), batch(List.of(slot(yesterday, 2)), List.of(), List.of()));
+
+        Assertions.assertEquals(1, slotRepository.count());
+        verify(matchmakingService, never()).runMatchmaking();
+    }
+
+    private static AvailabilityBatchDto batch(List<AvailabilitySlotDto> create, List<AvailabilitySlotDto> update,
+            List<String> delete) {
+        AvailabilityBatchDto batch = new AvailabilityBatchDto();
+        batch.setCreate(create);
+        batch.setUpdate(update);
+        batch.setDelete(delete);
+        return batch;
+    }
+
+    private AvailabilitySlotDto slot(LocalDateTime start, int hours) {
+        AvailabilitySlotDto dto = new AvailabilitySlotDto();
+        dto.setStartTime(start);
+        dto.setEndTime(start.plusHours(hours));
+        dto.setGameId(game.getId());
+        return dto;
+    }
+
+    private static PreferenceDto preference(String gameId, int weight) {
+        PreferenceDto dto = new PreferenceDto();
+        dto.setGameId(gameId);
+        dto.setWeight(weight);
+        return dto;
+    }
+}
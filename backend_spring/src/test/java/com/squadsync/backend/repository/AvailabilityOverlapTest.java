@@ -0,0 +1,156 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.AvailabilitySlotDto;
+import com.squadsync.backend.model.AvailabilitySlot;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.service.AvailabilityService;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.util.DateUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overlap check on slot creation: one seek regardless of the user's history,
+ * and concurrent creates of the same user serialized on the user row. Runs
+ * without a test transaction so each create commits on its own.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ AvailabilityService.class, ResourceVersionService.class })
+public class AvailabilityOverlapTest {
+
+    private static final int HISTORY = 200;
+    private static final int WRITERS = 4;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private MatchmakingService matchmakingService;
+
+    private User user;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    public void seed() {
+        tomorrow = DateUtils.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@squad.gg");
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        slotRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testExistsOverlapping_IsOneStatementOverAnyHistory() {
+        // A long past history, plus one slot tomorrow 20:00 - 22:00
+        List<AvailabilitySlot> history = new ArrayList<>();
+        for (int i = HISTORY; i > 0; i--) {
+            history.add(slot(tomorrow.minusDays(i), 2));
+        }
+        history.add(slot(tomorrow.withHour(20), 2));
+        slotRepository.saveAll(history);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LocalDateTime evening = tomorrow.withHour(20);
+        Assertions.assertTrue(slotRepository.existsOverlapping(user.getId(), evening.plusHours(1), evening.plusHours(3)));
+        Assertions.assertTrue(slotRepository.existsOverlapping(user.getId(), evening.minusHours(1), evening.plusHours(3)));
+        Assertions.assertTrue(slotRepository.existsOverlapping(user.getId(), evening.plusMinutes(30), evening.plusHours(1)));
+        // Touching at either end is not an overlap
+        Assertions.assertFalse(slotRepository.existsOverlapping(user.getId(), evening.minusHours(2), evening));
+        Assertions.assertFalse(slotRepository.existsOverlapping(user.getId(), evening.plusHours(2), evening.plusHours(4)));
+        Assertions.assertFalse(slotRepository.existsOverlapping("0190f3a8-c5e4-7a1b-8c2d-3e4f5a6b7c8d",
+                evening, evening.plusHours(1)));
+
+        Assertions.assertEquals(6, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testConcurrentCreates_OnlyOneOverlappingSlotIsStored() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            // Every writer's slot overlaps every other's
+            LocalDateTime from = tomorrow.plusMinutes(15L * i);
+            results.add(writers.submit(() -> {
+                start.await();
+                return availabilityService.createSlot(user.getId(), dto(from, 2));
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<?> result : results) {
+            try {
+                result.get(10, TimeUnit.SECONDS);
+                created++;
+            } catch (ExecutionException e) {
+                Assertions.assertEquals("Overlapping availability slot exists", e.getCause().getMessage());
+            }
+        }
+        writers.shutdown();
+
+        Assertions.assertEquals(1, created);
+        Assertions.assertEquals(1, slotRepository.count());
+    }
+
+    private AvailabilitySlot slot(LocalDateTime start, int hours) {
+        AvailabilitySlot slot = new AvailabilitySlot();
+        slot.setUser(user);
+        slot.setStartTime(start);
+        slot.setEndTime(start.plusHours(hours));
+        return slot;
+    }
+
+    private static AvailabilitySlotDto dto(LocalDateTime start, int hours) {
+        AvailabilitySlotDto dto = new AvailabilitySlotDto();
+        dto.setStartTime(start);
+        dto.setEndTime(start.plusHours(hours));
+        return dto;
+    }
+}
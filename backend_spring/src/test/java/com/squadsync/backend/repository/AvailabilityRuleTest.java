@@ -0,0 +1,175 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.AvailabilityRuleDto;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.service.AvailabilityRuleExpander;
+import com.squadsync.backend.service.AvailabilityRuleService;
+import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.util.DateUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Recurring availability rules through matchmaking. Runs without a test
+ * transaction so rule changes commit and reach the expansion cache the way
+ * they do in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ AvailabilityRuleService.class, AvailabilityRuleExpander.class, MatchmakingService.class,
+        GameSessionService.class, ResourceVersionService.class, SessionChangeLog.class })
+public class AvailabilityRuleTest {
+
+    @Autowired
+    private AvailabilityRuleService ruleService;
+
+    @Autowired
+    private AvailabilityRuleExpander ruleExpander;
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Autowired
+    private AvailabilityRuleRepository ruleRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private GameSessionRepository sessionRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User ana;
+    private User ben;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    public void seed() {
+        tomorrow = DateUtils.now().toLocalDate().plusDays(1);
+        ana = user("ana");
+        ben = user("ben");
+        Game game = new Game();
+        game.setTitle("Valorant");
+        game.setMinPlayers(2);
+        gameRepository.save(game);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sessionRepository.deleteAll();
+        ruleRepository.deleteAll();
+        ruleExpander.invalidate();
+        gameRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testRules_AreMatchedWithoutStoringSlots() {
+        ruleService.createRule(ana.getId(), rule(20, 22));
+        ruleService.createRule(ben.getId(), rule(20, 22));
+
+        List<GameSessionDto> sessions = matchmakingService.getUpcomingSessions();
+        Assertions.assertFalse(sessions.isEmpty());
+        Assertions.assertEquals(tomorrow.atTime(20, 0), sessions.get(0).getStartTime());
+        Assertions.assertEquals(tomorrow.atTime(22, 0), sessions.get(0).getEndTime());
+        sessions.forEach(session -> Assertions.assertEquals(2, session.getPlayers().size()));
+        Assertions.assertEquals(0, slotRepository.count());
+    }
+
+    @Test
+    public void testExceptionAndDelete_RemoveTheirSessions() {
+        ruleService.createRule(ana.getId(), rule(20, 22));
+        AvailabilityRuleDto benRule = ruleService.createRule(ben.getId(), rule(20, 22));
+
+        AvailabilityRuleDto skipTomorrow = rule(20, 22);
+        skipTomorrow.setExceptions(List.of(tomorrow));
+        AvailabilityRuleDto updated = ruleService.updateRule(benRule.getId(), ben.getId(), skipTomorrow);
+
+        Assertions.assertEquals(List.of(tomorrow), updated.getExceptions());
+        Assertions.assertTrue(matchmakingService.getUpcomingSessions().stream()
+                .noneMatch(session -> session.getStartTime().toLocalDate().equals(tomorrow)));
+
+        ruleService.deleteRule(benRule.getId(), ben.getId());
+
+        Assertions.assertTrue(matchmakingService.getUpcomingSessions().isEmpty());
+        Assertions.assertEquals(1, ruleService.getUserRules(ana.getId()).size());
+        Assertions.assertTrue(ruleService.getUserRules(ben.getId()).isEmpty());
+    }
+
+    @Test
+    public void testOverlappingRule_IsRejected() {
+        ruleService.createRule(ana.getId(), rule(20, 22));
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ruleService.createRule(ana.getId(), rule(21, 23)));
+
+        Assertions.assertEquals("Overlapping availability rule exists", exception.getMessage());
+        // The same hours on another weekday are fine
+        AvailabilityRuleDto otherDay = rule(20, 22);
+        otherDay.setDayOfWeek(tomorrow.getDayOfWeek().plus(1));
+        ruleService.createRule(ana.getId(), otherDay);
+        Assertions.assertEquals(2, ruleRepository.count());
+    }
+
+    @Test
+    public void testOvernightRule_IsRejectedButMayEndAtMidnight() {
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ruleService.createRule(ana.getId(), rule(22, 2)));
+        Assertions.assertTrue(exception.getMessage().contains("split overnight availability at midnight"));
+
+        AvailabilityRuleDto lateNight = rule(22, 0);
+        ruleService.createRule(ana.getId(), lateNight);
+        // Ends when the day does, so it neither overlaps an evening rule ending at 22:00 nor the next day
+        ruleService.createRule(ana.getId(), rule(20, 22));
+        AvailabilityRuleDto nextMorning = rule(0, 2);
+        nextMorning.setDayOfWeek(tomorrow.getDayOfWeek().plus(1));
+        ruleService.createRule(ana.getId(), nextMorning);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ruleService.createRule(ana.getId(), rule(23, 0)));
+
+        Assertions.assertEquals(3, ruleRepository.count());
+        Assertions.assertTrue(ruleExpander.occurrencesAfter(DateUtils.now()).stream().anyMatch(occurrence ->
+                occurrence.getStart().equals(tomorrow.atTime(22, 0))
+                        && occurrence.getEnd().equals(tomorrow.plusDays(1).atStartOfDay())));
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@squad.gg");
+        user.setPasswordHash("hash");
+        return userRepository.save(user);
+    }
+
+    private AvailabilityRuleDto rule(int fromHour, int toHour) {
+        AvailabilityRuleDto dto = new AvailabilityRuleDto();
+        dto.setDayOfWeek(tomorrow.getDayOfWeek());
+        dto.setStartTime(LocalTime.of(fromHour, 0));
+        dto.setEndTime(LocalTime.of(toHour, 0));
+        return dto;
+    }
+}
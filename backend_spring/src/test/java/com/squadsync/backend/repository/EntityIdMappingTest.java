@@ -0,0 +1,57 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.model.AvailabilitySlot;
+import com.squadsync.backend.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class EntityIdMappingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilitySlotRepository slotRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testIds_AreTimeOrderedUuidsStoredAsBinary() {
+        User user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@squad.gg");
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+
+        AvailabilitySlot slot = new AvailabilitySlot();
+        slot.setUser(user);
+        slot.setStartTime(LocalDateTime.of(2024, 1, 1, 18, 0));
+        slot.setEndTime(LocalDateTime.of(2024, 1, 1, 20, 0));
+        slotRepository.save(slot);
+        entityManager.flush();
+        entityManager.clear();
+
+        Assertions.assertEquals(7, UUID.fromString(user.getId()).version());
+
+        List<AvailabilitySlot> slots = slotRepository.findByUserId(user.getId());
+        Assertions.assertEquals(1, slots.size());
+        Assertions.assertEquals(slot.getId(), slots.get(0).getId());
+        Assertions.assertEquals("ana@squad.gg", slots.get(0).getUser().getEmail());
+
+        Object length = entityManager.createNativeQuery("SELECT OCTET_LENGTH(id) FROM users").getSingleResult();
+        Assertions.assertEquals(16, ((Number) length).intValue());
+    }
+}
@@ -0,0 +1,197 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.AvailabilitySlotDto;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.PreferenceDto;
+import com.squadsync.backend.dto.SessionFields;
+import com.squadsync.backend.model.AvailabilityGamePreference;
+import com.squadsync.backend.model.AvailabilitySlot;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.GameSessionPlayer;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.model.UserGamePreference;
+import com.squadsync.backend.service.AvailabilityRuleExpander;
+import com.squadsync.backend.service.AvailabilityService;
+import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.PreferenceService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.util.DateUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements issued per read path. Each read must be a constant number of
+ * selects regardless of how many sessions, players and slots are returned.
+ * Read endpoints are projections, so they also never fetch entities.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({ MatchmakingService.class, GameSessionService.class, AvailabilityService.class, PreferenceService.class,
+        ResourceVersionService.class, SessionChangeLog.class, AvailabilityRuleExpander.class })
+public class FetchPlanTest {
+
+    private static final int USERS = 4;
+    private static final int SESSIONS = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private PreferenceService preferenceService;
+
+    private final List<User> users = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    public void seed() {
+        LocalDateTime tomorrow = DateUtils.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        List<Game> games = new ArrayList<>();
+        for (int g = 0; g < 2; g++) {
+            Game game = new Game();
+            game.setTitle("Game " + g);
+            game.setMinPlayers(2);
+            entityManager.persist(game);
+            games.add(game);
+        }
+
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setUsername("player" + u);
+            user.setEmail("player" + u + "@squad.gg");
+            user.setPasswordHash("hash");
+            entityManager.persist(user);
+            users.add(user);
+
+            for (Game game : games) {
+                UserGamePreference preference = new UserGamePreference();
+                preference.setUser(user);
+                preference.setGame(game);
+                entityManager.persist(preference);
+            }
+
+            for (int s = 0; s < SESSIONS; s++) {
+                AvailabilitySlot slot = new AvailabilitySlot();
+                slot.setUser(user);
+                slot.setGame(games.get(0));
+                slot.setStartTime(tomorrow.plusDays(s));
+                slot.setEndTime(tomorrow.plusDays(s).plusHours(3));
+                AvailabilityGamePreference override = new AvailabilityGamePreference();
+                override.setAvailabilitySlot(slot);
+                override.setGame(games.get(1));
+                override.setWeight(8);
+                slot.getPreferences().add(override);
+                entityManager.persist(slot);
+            }
+        }
+
+        for (int s = 0; s < SESSIONS; s++) {
+            GameSession session = new GameSession();
+            session.setGame(games.get(s % games.size()));
+            session.setStartTime(tomorrow.plusDays(s));
+            session.setEndTime(tomorrow.plusDays(s).plusHours(3));
+            for (User user : users) {
+                GameSessionPlayer player = new GameSessionPlayer();
+                player.setSession(session);
+                player.setUser(user);
+                session.getPlayers().add(player);
+            }
+            entityManager.persist(session);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testUpcomingSessions_IsTwoStatements() {
+        List<GameSessionDto> sessions = matchmakingService.getUpcomingSessions();
+
+        Assertions.assertEquals(SESSIONS, sessions.size());
+        sessions.forEach(s -> {
+            Assertions.assertEquals(USERS, s.getPlayers().size());
+            Assertions.assertNotNull(s.getPlayers().get(0).getUsername());
+            Assertions.assertNotNull(s.getGame().getTitle());
+        });
+        // Sessions with their game, then the players of all of them
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testSparseFields_LoadOnlyThePlayerDataTheyNeed() {
+        List<GameSessionDto> times = matchmakingService.getUpcomingSessions(SessionFields.parse("startTime,endTime"));
+        Assertions.assertEquals(SESSIONS, times.size());
+        Assertions.assertNull(times.get(0).getGame());
+        // No player query at all
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        List<GameSessionDto> counts = matchmakingService.getUpcomingSessions(
+                SessionFields.parse("startTime,playerCount,status"));
+        Assertions.assertEquals(USERS, counts.get(0).getPlayerCount());
+        Assertions.assertNotNull(counts.get(0).getStatus());
+        Assertions.assertNull(counts.get(0).getPlayers());
+        // Per-session totals instead of a row per player
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testUserSlots_IsASingleStatement() {
+        List<AvailabilitySlotDto> slots = availabilityService.getUserSlots(users.get(0).getId());
+
+        Assertions.assertEquals(SESSIONS, slots.size());
+        Assertions.assertNotNull(slots.get(0).getGameId());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testUserPreferences_IsASingleStatement() {
+        List<PreferenceDto> preferences = preferenceService.getUserPreferences(users.get(0).getId());
+
+        Assertions.assertEquals(2, preferences.size());
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void testMatchmakingSnapshot_NeverLoadsAssociationsRowByRow() {
+        matchmakingService.runMatchmaking();
+
+        // Lazy initialisations are the per-row selects; the snapshot queries must have fetched everything
+        Assertions.assertEquals(0, statistics.getEntityFetchCount(), "lazy entity fetches");
+        Assertions.assertEquals(0, statistics.getCollectionFetchCount(), "lazy collection fetches");
+    }
+}
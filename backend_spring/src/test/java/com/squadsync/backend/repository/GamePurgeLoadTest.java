@@ -0,0 +1,220 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.GameDeletionDto;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.service.GamePurgeService;
+import com.squadsync.backend.service.GameService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.util.DateUtils;
+import com.squadsync.backend.util.UuidV7;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deleting a game with 100k dependent rows. Runs without a test transaction
+ * so the background purge sees the seeded rows and every chunk commits as it
+ * would in production.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ GameService.class, GamePurgeService.class, ResourceVersionService.class, SessionChangeLog.class })
+public class GamePurgeLoadTest {
+
+    private static final int USERS = 2_000;
+    private static final int SESSIONS = 10_000;
+    private static final int PLAYERS_PER_SESSION = 4;
+    private static final int SLOTS_PER_USER = 10;
+    private static final int OTHER_GAME_SLOTS = 8_000;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GamePurgeService gamePurgeService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void tearDown() {
+        for (String table : List.of("game_session_players", "game_sessions", "availability_game_preferences",
+                "availability_slots", "user_game_preferences", "games", "users")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void testDeleteGame_PurgesHundredThousandRowsInChunks() {
+        Game target = game("Popular");
+        Game other = game("Other");
+        seed(target, other, USERS, SESSIONS, OTHER_GAME_SLOTS);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        gameService.deleteGame(target.getId());
+        GameDeletionDto result = awaitPurge(target.getId());
+
+        Map<String, Long> deleted = result.getDeletedRows();
+        Assertions.assertEquals(GamePurgeService.STATUS_COMPLETED, result.getStatus(), result.getError());
+        Assertions.assertEquals(SESSIONS, deleted.get("game_sessions"));
+        Assertions.assertEquals(SESSIONS * PLAYERS_PER_SESSION, deleted.get("game_session_players"));
+        Assertions.assertEquals(USERS * SLOTS_PER_USER, deleted.get("availability_slots"));
+        Assertions.assertEquals(USERS * SLOTS_PER_USER + OTHER_GAME_SLOTS,
+                deleted.get("availability_game_preferences"));
+        Assertions.assertEquals(USERS, deleted.get("user_game_preferences"));
+        Assertions.assertEquals(1, deleted.get("games"));
+        Assertions.assertEquals(100_000, deleted.values().stream().mapToLong(Long::longValue).sum() - 1);
+
+        // A few statements per 1000-row chunk, never one per row, and no dependent is loaded as an entity
+        Assertions.assertTrue(statistics.getPrepareStatementCount() < 200,
+                "statements: " + statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getCollectionFetchCount());
+        Assertions.assertTrue(gameRepository.findById(target.getId()).isEmpty());
+
+        // The other game keeps its rows, minus the per-slot overrides that named the deleted game
+        Assertions.assertEquals(OTHER_GAME_SLOTS,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM availability_slots", Long.class));
+        Assertions.assertEquals(0L,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM availability_game_preferences", Long.class));
+        Assertions.assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game_sessions", Long.class));
+        Assertions.assertTrue(gameRepository.findById(other.getId()).isPresent());
+    }
+
+    @Test
+    public void testDeletedGame_IsHiddenAndPurgedBySweep() {
+        Game target = game("Abandoned");
+        Game other = game("Other");
+        seed(target, other, 10, 5, 10);
+        target.setDeletedAt(DateUtils.now());
+        gameRepository.save(target);
+
+        Assertions.assertEquals(GamePurgeService.STATUS_PENDING,
+                gamePurgeService.getProgress(target.getId()).orElseThrow().getStatus());
+        Assertions.assertEquals(1, gameService.getAllGames().size());
+        Assertions.assertThrows(RuntimeException.class, () -> gameService.getGameById(target.getId()));
+
+        gamePurgeService.purgeDeleted();
+
+        Assertions.assertEquals(GamePurgeService.STATUS_COMPLETED,
+                gameService.getDeletionProgress(target.getId()).getStatus());
+        Assertions.assertTrue(gameRepository.findDeletedIds().isEmpty());
+        Assertions.assertEquals(1, gameRepository.count());
+    }
+
+    private GameDeletionDto awaitPurge(String gameId) {
+        long deadline = System.currentTimeMillis() + 120_000;
+        GameDeletionDto progress = gameService.getDeletionProgress(gameId);
+        while (!progress.getStatus().equals(GamePurgeService.STATUS_COMPLETED)
+                && !progress.getStatus().equals(GamePurgeService.STATUS_FAILED)) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "purge still " + progress.getStatus());
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            progress = gameService.getDeletionProgress(gameId);
+        }
+        return progress;
+    }
+
+    private Game game(String title) {
+        Game game = new Game();
+        game.setTitle(title);
+        game.setMinPlayers(2);
+        return gameRepository.save(game);
+    }
+
+    /**
+     * Users with a preference and slots for the target game (each slot with an
+     * override for the other game), sessions of the target game, and slots of
+     * the other game with an override for the target.
+     */
+    private void seed(Game target, Game other, int users, int sessions, int otherSlots) {
+        byte[] targetId = bytes(target.getId());
+        byte[] otherId = bytes(other.getId());
+        Timestamp start = Timestamp.valueOf(DateUtils.now().plusDays(1));
+        Timestamp end = Timestamp.valueOf(DateUtils.now().plusDays(1).plusHours(3));
+
+        List<byte[]> userIds = new ArrayList<>();
+        List<Object[]> userRows = new ArrayList<>();
+        List<Object[]> preferenceRows = new ArrayList<>();
+        List<Object[]> slotRows = new ArrayList<>();
+        List<Object[]> overrideRows = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            byte[] userId = newId();
+            userIds.add(userId);
+            userRows.add(new Object[] { userId, "user" + u, "user" + u + "@squad.gg" });
+            preferenceRows.add(new Object[] { newId(), userId, targetId });
+            for (int s = 0; s < SLOTS_PER_USER; s++) {
+                byte[] slotId = newId();
+                slotRows.add(new Object[] { slotId, userId, targetId, start, end });
+                overrideRows.add(new Object[] { newId(), slotId, otherId });
+            }
+        }
+        for (int s = 0; s < otherSlots; s++) {
+            byte[] slotId = newId();
+            slotRows.add(new Object[] { slotId, userIds.get(s % users), otherId, start, end });
+            overrideRows.add(new Object[] { newId(), slotId, targetId });
+        }
+
+        List<Object[]> sessionRows = new ArrayList<>();
+        List<Object[]> playerRows = new ArrayList<>();
+        for (int s = 0; s < sessions; s++) {
+            byte[] sessionId = newId();
+            sessionRows.add(new Object[] { sessionId, targetId, start, end });
+            for (int p = 0; p < PLAYERS_PER_SESSION; p++) {
+                playerRows.add(new Object[] { newId(), sessionId, userIds.get((s + p) % users) });
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password_hash) VALUES (?, ?, ?, 'hash')",
+                userRows);
+        jdbcTemplate.batchUpdate("INSERT INTO user_game_preferences (id, user_id, game_id, weight) VALUES (?, ?, ?, 5)",
+                preferenceRows);
+        jdbcTemplate.batchUpdate("INSERT INTO availability_slots (id, user_id, game_id, start_time, end_time) "
+                + "VALUES (?, ?, ?, ?, ?)", slotRows);
+        jdbcTemplate.batchUpdate("INSERT INTO availability_game_preferences (id, availability_slot_id, game_id, weight) "
+                + "VALUES (?, ?, ?, 8)", overrideRows);
+        jdbcTemplate.batchUpdate("INSERT INTO game_sessions (id, game_id, start_time, end_time, session_score, "
+                + "notification_status, version) VALUES (?, ?, ?, ?, 0, 'NONE', 0)", sessionRows);
+        jdbcTemplate.batchUpdate("INSERT INTO game_session_players (id, session_id, user_id, status) "
+                + "VALUES (?, ?, ?, 'PENDING')", playerRows);
+    }
+
+    private static byte[] newId() {
+        return UuidV7.toBytes(UuidV7.generate());
+    }
+
+    private static byte[] bytes(String id) {
+        return UuidV7.toBytes(UUID.fromString(id));
+    }
+}
@@ -0,0 +1,88 @@
+package com.squadsync.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode, lets Hibernate validate
+ * the entities against them, and checks that the hot queries are planned on
+ * the matchmaking indexes rather than a table scan.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class QueryPlanTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private static final String USER_ID = "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c8d'";
+    private static final String SESSION_ID = "X'0190f3a8c5e47a1b8c2d3e4f5a6b7c8e'";
+
+    private String plan(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult()).toLowerCase();
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = plan(sql);
+        Assertions.assertTrue(plan.contains(index), "Expected " + index + " in plan:\n" + plan);
+    }
+
+    // For lookups where the foreign key index shares the leading column the optimizer may pick either
+    private void assertIndexSeek(String condition, String sql) {
+        String plan = plan(sql);
+        Assertions.assertFalse(plan.contains("tablescan"), "Unexpected table scan:\n" + plan);
+        Assertions.assertTrue(plan.contains(condition + " */"), "Expected index lookup on " + condition + ":\n" + plan);
+    }
+
+    @Test
+    public void testUpcomingSlots_UseEndStartIndex() {
+        assertUsesIndex("idx_availability_slots_end_start",
+                "SELECT id, user_id, start_time, end_time FROM availability_slots "
+                        + "WHERE end_time > CURRENT_TIMESTAMP ORDER BY start_time");
+    }
+
+    @Test
+    public void testUserSlots_SeekOnUserId() {
+        assertIndexSeek("user_id = " + USER_ID.toLowerCase(),
+                "SELECT id, start_time, end_time FROM availability_slots WHERE user_id = " + USER_ID);
+    }
+
+    @Test
+    public void testSlotOverlapCheck_SeeksLatestStartOnUserIndex() {
+        assertUsesIndex("idx_availability_slots_user_start_end",
+                "SELECT end_time FROM availability_slots WHERE user_id = " + USER_ID
+                        + " AND start_time < CURRENT_TIMESTAMP ORDER BY start_time DESC LIMIT 1");
+    }
+
+    @Test
+    public void testUpcomingSessions_UseEndStartIndex() {
+        assertUsesIndex("idx_game_sessions_end_start",
+                "SELECT id, start_time, end_time FROM game_sessions "
+                        + "WHERE end_time > CURRENT_TIMESTAMP ORDER BY start_time");
+    }
+
+    @Test
+    public void testSessionPlayers_SeekOnSessionId() {
+        assertIndexSeek("session_id = " + SESSION_ID.toLowerCase(),
+                "SELECT user_id, status FROM game_session_players WHERE session_id = " + SESSION_ID);
+    }
+
+    @Test
+    public void testPlayerSessions_SeekOnUserId() {
+        assertIndexSeek("user_id = " + USER_ID.toLowerCase(),
+                "SELECT session_id FROM game_session_players WHERE user_id = " + USER_ID);
+    }
+
+    @Test
+    public void testUserPreferences_SeekOnUserId() {
+        String plan = plan("SELECT game_id, weight FROM user_game_preferences WHERE user_id IN ("
+                + USER_ID + ", " + SESSION_ID + ")");
+        Assertions.assertFalse(plan.contains("tablescan"), "Unexpected table scan:\n" + plan);
+    }
+}
@@ -0,0 +1,148 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.GameDto;
+import com.squadsync.backend.dto.UserDto;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.service.AuthService;
+import com.squadsync.backend.service.GamePurgeService;
+import com.squadsync.backend.service.GameService;
+import com.squadsync.backend.service.JwtService;
+import com.squadsync.backend.service.RefreshTokenService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.service.SessionChangeLog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Second-level and query cache for games and users. Runs without a test
+ * transaction so each service call commits and the cache sees real writes.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ GameService.class, GamePurgeService.class, ResourceVersionService.class, SessionChangeLog.class,
+        AuthService.class })
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gameRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void testGameList_IsServedFromCacheUntilAGameChanges() {
+        GameDto created = gameService.createGame(game("Valorant"));
+        gameService.getAllGames();
+        statistics.clear();
+
+        List<GameDto> cached = gameService.getAllGames();
+
+        Assertions.assertEquals(1, cached.size());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+
+        gameService.updateGame(created.getId(), game("Valorant 2"));
+        Assertions.assertEquals("Valorant 2", gameService.getAllGames().get(0).getTitle());
+        Assertions.assertEquals("Valorant 2", gameService.getGameById(created.getId()).getTitle());
+
+        gameService.createGame(game("Rocket League"));
+        Assertions.assertEquals(2, gameService.getAllGames().size());
+
+        gameService.deleteGame(created.getId());
+        Assertions.assertEquals(1, gameService.getAllGames().size());
+        awaitPurge(created.getId());
+        Assertions.assertEquals(1, gameService.getAllGames().size());
+    }
+
+    @Test
+    public void testUser_IsReadFromCacheAndUpdatedByProfileChanges() {
+        User user = new User();
+        user.setUsername("ana");
+        user.setEmail("ana@squad.gg");
+        user.setPasswordHash("hash");
+        userRepository.save(user);
+        statistics.clear();
+
+        authService.getCurrentUser(user.getId());
+
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+
+        UserDto update = new UserDto();
+        update.setDiscordId("123456");
+        authService.updateProfile(user.getId(), update);
+
+        Assertions.assertEquals("123456", authService.getCurrentUser(user.getId()).getDiscordId());
+        Assertions.assertEquals("123456", userRepository.findByEmail("ana@squad.gg").orElseThrow().getDiscordId());
+    }
+
+    private void awaitPurge(String gameId) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!GamePurgeService.STATUS_COMPLETED.equals(gameService.getDeletionProgress(gameId).getStatus())) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "purge did not complete");
+            Thread.yield();
+        }
+    }
+
+    private static GameDto game(String title) {
+        GameDto dto = new GameDto();
+        dto.setTitle(title);
+        dto.setMinPlayers(2);
+        dto.setMaxPlayers(5);
+        return dto;
+    }
+}
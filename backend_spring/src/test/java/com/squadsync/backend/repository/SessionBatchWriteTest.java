@@ -0,0 +1,135 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.GameSessionPlayer;
+import com.squadsync.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Round trips for the matchmaking write stage: a run's sessions and their
+ * players are inserted in JDBC batches and obsolete sessions are removed
+ * with one delete per table.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+public class SessionBatchWriteTest {
+
+    private static final int SESSIONS = 500;
+
+    @Autowired
+    private GameSessionRepository sessionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Game game;
+    private final List<User> users = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        game = new Game();
+        game.setTitle("Batch Game");
+        entityManager.persist(game);
+        for (int i = 0; i < 2; i++) {
+            User user = new User();
+            user.setUsername("batch" + i);
+            user.setEmail("batch" + i + "@squad.gg");
+            user.setPasswordHash("hash");
+            entityManager.persist(user);
+            users.add(user);
+        }
+        entityManager.flush();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void testSaveAll_InsertsSessionsAndPlayersInBatches() {
+        sessionRepository.saveAll(newSessions());
+        sessionRepository.flush();
+
+        Assertions.assertEquals(SESSIONS * 3L, statistics.getEntityInsertCount());
+        // 500 sessions + 1000 players at a batch size of 100
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 15,
+                "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void testDeleteSessionsInBatch_IsOneStatementPerTable() {
+        List<GameSession> sessions = sessionRepository.saveAll(newSessions());
+        sessionRepository.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int deleted = sessionRepository.deleteSessionsInBatch(sessions.stream().map(GameSession::getId).toList());
+
+        Assertions.assertEquals(SESSIONS, deleted);
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Object players = entityManager.createQuery("SELECT COUNT(p) FROM GameSessionPlayer p").getSingleResult();
+        Assertions.assertEquals(0L, players);
+        Assertions.assertEquals(0, sessionRepository.count());
+    }
+
+    @Test
+    public void testUpdateNotificationStatus_LeavesTheVersionToMatchmaking() {
+        List<GameSession> sessions = sessionRepository.saveAll(newSessions().subList(0, 2));
+        sessionRepository.flush();
+        // Matchmaking's copy of the first session, loaded before the notification status is written
+        GameSession loaded = sessions.get(0);
+        long version = loaded.getVersion();
+        entityManager.detach(loaded);
+        statistics.clear();
+
+        int updated = sessionRepository.updateNotificationStatus(
+                sessions.stream().map(GameSession::getId).toList(), GameSession.NotificationStatus.PRELIMINARY_SENT);
+
+        Assertions.assertEquals(2, updated);
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        loaded.setSessionScore(3.0);
+        sessionRepository.saveAndFlush(loaded);
+        entityManager.clear();
+        GameSession stored = sessionRepository.findById(loaded.getId()).orElseThrow();
+        Assertions.assertEquals(version + 1, stored.getVersion());
+        Assertions.assertEquals(3.0, stored.getSessionScore());
+    }
+
+    private List<GameSession> newSessions() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 18, 0);
+        List<GameSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            GameSession session = new GameSession();
+            session.setGame(game);
+            session.setStartTime(start.plusHours(i));
+            session.setEndTime(start.plusHours(i + 2));
+            for (User user : users) {
+                GameSessionPlayer player = new GameSessionPlayer();
+                player.setSession(session);
+                player.setUser(user);
+                session.getPlayers().add(player);
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+}
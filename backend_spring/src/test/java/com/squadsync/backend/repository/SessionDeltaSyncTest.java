@@ -0,0 +1,110 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionDeltaDto;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.service.AvailabilityRuleExpander;
+import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.util.DateUtils;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * {@code ?since=} deltas: logged changes plus the changes the clock makes on
+ * its own (sessions ending, and entering the confirmation window).
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({ MatchmakingService.class, GameSessionService.class, ResourceVersionService.class, SessionChangeLog.class,
+        AvailabilityRuleExpander.class })
+public class SessionDeltaSyncTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    @Autowired
+    private SessionChangeLog sessionChangeLog;
+
+    private LocalDateTime now;
+    private Game game;
+
+    @BeforeEach
+    public void setUp() {
+        now = DateUtils.now().truncatedTo(ChronoUnit.MINUTES);
+        DateUtils.setClock(Clock.fixed(now.atZone(DateUtils.MADRID_ZONE).toInstant(), DateUtils.MADRID_ZONE));
+        game = new Game();
+        game.setTitle("Valorant");
+        game.setMinPlayers(2);
+        entityManager.persist(game);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateUtils.resetClock();
+    }
+
+    private GameSession session(LocalDateTime start, LocalDateTime end) {
+        GameSession session = new GameSession();
+        session.setGame(game);
+        session.setStartTime(start);
+        session.setEndTime(end);
+        entityManager.persist(session);
+        return session;
+    }
+
+    private void advanceClock(long minutes) {
+        now = now.plusMinutes(minutes);
+        DateUtils.setClock(Clock.fixed(now.atZone(DateUtils.MADRID_ZONE).toInstant(), DateUtils.MADRID_ZONE));
+    }
+
+    @Test
+    public void testDelta_ContainsLoggedAndClockDrivenChanges() {
+        GameSession endingSoon = session(now.minusHours(2), now.plusMinutes(10));
+        GameSession startingSoon = session(now.plusMinutes(70), now.plusHours(4));
+        GameSession untouched = session(now.plusDays(1), now.plusDays(1).plusHours(3));
+        GameSession created = session(now.plusDays(2), now.plusDays(2).plusHours(3));
+        entityManager.flush();
+
+        SessionDeltaDto initial = matchmakingService.getSessionsSince(0);
+        Assertions.assertTrue(initial.isReset());
+        Assertions.assertEquals(4, initial.getSessions().size());
+
+        advanceClock(15);
+        sessionChangeLog.record(List.of(created.getId()), List.of("gone"));
+
+        SessionDeltaDto delta = matchmakingService.getSessionsSince(initial.getVersion());
+
+        Assertions.assertFalse(delta.isReset());
+        Assertions.assertEquals(sessionChangeLog.getVersion(), delta.getVersion());
+        List<String> changedIds = delta.getSessions().stream().map(GameSessionDto::getId).toList();
+        Assertions.assertTrue(changedIds.contains(created.getId()));
+        Assertions.assertTrue(changedIds.contains(startingSoon.getId()), "entered the confirmation window");
+        Assertions.assertFalse(changedIds.contains(untouched.getId()));
+        Assertions.assertTrue(delta.getRemovedSessionIds().containsAll(List.of("gone", endingSoon.getId())));
+
+        SessionDeltaDto upToDate = matchmakingService.getSessionsSince(delta.getVersion());
+        Assertions.assertTrue(upToDate.getSessions().isEmpty());
+        Assertions.assertTrue(upToDate.getRemovedSessionIds().isEmpty());
+    }
+}
@@ -0,0 +1,186 @@
+package com.squadsync.backend.repository;
+
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.SessionFields;
+import com.squadsync.backend.dto.SessionPageDto;
+import com.squadsync.backend.model.Game;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.GameSessionPlayer;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.service.AvailabilityRuleExpander;
+import com.squadsync.backend.service.GameSessionService;
+import com.squadsync.backend.service.MatchmakingService;
+import com.squadsync.backend.service.ResourceVersionService;
+import com.squadsync.backend.service.SessionChangeLog;
+import com.squadsync.backend.util.DateUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keyset pagination and filters of the session search.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({ MatchmakingService.class, GameSessionService.class, ResourceVersionService.class, SessionChangeLog.class,
+        AvailabilityRuleExpander.class })
+public class SessionSearchTest {
+
+    // Four sessions share each start time, so pages also have to break ties by id
+    private static final int DAYS = 6;
+    private static final int PER_DAY = 4;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    private Game valorant;
+    private Game rocketLeague;
+    private User ana;
+    private User bruno;
+    private GameSession confirmed;
+    private LocalDateTime tomorrow;
+
+    @BeforeEach
+    public void seed() {
+        LocalDateTime now = DateUtils.now();
+        tomorrow = now.plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        valorant = game("Valorant");
+        rocketLeague = game("Rocket League");
+        ana = user("ana");
+        bruno = user("bruno");
+
+        for (int d = 0; d < DAYS; d++) {
+            for (int i = 0; i < PER_DAY; i++) {
+                session(i == 0 ? rocketLeague : valorant, tomorrow.plusDays(d), i == 0 ? ana : bruno);
+            }
+        }
+        // Starting within the confirmation window with enough accepted players
+        confirmed = session(valorant, now.plusMinutes(30), ana);
+        GameSessionPlayer second = player(confirmed, bruno);
+        second.setStatus(GameSessionPlayer.SessionPlayerStatus.ACCEPTED);
+        confirmed.getPlayers().get(0).setStatus(GameSessionPlayer.SessionPlayerStatus.ACCEPTED);
+        // Already over
+        session(valorant, now.minusDays(1), ana);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testPages_WalkEveryUpcomingSessionOnceInStartOrder() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<GameSessionDto> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            SessionPageDto page = matchmakingService.searchSessions(null, null, null, null, null, cursor, 5,
+                    SessionFields.ALL);
+            // The page, then the players of its sessions
+            Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+            Assertions.assertTrue(page.getSessions().size() <= 5);
+            seen.addAll(page.getSessions());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        Assertions.assertEquals(DAYS * PER_DAY + 1, seen.size());
+        Assertions.assertEquals(5, pages);
+        Assertions.assertEquals(seen.size(), seen.stream().map(GameSessionDto::getId).distinct().count());
+        Assertions.assertEquals(confirmed.getId(), seen.get(0).getId());
+        List<GameSessionDto> sorted = new ArrayList<>(seen);
+        sorted.sort(Comparator.comparing(GameSessionDto::getStartTime));
+        Assertions.assertEquals(sorted, seen);
+    }
+
+    @Test
+    public void testFilters_ByGamePlayerStatusAndTimeRange() {
+        Assertions.assertEquals(DAYS, search(rocketLeague.getId(), null, null, null, null).size());
+        Assertions.assertEquals(DAYS + 1, search(null, ana.getId(), null, null, null).size());
+
+        List<GameSessionDto> confirmedOnly = search(null, null, GameSession.SessionStatus.CONFIRMED, null, null);
+        Assertions.assertEquals(1, confirmedOnly.size());
+        Assertions.assertEquals("CONFIRMED", confirmedOnly.get(0).getStatus());
+        Assertions.assertEquals(DAYS * PER_DAY,
+                search(null, null, GameSession.SessionStatus.PRELIMINARY, null, null).size());
+
+        // Sessions overlapping the second and third day
+        List<GameSessionDto> window = search(valorant.getId(), null, null, tomorrow.plusDays(1),
+                tomorrow.plusDays(3));
+        Assertions.assertEquals(2 * (PER_DAY - 1), window.size());
+        Assertions.assertEquals(1, search(null, null, null, DateUtils.now().minusDays(2),
+                DateUtils.now().minusHours(1)).size());
+    }
+
+    @Test
+    public void testInvalidCursorOrLimit_IsRejected() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> matchmakingService.searchSessions(null, null, null, null, null, "not-a-cursor", 5,
+                        SessionFields.ALL));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> matchmakingService.searchSessions(null, null, null, null, null, null, 0, SessionFields.ALL));
+    }
+
+    private List<GameSessionDto> search(String gameId, String playerId, GameSession.SessionStatus status,
+            LocalDateTime from, LocalDateTime to) {
+        return matchmakingService.searchSessions(gameId, playerId, status, from, to, null, 100, SessionFields.ALL)
+                .getSessions();
+    }
+
+    private Game game(String title) {
+        Game game = new Game();
+        game.setTitle(title);
+        game.setMinPlayers(2);
+        entityManager.persist(game);
+        return game;
+    }
+
+    private User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@squad.gg");
+        user.setPasswordHash("hash");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private GameSession session(Game game, LocalDateTime start, User player) {
+        GameSession session = new GameSession();
+        session.setGame(game);
+        session.setStartTime(start);
+        session.setEndTime(start.plusHours(3));
+        player(session, player);
+        entityManager.persist(session);
+        return session;
+    }
+
+    private GameSessionPlayer player(GameSession session, User user) {
+        GameSessionPlayer player = new GameSessionPlayer();
+        player.setSession(session);
+        player.setUser(user);
+        session.getPlayers().add(player);
+        return player;
+    }
+}
@@ -0,0 +1,94 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.model.AvailabilityRule;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.repository.AvailabilityRuleRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AvailabilityRuleExpanderTest {
+
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private AvailabilityRuleRepository ruleRepository;
+
+    private AvailabilityRuleExpander expander;
+
+    @BeforeEach
+    public void setUp() {
+        expander = new AvailabilityRuleExpander(ruleRepository, 14);
+    }
+
+    @Test
+    public void testExpand_WeeklyWithinValidityAndSkipsExceptions() {
+        AvailabilityRule rule = rule(DayOfWeek.WEDNESDAY);
+        rule.setValidUntil(MONDAY.plusDays(30));
+        rule.getExceptions().add(MONDAY.plusDays(9));
+
+        List<AvailabilityRuleExpander.Occurrence> occurrences = AvailabilityRuleExpander.expand(rule, MONDAY,
+                MONDAY.plusDays(60));
+
+        // Wednesdays 4, 11 (exception), 18, 25 March and 1 April; validity ends before the 8th
+        Assertions.assertEquals(List.of(MONDAY.plusDays(2), MONDAY.plusDays(16), MONDAY.plusDays(23),
+                MONDAY.plusDays(30)), occurrences.stream().map(o -> o.getStart().toLocalDate()).toList());
+        Assertions.assertEquals(MONDAY.plusDays(2).atTime(20, 0), occurrences.get(0).getStart());
+        Assertions.assertEquals(MONDAY.plusDays(2).atTime(22, 0), occurrences.get(0).getEnd());
+        Assertions.assertEquals("r1@" + MONDAY.plusDays(2), occurrences.get(0).getSlotId());
+    }
+
+    @Test
+    public void testOccurrencesAfter_AreCachedUntilARuleChanges() {
+        when(ruleRepository.findValidBetween(any(), any())).thenReturn(List.of(rule(DayOfWeek.MONDAY)));
+        LocalDateTime morning = MONDAY.atTime(9, 0);
+
+        Assertions.assertEquals(3, expander.occurrencesAfter(morning).size());
+        // Later the same day: today's occurrence has ended, the expansion is reused
+        Assertions.assertEquals(2, expander.occurrencesAfter(MONDAY.atTime(23, 0)).size());
+        verify(ruleRepository, times(1)).findValidBetween(MONDAY, MONDAY.plusDays(14));
+
+        expander.invalidate();
+        expander.occurrencesAfter(morning);
+        verify(ruleRepository, times(2)).findValidBetween(MONDAY, MONDAY.plusDays(14));
+    }
+
+    @Test
+    public void testOccurrencesAfter_HorizonMovesWithTheDay() {
+        when(ruleRepository.findValidBetween(any(), any())).thenReturn(List.of(rule(DayOfWeek.MONDAY)));
+
+        expander.occurrencesAfter(MONDAY.atTime(9, 0));
+        expander.occurrencesAfter(MONDAY.plusDays(1).atTime(9, 0));
+
+        verify(ruleRepository).findValidBetween(MONDAY.plusDays(1), MONDAY.plusDays(15));
+    }
+
+    private static AvailabilityRule rule(DayOfWeek day) {
+        User user = new User();
+        user.setId("u1");
+        AvailabilityRule rule = new AvailabilityRule();
+        rule.setId("r1");
+        rule.setUser(user);
+        rule.setDayOfWeek(day);
+        rule.setStartTime(LocalTime.of(20, 0));
+        rule.setEndTime(LocalTime.of(22, 0));
+        rule.setValidFrom(MONDAY.minusDays(7));
+        return rule;
+    }
+}
@@ -7,18 +7,21 @@ import com.squadsync.backend.repository.AvailabilitySlotRepository;
 import com.squadsync.backend.repository.GameRepository;
 import com.squadsync.backend.repository.UserRepository;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,9 +39,21 @@ public class AvailabilityServiceTest {
     @Mock
     private MatchmakingService matchmakingService;
 
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AvailabilityService availabilityService;
 
+    @BeforeEach
+    public void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0))
+                .doInTransaction(null));
+    }
+
     @Test
     public void testCreateSlot_Overlapping_ThrowsException() {
         // Given
@@ -50,15 +65,13 @@ public class AvailabilityServiceTest {
         User user = new User();
         user.setId(userId);
 
-        AvailabilitySlot existingSlot = new AvailabilitySlot();
-        existingSlot.setId("existing-1");
-        existingSlot.setUser(user);
-        existingSlot.setStartTime(existingStart);
-        existingSlot.setEndTime(existingEnd);
-
-        // Mock existing slot returning when queried
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(slotRepository.findByUserId(userId)).thenReturn(List.of(existingSlot));
+        // The existing slot is found by the overlap query
+        when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
+        when(slotRepository.existsOverlapping(any(), any(), any())).thenAnswer(i -> {
+            LocalDateTime start = i.getArgument(1);
+            LocalDateTime end = i.getArgument(2);
+            return existingStart.isBefore(end) && existingEnd.isAfter(start);
+        });
 
         // When: Trying to create a slot that overlaps (e.g. 2h - 4h)
         // Overlap is 2h-3h
@@ -74,6 +87,8 @@ public class AvailabilityServiceTest {
         });
 
         Assertions.assertEquals("Overlapping availability slot exists", exception.getMessage());
+        verify(slotRepository, never()).save(any());
+        verify(matchmakingService, never()).runMatchmaking();
     }
 
     @Test
@@ -84,12 +99,13 @@ public class AvailabilityServiceTest {
         User user = new User();
         user.setId(userId);
 
-        AvailabilitySlot existingSlot = new AvailabilitySlot();
-        existingSlot.setStartTime(now.plusHours(1));
-        existingSlot.setEndTime(now.plusHours(2));
-
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(slotRepository.findByUserId(userId)).thenReturn(List.of(existingSlot));
+        // Existing slot 1h - 2h
+        when(userRepository.findByIdForUpdate(userId)).thenReturn(Optional.of(user));
+        when(slotRepository.existsOverlapping(any(), any(), any())).thenAnswer(i -> {
+            LocalDateTime start = i.getArgument(1);
+            LocalDateTime end = i.getArgument(2);
+            return now.plusHours(1).isBefore(end) && now.plusHours(2).isAfter(start);
+        });
         when(slotRepository.save(any(AvailabilitySlot.class))).thenAnswer(i -> {
             AvailabilitySlot s = i.getArgument(0);
             s.setId("new-1");
@@ -105,5 +121,23 @@ public class AvailabilityServiceTest {
         Assertions.assertDoesNotThrow(() -> {
             availabilityService.createSlot(userId, newSlotDto);
         });
+        verify(matchmakingService).runMatchmaking();
+    }
+
+    @Test
+    public void testCreateSlot_EndingAtOrBeforeItsStart_IsRejected() {
+        LocalDateTime start = LocalDateTime.now().plusHours(2);
+        for (LocalDateTime end : new LocalDateTime[] { start, start.minusHours(1) }) {
+            AvailabilitySlotDto dto = new AvailabilitySlotDto();
+            dto.setStartTime(start);
+            dto.setEndTime(end);
+
+            IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> availabilityService.createSlot("user1", dto));
+
+            Assertions.assertEquals("Availability slot must end after it starts", exception.getMessage());
+        }
+        verify(slotRepository, never()).save(any());
+        verify(matchmakingService, never()).runMatchmaking();
     }
 }
@@ -0,0 +1,119 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.dto.AvailabilitySlotDto;
+import com.squadsync.backend.dto.DashboardDto;
+import com.squadsync.backend.dto.GameDto;
+import com.squadsync.backend.dto.GameSessionDto;
+import com.squadsync.backend.dto.PreferenceDto;
+import com.squadsync.backend.dto.UserDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardServiceTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private MatchmakingService matchmakingService;
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private PreferenceService preferenceService;
+
+    private DashboardService dashboardService;
+
+    @AfterEach
+    public void tearDown() {
+        dashboardService.shutdown();
+    }
+
+    private DashboardService service(int threads, int queueCapacity) {
+        dashboardService = new DashboardService(authService, gameService, matchmakingService, availabilityService,
+                preferenceService, new SimpleMeterRegistry(), threads, queueCapacity);
+        return dashboardService;
+    }
+
+    @Test
+    public void testDashboard_LoadsAllSectionsConcurrently() {
+        // Every section waits for all the others to have started, so this only completes in parallel
+        CountDownLatch started = new CountDownLatch(5);
+        UserDto user = new UserDto();
+        GameDto game = new GameDto();
+        GameSessionDto session = new GameSessionDto();
+        AvailabilitySlotDto slot = new AvailabilitySlotDto();
+        PreferenceDto preference = new PreferenceDto();
+        when(authService.getCurrentUser(USER_ID)).thenAnswer(i -> awaitAll(started, user));
+        when(gameService.getAllGames()).thenAnswer(i -> awaitAll(started, List.of(game)));
+        when(matchmakingService.getUpcomingSessions()).thenAnswer(i -> awaitAll(started, List.of(session)));
+        when(availabilityService.getUserSlots(USER_ID)).thenAnswer(i -> awaitAll(started, List.of(slot)));
+        when(preferenceService.getUserPreferences(USER_ID)).thenAnswer(i -> awaitAll(started, List.of(preference)));
+
+        DashboardDto dashboard = service(5, 10).getDashboard(USER_ID);
+
+        Assertions.assertSame(user, dashboard.getUser());
+        Assertions.assertEquals(List.of(game), dashboard.getGames());
+        Assertions.assertEquals(List.of(session), dashboard.getSessions());
+        Assertions.assertEquals(List.of(slot), dashboard.getAvailability());
+        Assertions.assertEquals(List.of(preference), dashboard.getPreferences());
+    }
+
+    @Test
+    public void testDashboard_RequestThreadLoadsSectionsWhenPoolIsFull() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(authService.getCurrentUser(USER_ID)).thenAnswer(i -> record(threads, new UserDto()));
+        when(gameService.getAllGames()).thenAnswer(i -> record(threads, List.of()));
+        when(matchmakingService.getUpcomingSessions()).thenAnswer(i -> record(threads, List.of()));
+        when(availabilityService.getUserSlots(USER_ID)).thenAnswer(i -> record(threads, List.of()));
+        when(preferenceService.getUserPreferences(USER_ID)).thenAnswer(i -> record(threads, List.of()));
+
+        DashboardDto dashboard = service(1, 1).getDashboard(USER_ID);
+
+        Assertions.assertNotNull(dashboard.getUser());
+        Assertions.assertNotNull(dashboard.getPreferences());
+        Assertions.assertTrue(threads.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void testDashboard_SectionFailureSurfacesItsException() {
+        when(authService.getCurrentUser(USER_ID)).thenThrow(new RuntimeException("User not found"));
+
+        RuntimeException e = Assertions.assertThrows(RuntimeException.class,
+                () -> service(2, 10).getDashboard(USER_ID));
+        Assertions.assertEquals("User not found", e.getMessage());
+    }
+
+    private static <T> T awaitAll(CountDownLatch started, T result) throws InterruptedException {
+        started.countDown();
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS), "sections did not run concurrently");
+        return result;
+    }
+
+    private static <T> T record(Set<String> threads, T result) throws InterruptedException {
+        threads.add(Thread.currentThread().getName());
+        // Keep the worker busy so later sections find the pool and queue full
+        Thread.sleep(50);
+        return result;
+    }
+}
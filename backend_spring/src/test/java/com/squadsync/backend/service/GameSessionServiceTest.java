@@ -1,21 +1,27 @@
 package com.squadsync.backend.service;
 
+import com.squadsync.backend.model.AvailabilitySlot;
 import com.squadsync.backend.model.Game;
 import com.squadsync.backend.model.GameSession;
 import com.squadsync.backend.model.GameSessionPlayer;
 import com.squadsync.backend.model.GameSessionPlayer.SessionPlayerStatus;
+import com.squadsync.backend.model.User;
 import com.squadsync.backend.repository.AvailabilitySlotRepository;
 import com.squadsync.backend.repository.GameSessionRepository;
 import com.squadsync.backend.repository.UserRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 public class GameSessionServiceTest {
@@ -28,6 +34,8 @@ public class GameSessionServiceTest {
     private UserRepository userRepository;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private ResourceVersionService resourceVersionService;
 
     @InjectMocks
     private GameSessionService gameSessionService;
@@ -103,4 +111,35 @@ public class GameSessionServiceTest {
 
         Assertions.assertEquals(GameSession.SessionStatus.CONFIRMED, gameSessionService.getSessionStatus(session));
     }
+
+    @Test
+    public void testRejectNotAvailable_LocksTheUserAndDeletesOverlappingSlots() {
+        User user = new User();
+        user.setId("user");
+        GameSession session = new GameSession();
+        session.setId("session");
+        session.setGame(new Game());
+        session.setStartTime(LocalDateTime.now().plusHours(2));
+        session.setEndTime(LocalDateTime.now().plusHours(4));
+        GameSessionPlayer player = new GameSessionPlayer();
+        player.setUser(user);
+        player.setStatus(SessionPlayerStatus.PENDING);
+        session.getPlayers().add(player);
+        List<AvailabilitySlot> overlapping = List.of(new AvailabilitySlot());
+
+        Mockito.when(userRepository.findByIdForUpdate("user")).thenReturn(Optional.of(user));
+        Mockito.when(sessionRepository.findById("session")).thenReturn(Optional.of(session));
+        Mockito.when(availabilitySlotRepository.findOverlapping("user", session.getStartTime(), session.getEndTime()))
+                .thenReturn(overlapping);
+
+        gameSessionService.rejectSession("session", "user", "NOT_AVAILABLE");
+
+        // The user lock comes first, as in the availability writes
+        InOrder order = Mockito.inOrder(userRepository, sessionRepository, availabilitySlotRepository);
+        order.verify(userRepository).findByIdForUpdate("user");
+        order.verify(sessionRepository).findById("session");
+        order.verify(availabilitySlotRepository).deleteAll(overlapping);
+        Mockito.verify(availabilitySlotRepository, Mockito.never()).findByUserId(Mockito.any());
+        Assertions.assertEquals(SessionPlayerStatus.REJECTED, player.getStatus());
+    }
 }
@@ -0,0 +1,69 @@
+package com.squadsync.backend.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class JwtServiceTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private final UserDetails user = User.builder().username("player@squad.gg").password("x").roles("NORMAL").build();
+
+    private JwtService newService(long expirationMs) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expirationMs);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        service.init();
+        return service;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = newService(60_000);
+    }
+
+    @Test
+    public void testVerify_ValidToken_ReturnsClaims() {
+        String token = jwtService.generateToken(user);
+
+        Claims claims = jwtService.verify(token);
+
+        Assertions.assertEquals("player@squad.gg", claims.getSubject());
+        Assertions.assertTrue(jwtService.isTokenValid(token, user));
+    }
+
+    @Test
+    public void testVerify_SecondCallServedFromCache() {
+        String token = jwtService.generateToken(user);
+
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        Assertions.assertSame(first, second);
+    }
+
+    @Test
+    public void testVerify_TamperedToken_Throws() {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        Assertions.assertThrows(SignatureException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    public void testVerify_ExpiredToken_Throws() {
+        JwtService expiring = newService(-1000);
+        String token = expiring.generateToken(user);
+
+        Assertions.assertThrows(ExpiredJwtException.class, () -> expiring.verify(token));
+    }
+}
@@ -37,6 +37,10 @@ public class MatchmakingRulesTest {
         private GameSessionService gameSessionService;
         @Mock
         private org.springframework.context.ApplicationEventPublisher eventPublisher;
+        @Mock
+        private UserRepository userRepository;
+        @Mock
+        private AvailabilityRuleExpander ruleExpander;
 
         @InjectMocks
         private MatchmakingService matchmakingService;
@@ -75,10 +79,10 @@ public class MatchmakingRulesTest {
                         }
                         return result;
                 });
-                when(gameRepository.findAll()).thenReturn(List.of(game));
+                when(gameRepository.findAllActive()).thenReturn(List.of(game));
                 when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
                 when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-                when(gameSessionService.getSessionStatus(any())).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+                when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
         }
 
         // A: 2 jugadores tienen una ventana compartida de 4h: se generan 2 sesiones de
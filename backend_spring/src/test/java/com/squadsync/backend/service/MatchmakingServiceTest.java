@@ -12,7 +12,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import com.squadsync.backend.event.GameSessionUpdatedEvent;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.mockito.ArgumentCaptor;
 import java.util.List;
@@ -40,6 +40,10 @@ public class MatchmakingServiceTest {
     private GameSessionService gameSessionService;
     @Mock
     private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private AvailabilityRuleExpander ruleExpander;
     @InjectMocks
     private MatchmakingService matchmakingService;
 
@@ -101,10 +105,10 @@ public class MatchmakingServiceTest {
             }
             return result;
         });
-        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
         when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
         when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-        when(gameSessionService.getSessionStatus(any())).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+        when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
 
         // Run
         var result = matchmakingService.runMatchmaking();
@@ -115,6 +119,41 @@ public class MatchmakingServiceTest {
                 "Should have a 3-player session");
     }
 
+    @Test
+    public void testRuleOccurrencesMatchWithSlots() {
+        LocalDateTime evening = LocalDateTime.now().plusDays(1).withHour(20).withMinute(0).withSecond(0)
+                .truncatedTo(java.time.temporal.ChronoUnit.SECONDS);
+        User u1 = new User();
+        u1.setId("u1");
+        User u2 = new User();
+        u2.setId("u2");
+        Game game = new Game();
+        game.setId("g1");
+
+        // User 1 has a slot, user 2 only a weekly rule
+        AvailabilitySlot s1 = new AvailabilitySlot();
+        s1.setId("s1");
+        s1.setUser(u1);
+        s1.setStartTime(evening);
+        s1.setEndTime(evening.plusHours(2));
+
+        when(sessionRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(any())).thenReturn(Collections.emptyList());
+        when(slotRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(any())).thenReturn(List.of(s1));
+        when(ruleExpander.occurrencesAfter(any())).thenReturn(List.of(
+                new AvailabilityRuleExpander.Occurrence("r1", "u2", evening, evening.plusHours(2))));
+        when(userRepository.getReferenceById("u2")).thenReturn(u2);
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
+        when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
+        when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+        when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+
+        var result = matchmakingService.runMatchmaking();
+
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(2, result.get(0).getPlayers().size());
+        Assertions.assertEquals(evening, result.get(0).getStartTime());
+    }
+
     @Test
     public void testFragmentedAvailabilityScenario() {
         // Setup
@@ -164,10 +203,10 @@ public class MatchmakingServiceTest {
             }
             return result;
         });
-        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
         when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
         when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-        when(gameSessionService.getSessionStatus(any())).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+        when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
 
         // Run
         var result = matchmakingService.runMatchmaking();
@@ -240,10 +279,10 @@ public class MatchmakingServiceTest {
             }
             return result;
         });
-        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
         when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
         when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-        when(gameSessionService.getSessionStatus(any())).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+        when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
 
         // Run Matchmaking
         var result = matchmakingService.runMatchmaking();
@@ -303,10 +342,10 @@ public class MatchmakingServiceTest {
             }
             return result;
         });
-        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
         when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
         when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-        when(gameSessionService.getSessionStatus(any())).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+        when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
 
         // Run
         var result = matchmakingService.runMatchmaking();
@@ -393,7 +432,7 @@ public class MatchmakingServiceTest {
             return result;
         });
 
-        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
         when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
 
         // Mock saveAll to return the input list (simulating save)
@@ -448,10 +487,10 @@ public class MatchmakingServiceTest {
         List<AvailabilitySlot> initialSlots = new ArrayList<>(List.of(s1, s2));
 
         // Mocks for Phase 1
-        lenient().when(gameRepository.findAll()).thenReturn(List.of(game));
+        lenient().when(gameRepository.findAllActive()).thenReturn(List.of(game));
         lenient().when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
         lenient().when(sessionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-        lenient().when(gameSessionService.getSessionStatus(any())).thenReturn(GameSession.SessionStatus.PRELIMINARY);
+        lenient().when(gameSessionService.getSessionStatus(any(GameSession.class))).thenReturn(GameSession.SessionStatus.PRELIMINARY);
 
         // Initial Run: No existing sessions, 2 slots
         when(sessionRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(any())).thenReturn(Collections.emptyList());
@@ -572,7 +611,7 @@ public class MatchmakingServiceTest {
             return new ArrayList<>();
         });
 
-        when(gameRepository.findAll()).thenReturn(List.of(game));
+        when(gameRepository.findAllActive()).thenReturn(List.of(game));
         when(preferenceRepository.findByUserIdIn(anyList())).thenReturn(Collections.emptyList());
 
         // Mock saveAll to return the session that was created
@@ -593,16 +632,17 @@ public class MatchmakingServiceTest {
         // session)
         // In this test setup, matchmaker returns/saves sessions.
         // We expect at least one event.
-        ArgumentCaptor<GameSessionUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(GameSessionUpdatedEvent.class);
+        ArgumentCaptor<GameSessionsChangedEvent> eventCaptor = ArgumentCaptor.forClass(GameSessionsChangedEvent.class);
         verify(eventPublisher, org.mockito.Mockito.atLeastOnce()).publishEvent(eventCaptor.capture());
 
-        List<GameSessionUpdatedEvent> events = eventCaptor.getAllValues();
+        List<GameSessionsChangedEvent> events = eventCaptor.getAllValues();
         Assertions.assertFalse(events.isEmpty(), "Should publish events");
 
         // Check that at least one event corresponds to a confirmed session from our
         // list
         boolean foundExisting = events.stream()
-                .anyMatch(e -> e.getSession().getId().equals(existingConfirmed.getId()));
+                .anyMatch(e -> e.getSessions().stream()
+                        .anyMatch(snapshot -> snapshot.getId().equals(existingConfirmed.getId())));
         Assertions.assertTrue(foundExisting, "Should publish event for existing confirmed session");
     }
 
@@ -641,16 +681,18 @@ public class MatchmakingServiceTest {
         matchmakingService.checkUpcomingPreliminarySessions();
 
         // Verify
-        ArgumentCaptor<GameSessionUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(GameSessionUpdatedEvent.class);
+        ArgumentCaptor<GameSessionsChangedEvent> eventCaptor = ArgumentCaptor.forClass(GameSessionsChangedEvent.class);
         verify(eventPublisher, org.mockito.Mockito.atLeastOnce()).publishEvent(eventCaptor.capture());
 
-        List<GameSessionUpdatedEvent> events = eventCaptor.getAllValues();
+        List<GameSessionsChangedEvent> events = eventCaptor.getAllValues();
         // Since logic in service is just "loop and publish", we expect events for BOTH
         // s1 and s2
         // The listener handles filtering.
-        Assertions.assertTrue(events.stream().anyMatch(e -> e.getSession().getId().equals("s1")),
+        Assertions.assertTrue(events.stream().anyMatch(e -> e.getSessions().stream()
+                .anyMatch(snapshot -> snapshot.getId().equals("s1"))),
                 "Should publish event for s1");
-        Assertions.assertTrue(events.stream().anyMatch(e -> e.getSession().getId().equals("s2")),
+        Assertions.assertTrue(events.stream().anyMatch(e -> e.getSessions().stream()
+                .anyMatch(snapshot -> snapshot.getId().equals("s2"))),
                 "Should publish event for s2");
     }
 
@@ -674,11 +716,12 @@ public class MatchmakingServiceTest {
 
         // Then
         // Then
-        ArgumentCaptor<GameSessionUpdatedEvent> eventCaptor = ArgumentCaptor.forClass(GameSessionUpdatedEvent.class);
+        ArgumentCaptor<GameSessionsChangedEvent> eventCaptor = ArgumentCaptor.forClass(GameSessionsChangedEvent.class);
         verify(eventPublisher, org.mockito.Mockito.atLeastOnce()).publishEvent(eventCaptor.capture());
 
-        List<GameSessionUpdatedEvent> events = eventCaptor.getAllValues();
-        Assertions.assertTrue(events.stream().anyMatch(e -> e.getSession().getId().equals("session-now")),
+        List<GameSessionsChangedEvent> events = eventCaptor.getAllValues();
+        Assertions.assertTrue(events.stream().anyMatch(e -> e.getSessions().stream()
+                .anyMatch(snapshot -> snapshot.getId().equals("session-now"))),
                 "Should publish event for session starting now");
     }
 }
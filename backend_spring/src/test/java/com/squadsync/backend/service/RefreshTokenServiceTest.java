@@ -0,0 +1,112 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.config.InvalidTokenException;
+import com.squadsync.backend.model.RefreshToken;
+import com.squadsync.backend.model.User;
+import com.squadsync.backend.repository.RefreshTokenRepository;
+import com.squadsync.backend.util.DateUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final User user = new User();
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 60_000L);
+        user.setId("u1");
+    }
+
+    /** Issues a token and returns the entity that would have been stored for it. */
+    private RefreshToken stored(String token) {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken entity = captor.getValue();
+        entity.setId("rt1");
+        when(refreshTokenRepository.findByTokenHash(entity.getTokenHash())).thenReturn(Optional.of(entity));
+        Assertions.assertNotEquals(token, entity.getTokenHash());
+        return entity;
+    }
+
+    @Test
+    public void testConsume_FirstUse_Succeeds() {
+        String token = refreshTokenService.issue(user, "fam-1");
+        stored(token);
+        when(refreshTokenRepository.markUsed(eq("rt1"), any())).thenReturn(1);
+
+        RefreshToken consumed = refreshTokenService.consume(token);
+
+        Assertions.assertEquals("fam-1", consumed.getFamilyId());
+        Assertions.assertNotNull(consumed.getUsedAt());
+        verify(tokenRevocationService, never()).revoke(anyString());
+    }
+
+    @Test
+    public void testConsume_Reuse_RevokesFamily() {
+        String token = refreshTokenService.issue(user, "fam-1");
+        RefreshToken entity = stored(token);
+        entity.setUsedAt(DateUtils.now());
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> refreshTokenService.consume(token));
+
+        verify(refreshTokenRepository).deleteByFamily("fam-1");
+        verify(tokenRevocationService).revoke("fam-1");
+    }
+
+    @Test
+    public void testConsume_ConcurrentUse_RevokesFamily() {
+        String token = refreshTokenService.issue(user, "fam-1");
+        stored(token);
+        // Another request marked it used between our read and update
+        when(refreshTokenRepository.markUsed(eq("rt1"), any())).thenReturn(0);
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> refreshTokenService.consume(token));
+
+        verify(tokenRevocationService).revoke("fam-1");
+    }
+
+    @Test
+    public void testConsume_Expired_Rejected() {
+        String token = refreshTokenService.issue(user, "fam-1");
+        RefreshToken entity = stored(token);
+        entity.setExpiresAt(DateUtils.now().minusMinutes(1));
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> refreshTokenService.consume(token));
+
+        verify(tokenRevocationService, never()).revoke(anyString());
+    }
+
+    @Test
+    public void testConsume_UnknownToken_Rejected() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> refreshTokenService.consume("nope"));
+    }
+}
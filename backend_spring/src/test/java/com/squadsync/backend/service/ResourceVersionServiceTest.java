@@ -0,0 +1,82 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.util.DateUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+public class ResourceVersionServiceTest {
+
+    private final ResourceVersionService versions = new ResourceVersionService();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        DateUtils.resetClock();
+    }
+
+    @Test
+    public void testWrite_ChangesOnlyItsOwnTags() {
+        String games = versions.gamesETag();
+        String mine = versions.availabilityETag("u1");
+        String theirs = versions.availabilityETag("u2");
+
+        versions.availabilityChanged("u1");
+
+        Assertions.assertEquals(games, versions.gamesETag());
+        Assertions.assertNotEquals(mine, versions.availabilityETag("u1"));
+        Assertions.assertEquals(theirs, versions.availabilityETag("u2"));
+
+        versions.allAvailabilityChanged();
+        Assertions.assertNotEquals(theirs, versions.availabilityETag("u2"));
+    }
+
+    @Test
+    public void testWrite_StampsOnlyItsOwnChangeTime() throws InterruptedException {
+        long started = versions.gamesChangedAt();
+        Assertions.assertEquals(started, versions.availabilityChangedAt("u1"));
+        Thread.sleep(5);
+
+        versions.availabilityChanged("u1");
+
+        Assertions.assertTrue(versions.availabilityChangedAt("u1") > started);
+        Assertions.assertEquals(started, versions.availabilityChangedAt("u2"));
+        Assertions.assertEquals(started, versions.gamesChangedAt());
+
+        versions.allAvailabilityChanged();
+        Assertions.assertTrue(versions.availabilityChangedAt("u2") > started);
+    }
+
+    @Test
+    public void testWriteInTransaction_BumpsOnlyAfterCommit() {
+        String before = versions.preferencesETag("u1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.preferencesChanged("u1");
+        Assertions.assertEquals(before, versions.preferencesETag("u1"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Assertions.assertNotEquals(before, versions.preferencesETag("u1"));
+    }
+
+    @Test
+    public void testSessionsTag_ChangesEveryMinute() {
+        ZoneId zone = DateUtils.MADRID_ZONE;
+        DateUtils.setClock(Clock.fixed(Instant.parse("2026-01-10T18:00:10Z"), zone));
+        String first = versions.sessionsETag();
+
+        DateUtils.setClock(Clock.fixed(Instant.parse("2026-01-10T18:00:50Z"), zone));
+        Assertions.assertEquals(first, versions.sessionsETag());
+
+        DateUtils.setClock(Clock.fixed(Instant.parse("2026-01-10T18:01:00Z"), zone));
+        Assertions.assertNotEquals(first, versions.sessionsETag());
+    }
+}
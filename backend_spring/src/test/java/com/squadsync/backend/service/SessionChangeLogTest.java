@@ -0,0 +1,91 @@
+package com.squadsync.backend.service;
+
+import com.squadsync.backend.event.GameSessionSnapshot;
+import com.squadsync.backend.event.GameSessionsChangedEvent;
+import com.squadsync.backend.model.GameSession;
+import com.squadsync.backend.model.GameSessionPlayer;
+import com.squadsync.backend.util.DateUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class SessionChangeLogTest {
+
+    @Test
+    public void testChangesSince_LatestStatePerSessionWins() {
+        SessionChangeLog log = new SessionChangeLog(10);
+        long start = log.getVersion();
+
+        log.record(List.of("a", "b"), List.of());
+        long afterFirst = log.getVersion();
+        log.record(List.of("c"), List.of("a"));
+        log.record(List.of("a"), List.of("b"));
+
+        SessionChangeLog.Changes all = log.changesSince(start).orElseThrow();
+        Assertions.assertEquals(List.of("c", "a"), all.getChangedIds());
+        Assertions.assertEquals(List.of("b"), all.getRemovedIds());
+        Assertions.assertEquals(log.getVersion(), all.getVersion());
+
+        SessionChangeLog.Changes later = log.changesSince(afterFirst).orElseThrow();
+        Assertions.assertEquals(List.of("c", "a"), later.getChangedIds());
+
+        SessionChangeLog.Changes none = log.changesSince(log.getVersion()).orElseThrow();
+        Assertions.assertTrue(none.getChangedIds().isEmpty() && none.getRemovedIds().isEmpty());
+    }
+
+    @Test
+    public void testUncoveredVersions_RequireReset() {
+        SessionChangeLog log = new SessionChangeLog(2);
+        long start = log.getVersion();
+        log.record(List.of("a"), List.of());
+        log.record(List.of("b"), List.of());
+        Assertions.assertTrue(log.changesSince(start).isPresent());
+
+        log.record(List.of("c"), List.of());
+        Assertions.assertTrue(log.changesSince(start).isEmpty(), "fell off the log");
+        Assertions.assertTrue(log.changesSince(start + 1).isPresent());
+        Assertions.assertTrue(log.changesSince(log.getVersion() + 1).isEmpty(), "from the future");
+        Assertions.assertTrue(log.changesSince(0).isEmpty(), "from before a restart");
+
+        long beforeReset = log.getVersion();
+        log.reset();
+        Assertions.assertTrue(log.changesSince(beforeReset).isEmpty());
+        Assertions.assertTrue(log.changesSince(log.getVersion()).isPresent());
+    }
+
+    @Test
+    public void testRerun_LogsOnlySessionsItCreatedOrChanged() {
+        SessionChangeLog log = new SessionChangeLog(10);
+        LocalDateTime start = DateUtils.now().plusHours(1);
+        GameSessionSnapshot unchanged = snapshot("a", 0, start, GameSessionPlayer.SessionPlayerStatus.PENDING);
+        GameSessionSnapshot accepted = snapshot("b", 0, start, GameSessionPlayer.SessionPlayerStatus.PENDING);
+        log.onSessionsChanged(new GameSessionsChangedEvent(this, List.of(unchanged, accepted), List.of()));
+        long afterFirstRun = log.getVersion();
+
+        // The rerun publishes both again; only b's player answered, a was merely notified meanwhile
+        GameSessionSnapshot notified = new GameSessionSnapshot("a", 0, "game", "Valorant", 2, start,
+                start.plusHours(2), GameSession.NotificationStatus.PRELIMINARY_SENT, unchanged.getPlayers());
+        log.onSessionsChanged(new GameSessionsChangedEvent(this,
+                List.of(notified, snapshot("b", 0, start, GameSessionPlayer.SessionPlayerStatus.ACCEPTED),
+                        snapshot("c", 0, start, GameSessionPlayer.SessionPlayerStatus.PENDING)),
+                List.of("d")));
+
+        SessionChangeLog.Changes changes = log.changesSince(afterFirstRun).orElseThrow();
+        Assertions.assertEquals(List.of("b", "c"), changes.getChangedIds());
+        Assertions.assertEquals(List.of("d"), changes.getRemovedIds());
+
+        // A rerun that changes nothing does not move the version
+        long afterSecondRun = log.getVersion();
+        log.onSessionsChanged(new GameSessionsChangedEvent(this, List.of(notified), List.of()));
+        Assertions.assertEquals(afterSecondRun, log.getVersion());
+    }
+
+    private static GameSessionSnapshot snapshot(String id, long version, LocalDateTime start,
+            GameSessionPlayer.SessionPlayerStatus status) {
+        return new GameSessionSnapshot(id, version, "game", "Valorant", 2, start, start.plusHours(2),
+                GameSession.NotificationStatus.NONE,
+                List.of(new GameSessionSnapshot.PlayerSnapshot("user", null, status)));
+    }
+}
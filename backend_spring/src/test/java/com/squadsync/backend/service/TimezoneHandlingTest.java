@@ -1,9 +1,8 @@
 package com.squadsync.backend.service;
 
 import com.squadsync.backend.dto.GameSessionDto;
-import com.squadsync.backend.model.Game;
-import com.squadsync.backend.model.GameSession;
 import com.squadsync.backend.repository.GameSessionRepository;
+import com.squadsync.backend.repository.projection.SessionSummary;
 import com.squadsync.backend.util.DateUtils;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -16,10 +15,10 @@ import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,20 +46,17 @@ public class TimezoneHandlingTest {
 
         System.out.println("DEBUG: DateUtils.now() is " + DateUtils.now());
 
-        // 3. Setup Session: Ends at 23:00 Madrid
-        GameSession session = new GameSession();
-        session.setId("1");
-        Game game = new Game();
-        game.setId("g1");
-        game.setTitle("Test Game");
-        session.setGame(game);
-        session.setPlayers(new ArrayList<>());
+        // 3. Setup Session: 21:00 - 23:00 Madrid
+        SessionSummary session = new SessionSummary("1",
+                LocalDateTime.of(2023, 12, 12, 21, 0), // 21:00 Madrid
+                LocalDateTime.of(2023, 12, 12, 23, 0), // 23:00 Madrid
+                0, null, "g1", "Test Game", null, 1);
 
-        session.setStartTime(LocalDateTime.of(2023, 12, 12, 21, 0)); // 21:00 Madrid
-        session.setEndTime(LocalDateTime.of(2023, 12, 12, 23, 0)); // 23:00 Madrid
-
-        // Mock Repo
-        when(sessionRepository.findByEndTimeGreaterThanOrderByStartTimeAsc(any())).thenReturn(List.of(session));
+        // Mock Repo: like the query, keep only sessions ending after the given now
+        when(sessionRepository.findUpcomingSummaries(any())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            return session.getEndTime().isAfter(now) ? List.of(session) : List.of();
+        });
 
         // 4. Run getUpcomingSessions
         List<GameSessionDto> results = matchmakingService.getUpcomingSessions();
@@ -75,6 +71,9 @@ public class TimezoneHandlingTest {
                     + ", DateUtils.now(): " + DateUtils.now());
         }
 
+        // The repository was asked with Madrid time, not the JVM default zone
+        verify(sessionRepository).findUpcomingSummaries(realNowMadrid);
+
         // Cleanup
         DateUtils.resetClock();
     }
@@ -0,0 +1,75 @@
+package com.squadsync.backend.stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class SessionStreamClientTest {
+
+    @Mock
+    private SseEmitter emitter;
+
+    private static Set<DataWithMediaType> event(String name) {
+        return SseEmitter.event().name(name).data("{}").build();
+    }
+
+    @Test
+    public void testFullBuffer_RejectsInsteadOfBlocking() {
+        SessionStreamClient client = new SessionStreamClient("u1", emitter, 2);
+
+        Assertions.assertTrue(client.offer(event("a")));
+        Assertions.assertTrue(client.offer(event("b")));
+        Assertions.assertFalse(client.offer(event("c")));
+    }
+
+    @Test
+    public void testDrain_SendsBufferedEventsInOrder() throws IOException {
+        SessionStreamClient client = new SessionStreamClient("u1", emitter, 4);
+        Set<DataWithMediaType> first = event("a");
+        Set<DataWithMediaType> second = event("b");
+        client.offer(first);
+        client.offer(second);
+
+        Assertions.assertTrue(client.markScheduled());
+        Assertions.assertFalse(client.markScheduled());
+        client.drain();
+
+        InOrder order = inOrder(emitter);
+        order.verify(emitter).send(first);
+        order.verify(emitter).send(second);
+        Assertions.assertFalse(client.hasPending());
+        Assertions.assertTrue(client.markScheduled());
+    }
+
+    @Test
+    public void testBrokenConnection_ClosesAndDropsTheRest() throws IOException {
+        SessionStreamClient client = new SessionStreamClient("u1", emitter, 4);
+        doThrow(new IOException("Broken pipe")).when(emitter).send(anySet());
+        client.offer(event("a"));
+        client.offer(event("b"));
+
+        client.drain();
+
+        verify(emitter, times(1)).send(anySet());
+        verify(emitter).complete();
+        Assertions.assertFalse(client.offer(event("c")));
+        verify(emitter, never()).completeWithError(any());
+    }
+}
@@ -0,0 +1,30 @@
+package com.squadsync.backend.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+public class UuidV7Test {
+
+    @Test
+    public void testGenerate_IsVersion7AndIncreasing() {
+        UUID previous = UuidV7.generate();
+        for (int i = 0; i < 10_000; i++) {
+            UUID next = UuidV7.generate();
+            Assertions.assertEquals(7, next.version());
+            Assertions.assertEquals(2, next.variant());
+            // Canonical strings and the stored bytes sort the same way
+            Assertions.assertTrue(next.toString().compareTo(previous.toString()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void testBytes_RoundTrip() {
+        UUID uuid = UuidV7.generate();
+
+        Assertions.assertEquals(16, UuidV7.toBytes(uuid).length);
+        Assertions.assertEquals(uuid, UuidV7.fromBytes(UuidV7.toBytes(uuid)));
+    }
+}
@@ -55,12 +55,13 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
     const login = async (email: string, password: string) => {
         try {
             const response = await authAPI.login({ email, password });
-            const { user: userData, token: userToken } = response.data;
+            const { user: userData, token: userToken, refreshToken } = response.data;
 
             setUser(userData);
             setToken(userToken);
 
             localStorage.setItem('token', userToken);
+            localStorage.setItem('refreshToken', refreshToken);
             localStorage.setItem('user', JSON.stringify(userData));
         } catch (error) {
             console.error('Login error:', error);
@@ -71,12 +72,13 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
     const register = async (username: string, email: string, password: string, avatarColor?: string, discordId?: string) => {
         try {
             const response = await authAPI.register({ username, email, password, avatarColor, discordId });
-            const { user: userData, token: userToken } = response.data;
+            const { user: userData, token: userToken, refreshToken } = response.data;
 
             setUser(userData);
             setToken(userToken);
 
             localStorage.setItem('token', userToken);
+            localStorage.setItem('refreshToken', refreshToken);
             localStorage.setItem('user', JSON.stringify(userData));
         } catch (error) {
             console.error('Registration error:', error);
@@ -105,9 +107,15 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
     };
 
     const logout = () => {
+        // Revoke the token family server-side so the access token stops working too
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (refreshToken) {
+            authAPI.logout(refreshToken).catch((error) => console.error('Logout error:', error));
+        }
         setUser(null);
         setToken(null);
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
     };
 
@@ -23,15 +23,54 @@ api.interceptors.request.use(
     }
 );
 
+const clearSession = () => {
+    localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
+    localStorage.removeItem('user');
+    window.location.href = '/login';
+};
+
+// Concurrent 401s share a single refresh call; the refresh token is single-use
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+    if (!refreshPromise) {
+        const refreshToken = localStorage.getItem('refreshToken');
+        refreshPromise = (refreshToken
+            ? axios.post(`${API_BASE_URL}/api/auth/refresh`, { refreshToken })
+                .then((response) => {
+                    localStorage.setItem('token', response.data.token);
+                    localStorage.setItem('refreshToken', response.data.refreshToken);
+                    localStorage.setItem('user', JSON.stringify(response.data.user));
+                    return response.data.token as string;
+                })
+            : Promise.reject(new Error('No refresh token')))
+            .finally(() => {
+                refreshPromise = null;
+            });
+    }
+    return refreshPromise;
+};
+
 // Response interceptor for error handling
 api.interceptors.response.use(
     (response) => response,
-    (error) => {
-        if (error.response?.status === 401) {
-            // Token expired or invalid
-            localStorage.removeItem('token');
-            localStorage.removeItem('user');
-            window.location.href = '/login';
+    async (error) => {
+        const original = error.config;
+        const isAuthCall = ['/api/auth/login', '/api/auth/register', '/api/auth/logout']
+            .some((path) => original?.url?.startsWith(path));
+        if (error.response?.status === 401 && original && !original._retry && !isAuthCall) {
+            // Access token expired or revoked: renew once, then replay the request
+            original._retry = true;
+            try {
+                const token = await refreshAccessToken();
+                original.headers.Authorization = `Bearer ${token}`;
+                return api(original);
+            } catch {
+                clearSession();
+            }
+        } else if (error.response?.status === 401 && !isAuthCall) {
+            clearSession();
         }
         return Promise.reject(error);
     }
@@ -46,6 +85,7 @@ export const authAPI = {
     login: (data: { email: string; password: string }) =>
         api.post('/api/auth/login', data),
     getCurrentUser: () => api.get('/api/auth/me'),
+    logout: (refreshToken: string) => api.post('/api/auth/logout', { refreshToken }),
 };
 
 // Games API
@@ -76,17 +116,70 @@ export const availabilityAPI = {
     create: (data: { startTime: string; endTime: string; gameId?: string }) =>
         api.post('/api/availability', data),
     delete: (id: string) => api.delete(`/api/availability/${id}`),
+    // Creates, updates and deletes in one transaction; returns all of the user's slots
+    batch: (data: {
+        create?: { startTime: string; endTime: string; gameId?: string }[];
+        update?: { id: string; startTime: string; endTime: string; gameId?: string }[];
+        delete?: string[];
+    }) => api.post('/api/availability/batch', data),
+    // Weekly rules: dayOfWeek as MONDAY..SUNDAY, times as HH:mm, dates as YYYY-MM-DD
+    getRules: () => api.get('/api/availability/rules'),
+    createRule: (data: {
+        dayOfWeek: string;
+        startTime: string;
+        endTime: string;
+        validFrom?: string;
+        validUntil?: string;
+        exceptions?: string[];
+    }) => api.post('/api/availability/rules', data),
+    updateRule: (id: string, data: {
+        dayOfWeek: string;
+        startTime: string;
+        endTime: string;
+        validFrom?: string;
+        validUntil?: string;
+        exceptions?: string[];
+    }) => api.put(`/api/availability/rules/${id}`, data),
+    deleteRule: (id: string) => api.delete(`/api/availability/rules/${id}`),
 };
 
 // Matchmaking API
 export const matchmakingAPI = {
     run: () => api.post('/api/matchmaking/run'),
     getSessions: () => api.get('/api/matchmaking/sessions'),
+    // Changes after a version from a previous delta; 0 (or an expired version) returns the full list with reset set
+    getSessionsSince: (since: number) => api.get('/api/matchmaking/sessions', { params: { since } }),
     getSessionById: (id: string) => api.get(`/api/matchmaking/sessions/${id}`),
+    // EventSource cannot send headers, so the stream is opened with a single-use ticket rather than the
+    // access token, which would end up in access logs and browser history
+    streamSessions: async () => {
+        const response = await api.post('/api/matchmaking/sessions/stream/ticket');
+        return new EventSource(
+            `${API_BASE_URL}/api/matchmaking/sessions/stream?ticket=${encodeURIComponent(response.data.ticket)}`
+        );
+    },
+};
+
+// Dashboard API
+export const dashboardAPI = {
+    // User, games, sessions, availability and preferences in one request
+    get: () => api.get('/api/dashboard'),
 };
 
 // Sessions API
 export const sessionsAPI = {
+    // Keyset pages: pass the previous response's nextCursor as cursor; all filters are optional
+    search: (params: {
+        gameId?: string;
+        playerId?: string;
+        status?: 'PRELIMINARY' | 'CONFIRMED';
+        from?: string;
+        to?: string;
+        cursor?: string;
+        limit?: number;
+        // Comma separated session properties, e.g. 'startTime,endTime,playerCount'
+        fields?: string;
+    } = {}) => api.get('/api/sessions', { params }),
     accept: (sessionId: string) => api.post(`/api/sessions/${sessionId}/accept`),
     reject: (sessionId: string, reason: string) => api.post(`/api/sessions/${sessionId}/reject`, { reason }),
 };
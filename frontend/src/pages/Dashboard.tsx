@@ -1,4 +1,4 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef } from 'react';
 import {
     Container,
     Title,
@@ -16,7 +16,7 @@ import {
 } from '@mantine/core';
 import { IconRefresh, IconCalendar, IconUsers, IconCheck, IconX, IconClock, IconStar } from '@tabler/icons-react';
 import { notifications } from '@mantine/notifications';
-import { matchmakingAPI, sessionsAPI, availabilityAPI } from '../lib/api';
+import { matchmakingAPI, sessionsAPI, dashboardAPI } from '../lib/api';
 import { format } from 'date-fns';
 import { es } from 'date-fns/locale';
 import { useDisclosure } from '@mantine/hooks';
@@ -43,6 +43,13 @@ interface Session {
     status: 'PRELIMINARY' | 'CONFIRMED' | 'CANCELLED';
 }
 
+interface SessionDelta {
+    sessions: Session[];
+    removedSessionIds: string[];
+    version: number;
+    reset: boolean;
+}
+
 const parseDate = (dateStr: string) => {
     if (!dateStr) return new Date();
     // Remove 'Z' if present to prevent UTC conversion, ensuring it's treated as local time
@@ -65,12 +72,9 @@ export default function Dashboard() {
 
     const loadSessions = async () => {
         try {
-            const [sessionsRes, slotsRes] = await Promise.all([
-                matchmakingAPI.getSessions(),
-                availabilityAPI.getAll() // Fetch user slots
-            ]);
-            setSessions(sessionsRes.data);
-            setUserSlots(slotsRes.data);
+            const { data } = await dashboardAPI.get();
+            setSessions(data.sessions);
+            setUserSlots(data.availability);
         } catch (error) {
             console.error('Error loading data:', error);
         } finally {
@@ -82,6 +86,69 @@ export default function Dashboard() {
         loadSessions();
     }, []);
 
+    // Live session changes: catch up from the last seen version on every (re)connect, then apply the deltas
+    const sessionsVersion = useRef(0);
+
+    useEffect(() => {
+        let source: EventSource | null = null;
+        let retry: ReturnType<typeof setTimeout> | undefined;
+        let closed = false;
+
+        const applyDelta = (delta: SessionDelta) => {
+            sessionsVersion.current = Math.max(sessionsVersion.current, delta.version);
+            if (delta.reset) {
+                setSessions(delta.sessions);
+                return;
+            }
+            const changed = new Map(delta.sessions.map((s) => [s.id, s]));
+            setSessions((current) => [
+                ...current.filter((s) => !changed.has(s.id) && !delta.removedSessionIds.includes(s.id)),
+                ...delta.sessions,
+            ].sort((a, b) => parseDate(a.startTime).getTime() - parseDate(b.startTime).getTime()));
+        };
+
+        const reconnectLater = () => {
+            if (!closed) {
+                retry = setTimeout(connect, 5000);
+            }
+        };
+
+        const connect = () => {
+            matchmakingAPI.streamSessions()
+                .then((opened) => {
+                    if (closed) {
+                        opened.close();
+                        return;
+                    }
+                    source = opened;
+                    opened.onopen = () => {
+                        matchmakingAPI.getSessionsSince(sessionsVersion.current)
+                            .then((response) => applyDelta(response.data))
+                            .catch((error) => console.error('Error syncing sessions:', error));
+                    };
+                    opened.addEventListener('sessions', (event) => {
+                        applyDelta(JSON.parse((event as MessageEvent).data) as SessionDelta);
+                    });
+                    opened.onerror = () => {
+                        // The ticket is single-use, so the browser's own reconnect would be refused: reopen with a new one
+                        opened.close();
+                        reconnectLater();
+                    };
+                })
+                .catch((error) => {
+                    console.error('Error opening session stream:', error);
+                    reconnectLater();
+                });
+        };
+
+        connect();
+        return () => {
+            closed = true;
+            clearTimeout(retry);
+            source?.close();
+        };
+    }, []);
+
     const handleRunMatchmaking = async () => {
         setRunningMatchmaking(true);
         try {
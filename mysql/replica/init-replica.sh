@@ -0,0 +1,13 @@
+#!/bin/bash
+# Runs once, when the replica's data directory is first initialised.
+# The application user needs REPLICATION CLIENT to read the replica lag.
+docker_process_sql <<-EOSQL
+	GRANT REPLICATION CLIENT ON *.* TO '${MYSQL_USER}'@'%';
+	CHANGE REPLICATION SOURCE TO
+		SOURCE_HOST='mysql',
+		SOURCE_USER='root',
+		SOURCE_PASSWORD='${MYSQL_ROOT_PASSWORD}',
+		SOURCE_AUTO_POSITION=1,
+		GET_SOURCE_PUBLIC_KEY=1;
+	START REPLICA;
+EOSQL